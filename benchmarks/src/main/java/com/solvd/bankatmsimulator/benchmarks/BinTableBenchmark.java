@@ -0,0 +1,82 @@
+package com.solvd.bankatmsimulator.benchmarks;
+
+import com.solvd.bankatmsimulator.bin.BinInfo;
+import com.solvd.bankatmsimulator.bin.BinTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BIN lookups against a generated table the size of a commercial BIN export: 8-digit ranges in every
+ * 6-digit block that has any, nested under 6-digit and network-wide ranges. {@link #load()} measures
+ * parsing and flattening the whole CSV.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinTableBenchmark {
+
+    private static final String[] ISSUERS = {"VISA", "MASTERCARD", "DISCOVER", "JCB", "UNIONPAY"};
+    private static final String[] TYPES = {"DEBIT", "CREDIT", "PREPAID"};
+    private static final String[] COUNTRIES = {"US", "GB", "DE", "FR", "GE", "JP", "BR", "IN"};
+    private static final int NUMBERS = 1024;
+
+    @Param({"300000"})
+    private int ranges;
+
+    private String csv;
+    private BinTable table;
+    private final String[] numbers = new String[NUMBERS];
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder(ranges * 32);
+        sb.append("4,4,VISA\n51,55,MASTERCARD\n");
+        int written = 2;
+        while (written < ranges) {
+            int block = 100_000 + random.nextInt(900_000);
+            String issuer = ISSUERS[random.nextInt(ISSUERS.length)];
+            sb.append(block).append(',').append(block).append(',').append(issuer).append(",,")
+                    .append(COUNTRIES[random.nextInt(COUNTRIES.length)]).append('\n');
+            written++;
+            for (int low = 0; low < 100 && written < ranges; low += 1 + random.nextInt(10)) {
+                int high = Math.min(99, low + random.nextInt(5));
+                sb.append(block).append(String.format("%02d", low)).append(',')
+                        .append(block).append(String.format("%02d", high)).append(',')
+                        .append(issuer).append(',').append(TYPES[random.nextInt(TYPES.length)]).append(',')
+                        .append(COUNTRIES[random.nextInt(COUNTRIES.length)]).append('\n');
+                written++;
+                low = high;
+            }
+        }
+        csv = sb.toString();
+        table = BinTable.load(new StringReader(csv));
+        System.out.printf("%n%d ranges -> %d segments, ~%d KB%n", table.getRangeCount(), table.getSegmentCount(),
+                table.getFootprintBytes() / 1024);
+        for (int i = 0; i < NUMBERS; i++) {
+            numbers[i] = String.format("%08d%08d", 10_000_000 + random.nextInt(90_000_000), random.nextInt(100_000_000));
+        }
+    }
+
+    @Benchmark
+    public BinInfo lookup() {
+        return table.lookup(numbers[next++ & (NUMBERS - 1)]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public BinTable load() throws IOException {
+        return BinTable.load(new StringReader(csv));
+    }
+}
@@ -0,0 +1,111 @@
+package com.solvd.bankatmsimulator.benchmarks;
+
+import com.solvd.bankatmsimulator.cache.CardCache;
+import com.solvd.bankatmsimulator.domain.Account;
+import com.solvd.bankatmsimulator.domain.Money;
+import com.solvd.bankatmsimulator.domain.PaymentCard;
+import com.solvd.bankatmsimulator.persistence.ConnectionPool;
+import com.solvd.bankatmsimulator.persistence.impl.AccountRepositoryImpl;
+import com.solvd.bankatmsimulator.persistence.impl.PaymentCardRepositoryImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Card lookup by number at session start, against the {@code embedded} profile's H2 database. {@code hit} is a
+ * card already in {@link CardCache}, {@code unknownHit} a number cached as unknown, and {@code miss} goes to the
+ * table every time (the cache is cleared first).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardLookupBenchmark {
+
+    private static final int CARDS = 1_000;
+
+    private PaymentCardRepositoryImpl repository;
+    private String[] cardNumbers;
+    private String[] unknownNumbers;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        System.setProperty("bank.profile", "embedded");
+        repository = new PaymentCardRepositoryImpl();
+
+        String prefix = String.format("9%05d", System.currentTimeMillis() % 100_000);
+        List<Account> accounts = new ArrayList<>(CARDS);
+        List<PaymentCard> cards = new ArrayList<>(CARDS);
+        for (int i = 0; i < CARDS; i++) {
+            Account account = new Account(null, "CARDBENCH" + prefix + i);
+            account.setCurrency("USD");
+            account.setBalance(Money.of("100.00", "USD"));
+            accounts.add(account);
+
+            PaymentCard card = new PaymentCard();
+            card.setCardNumber(prefix + String.format("%010d", i));
+            card.setCardType(PaymentCard.CardType.DEBIT);
+            card.setStatus(PaymentCard.CardStatus.ACTIVE);
+            card.setPinHash("unused");
+            card.setExpiryDate(LocalDate.now().plusYears(3));
+            cards.add(card);
+        }
+        List<Account> createdAccounts = new AccountRepositoryImpl().createAll(accounts);
+        List<PaymentCard> createdCards = repository.createAll(cards);
+        try (Connection connection = ConnectionPool.getDataSource().getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                     "INSERT INTO account_cards (account_id, card_id) VALUES (?, ?)")) {
+            for (int i = 0; i < CARDS; i++) {
+                ps.setLong(1, createdAccounts.get(i).getId());
+                ps.setLong(2, createdCards.get(i).getId());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            connection.commit();
+        }
+
+        cardNumbers = new String[CARDS];
+        unknownNumbers = new String[CARDS];
+        for (int i = 0; i < CARDS; i++) {
+            cardNumbers[i] = createdCards.get(i).getCardNumber();
+            unknownNumbers[i] = prefix + String.format("%010d", CARDS + i);
+            repository.findByCardNumber(cardNumbers[i]);
+            repository.findByCardNumber(unknownNumbers[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ConnectionPool.close();
+    }
+
+    @Benchmark
+    public List<Long> hit() {
+        String cardNumber = cardNumbers[ThreadLocalRandom.current().nextInt(CARDS)];
+        repository.findByCardNumber(cardNumber);
+        return repository.findAccountIdsByCardNumber(cardNumber);
+    }
+
+    @Benchmark
+    public Optional<PaymentCard> unknownHit() {
+        return repository.findByCardNumber(unknownNumbers[ThreadLocalRandom.current().nextInt(CARDS)]);
+    }
+
+    @Benchmark
+    public List<Long> miss() {
+        CardCache.getInstance().clear();
+        String cardNumber = cardNumbers[ThreadLocalRandom.current().nextInt(CARDS)];
+        repository.findByCardNumber(cardNumber);
+        return repository.findAccountIdsByCardNumber(cardNumber);
+    }
+}
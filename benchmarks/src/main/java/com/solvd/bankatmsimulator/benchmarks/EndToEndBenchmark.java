@@ -0,0 +1,104 @@
+package com.solvd.bankatmsimulator.benchmarks;
+
+import com.solvd.bankatmsimulator.dispense.ATMInventoryManager;
+import com.solvd.bankatmsimulator.domain.*;
+import com.solvd.bankatmsimulator.persistence.ConnectionPool;
+import com.solvd.bankatmsimulator.persistence.impl.ATMBanknoteRepositoryImpl;
+import com.solvd.bankatmsimulator.persistence.impl.ATMRepositoryImpl;
+import com.solvd.bankatmsimulator.persistence.impl.AccountRepositoryImpl;
+import com.solvd.bankatmsimulator.service.IDepositProcessor;
+import com.solvd.bankatmsimulator.service.ITransferProcessor;
+import com.solvd.bankatmsimulator.service.IWithdrawalProcessor;
+import com.solvd.bankatmsimulator.service.impl.DepositProcessorImpl;
+import com.solvd.bankatmsimulator.service.impl.TransferProcessorImpl;
+import com.solvd.bankatmsimulator.service.impl.WithdrawalProcessorImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deposit, withdrawal and transfer as the application runs them, against the {@code embedded} profile's
+ * in-memory H2 database, so no MySQL server is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EndToEndBenchmark {
+
+    private static final String CURRENCY = "USD";
+    private static final int ACCOUNTS = 100;
+    private static final int NOTES_PER_CASSETTE = 10_000_000;
+
+    private final Money amount = Money.of("20.00", CURRENCY);
+
+    private IDepositProcessor depositProcessor;
+    private IWithdrawalProcessor withdrawalProcessor;
+    private ITransferProcessor transferProcessor;
+    private long[] accountIds;
+    private long atmId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("bank.profile", "embedded");
+
+        depositProcessor = new DepositProcessorImpl();
+        withdrawalProcessor = new WithdrawalProcessorImpl();
+        transferProcessor = new TransferProcessorImpl();
+        AccountRepositoryImpl accounts = new AccountRepositoryImpl();
+
+        accountIds = new long[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account account = new Account(null, String.format("BENCH%06d", i));
+            account.setCurrency(CURRENCY);
+            account.setBalance(Money.of("100000000.00", CURRENCY));
+            accountIds[i] = accounts.create(account).getId();
+        }
+
+        ATM atm = new ATM();
+        atm.setLocation("Benchmark");
+        atm.setName("BENCH-ATM");
+        atm.setActive(true);
+        atmId = new ATMRepositoryImpl().create(atm).getId();
+        ATMBanknoteRepositoryImpl cassettes = new ATMBanknoteRepositoryImpl();
+        for (String denomination : new String[]{"100.00", "50.00", "20.00", "10.00"}) {
+            ATMBanknote cassette = new ATMBanknote();
+            cassette.setAtmId(atmId);
+            cassette.setCurrency(CURRENCY);
+            cassette.setDenomination(Money.of(denomination, CURRENCY));
+            cassette.setQuantity(NOTES_PER_CASSETTE);
+            cassettes.create(cassette);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ATMInventoryManager.getInstance().close();
+        ConnectionPool.close();
+    }
+
+    @Benchmark
+    public Deposit deposit() {
+        return depositProcessor.process(randomAccount(), atmId, amount, null);
+    }
+
+    @Benchmark
+    public Withdrawal withdrawal() {
+        return withdrawalProcessor.process(randomAccount(), atmId, amount, null);
+    }
+
+    @Benchmark
+    public Transaction transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(ACCOUNTS);
+        int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+        return transferProcessor.process(accountIds[from], accountIds[to], amount);
+    }
+
+    private long randomAccount() {
+        return accountIds[ThreadLocalRandom.current().nextInt(ACCOUNTS)];
+    }
+}
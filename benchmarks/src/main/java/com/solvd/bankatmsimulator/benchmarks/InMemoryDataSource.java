@@ -0,0 +1,111 @@
+package com.solvd.bankatmsimulator.benchmarks;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Data source whose every query returns the same pre-built rows, so a repository's
+ * {@code findAll()} measures row mapping alone: no driver, no socket, no SQL parsing.
+ * Rows are keyed by column label; integer column lookups are not supported.
+ */
+final class InMemoryDataSource implements DataSource {
+
+    private final List<Map<String, Object>> rows;
+
+    InMemoryDataSource(List<Map<String, Object>> rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return proxy(Connection.class, (proxy, method, args) -> switch (method.getName()) {
+            case "prepareStatement", "createStatement" -> statement();
+            case "getAutoCommit", "isClosed", "isWrapperFor" -> false;
+            default -> null;
+        });
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) {
+        return getConnection();
+    }
+
+    private PreparedStatement statement() {
+        return proxy(PreparedStatement.class, (proxy, method, args) -> switch (method.getName()) {
+            case "executeQuery" -> resultSet();
+            case "isWrapperFor" -> false;
+            default -> null;
+        });
+    }
+
+    private ResultSet resultSet() {
+        int[] cursor = {-1};
+        boolean[] wasNull = {false};
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.equals("next")) {
+                return ++cursor[0] < rows.size();
+            }
+            if (name.equals("wasNull")) {
+                return wasNull[0];
+            }
+            if (!name.startsWith("get") || args == null || !(args[0] instanceof String)) {
+                return name.equals("isClosed") ? false : null;
+            }
+            Object value = rows.get(cursor[0]).get((String) args[0]);
+            wasNull[0] = value == null;
+            return switch (name) {
+                case "getLong" -> value == null ? 0L : ((Number) value).longValue();
+                case "getInt" -> value == null ? 0 : ((Number) value).intValue();
+                case "getBoolean" -> value != null && (Boolean) value;
+                case "getBigDecimal" -> (BigDecimal) value;
+                case "getString" -> value == null ? null : value.toString();
+                default -> value;
+            };
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, java.lang.reflect.InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(InMemoryDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return false;
+    }
+}
@@ -0,0 +1,91 @@
+package com.solvd.bankatmsimulator.benchmarks;
+
+import com.solvd.bankatmsimulator.domain.Account;
+import com.solvd.bankatmsimulator.domain.Transaction;
+import com.solvd.bankatmsimulator.persistence.ProfilingDataSource;
+import com.solvd.bankatmsimulator.persistence.impl.AccountRepositoryImpl;
+import com.solvd.bankatmsimulator.persistence.impl.TransactionRepositoryImpl;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ResultSet} to domain object mapping, measured through the repositories' own {@code findAll()}
+ * over {@link InMemoryDataSource}. Reported per row. With {@code profiled=true} the data source is wrapped in
+ * {@link ProfilingDataSource}, so the difference is what statement profiling costs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final int ROWS = 1_000;
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP"};
+
+    @Param({"false", "true"})
+    private boolean profiled;
+
+    private AccountRepositoryImpl accounts;
+    private TransactionRepositoryImpl transactions;
+
+    @Setup
+    public void setUp() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Map<String, Object>> accountRows = new ArrayList<>(ROWS);
+        List<Map<String, Object>> transactionRows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            String currency = CURRENCIES[i % CURRENCIES.length];
+
+            Map<String, Object> account = new HashMap<>();
+            account.put("id", (long) i + 1);
+            account.put("account_number", String.format("ACC%010d", i));
+            account.put("balance", BigDecimal.valueOf(100_000L + i * 13L, 2));
+            account.put("currency", currency);
+            account.put("created_at", now);
+            account.put("updated_at", now);
+            accountRows.add(account);
+
+            Map<String, Object> transaction = new HashMap<>();
+            transaction.put("id", (long) i + 1);
+            transaction.put("from_account_id", i % 2 == 0 ? (long) i + 1 : null);
+            transaction.put("to_account_id", (long) i + 2);
+            transaction.put("amount", BigDecimal.valueOf(500L + i, 2));
+            transaction.put("currency", currency);
+            transaction.put("transaction_type", Transaction.TransactionType.values()[i % 3].name());
+            transaction.put("status", Transaction.TransactionStatus.COMPLETED.name());
+            transaction.put("processed_at", now);
+            transactionRows.add(transaction);
+        }
+        accounts = new AccountRepositoryImpl(dataSource(accountRows));
+        transactions = new TransactionRepositoryImpl(dataSource(transactionRows));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Account> accounts() {
+        return accounts.findAll();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Transaction> transactions() {
+        return transactions.findAll();
+    }
+
+    private DataSource dataSource(List<Map<String, Object>> rows) {
+        DataSource dataSource = new InMemoryDataSource(rows);
+        return profiled ? new ProfilingDataSource(dataSource, Duration.ofMillis(200)) : dataSource;
+    }
+}
@@ -0,0 +1,61 @@
+package com.solvd.bankatmsimulator.benchmarks;
+
+import com.solvd.bankatmsimulator.domain.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Debit/credit/check loop of the posting path, with {@link Money} and with the {@link BigDecimal} it replaced.
+ * Run with {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final int POSTINGS = 1_000;
+
+    private final Money minimum = Money.of("5.00", null);
+    private final BigDecimal minimumDecimal = new BigDecimal("5.00");
+    private Money[] amounts;
+    private BigDecimal[] decimals;
+
+    @Setup
+    public void setUp() {
+        amounts = new Money[POSTINGS];
+        decimals = new BigDecimal[POSTINGS];
+        for (int i = 0; i < POSTINGS; i++) {
+            decimals[i] = BigDecimal.valueOf(500 + i * 37L, 2);
+            amounts[i] = Money.of(decimals[i], "USD");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSTINGS)
+    public Money money() {
+        Money balance = Money.of("100000.00", "USD");
+        for (Money amount : amounts) {
+            if (!amount.isLessThan(minimum) && !balance.isLessThan(amount)) {
+                balance = balance.minus(amount).plus(amount).minus(amount);
+            }
+        }
+        return balance;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSTINGS)
+    public BigDecimal bigDecimal() {
+        BigDecimal balance = new BigDecimal("100000.00");
+        for (BigDecimal amount : decimals) {
+            if (amount.compareTo(minimumDecimal) >= 0 && balance.compareTo(amount) >= 0) {
+                balance = balance.subtract(amount).add(amount).subtract(amount);
+            }
+        }
+        return balance;
+    }
+}
@@ -0,0 +1,79 @@
+package com.solvd.bankatmsimulator.benchmarks;
+
+import com.solvd.bankatmsimulator.domain.Money;
+import com.solvd.bankatmsimulator.domain.PaymentCard;
+import com.solvd.bankatmsimulator.domain.Transaction;
+import com.solvd.bankatmsimulator.validator.PaymentCardValidator;
+import com.solvd.bankatmsimulator.validator.TransactionValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    private static final int BATCH = 1_000;
+
+    private Transaction transfer;
+    private final List<String> cardBatch = new ArrayList<>(BATCH);
+    private final PaymentCard.CardIssuer[] issuers = new PaymentCard.CardIssuer[BATCH];
+
+    @Setup
+    public void setUp() {
+        transfer = new Transaction();
+        transfer.setFromAccountId(1L);
+        transfer.setToAccountId(2L);
+        transfer.setCurrency("USD");
+        transfer.setAmount(Money.of("125.50", "USD"));
+        transfer.setTransactionType(Transaction.TransactionType.TRANSFER);
+        transfer.setStatus(Transaction.TransactionStatus.PENDING);
+
+        // A mix of valid and invalid 16-digit numbers, formatted the way import files tend to have them.
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < BATCH; i++) {
+            StringBuilder number = new StringBuilder("4");
+            for (int d = 1; d < 16; d++) {
+                if (d % 4 == 0)
+                    number.append(' ');
+                number.append((char) ('0' + random.nextInt(10)));
+            }
+            cardBatch.add(number.toString());
+        }
+    }
+
+    @Benchmark
+    public boolean cardIsValid(Card card) {
+        return PaymentCardValidator.isValid(card.number);
+    }
+
+    @Benchmark
+    public PaymentCard.CardIssuer cardType(Card card) {
+        return PaymentCardValidator.getCardType(card.number);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int cardBatch() {
+        return PaymentCardValidator.validateAll(cardBatch, issuers);
+    }
+
+    @Benchmark
+    public boolean transactionIsValid() {
+        return TransactionValidator.isValid(transfer);
+    }
+
+    @State(Scope.Thread)
+    public static class Card {
+
+        @Param({"4111 1111 1111 1111", "5500-0000-0000-0004", "378282246310005", "1234567812345678"})
+        public String number;
+    }
+}
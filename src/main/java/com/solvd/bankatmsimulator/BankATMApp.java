@@ -1,6 +1,12 @@
 package com.solvd.bankatmsimulator;
 
+import com.solvd.bankatmsimulator.auth.PinHasher;
+import com.solvd.bankatmsimulator.auth.PinVerificationService;
+import com.solvd.bankatmsimulator.cache.AccountCache;
+import com.solvd.bankatmsimulator.dispense.ATMInventoryManager;
 import com.solvd.bankatmsimulator.domain.*;
+import com.solvd.bankatmsimulator.metrics.MetricsExporter;
+import com.solvd.bankatmsimulator.persistence.ConnectionPool;
 import com.solvd.bankatmsimulator.service.*;
 import com.solvd.bankatmsimulator.service.impl.*;
 import org.slf4j.Logger;
@@ -10,7 +16,7 @@ import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,23 +31,28 @@ public class BankATMApp {
     private static final Logger log = LoggerFactory.getLogger(BankATMApp.class);
 
     private static IAccountService accountService;
-    private static ITransactionService transactionService;
-    private static IDepositService depositService;
-    private static IWithdrawalService withdrawalService;
+    private static IDepositProcessor depositProcessor;
+    private static IWithdrawalProcessor withdrawalProcessor;
+    private static ITransferProcessor transferProcessor;
     private static IATMService atmService;
+    private static IATMBanknoteService atmBanknoteService;
+    private static IPaymentCardService paymentCardService;
 
     public static void main(String[] args) {
 
         System.out.println("Bank ATM Simulator ");
 
+        MetricsExporter metrics = MetricsExporter.start();
         try {
             testDatabaseConnection();
 
             accountService = new AccountServiceImpl();
-            transactionService = new TransactionServiceImpl();
-            depositService = new DepositServiceImpl();
-            withdrawalService = new WithdrawalServiceImpl();
+            depositProcessor = new DepositProcessorImpl();
+            withdrawalProcessor = new WithdrawalProcessorImpl();
+            transferProcessor = new TransferProcessorImpl();
             atmService = new ATMServiceImpl();
+            atmBanknoteService = new ATMBanknoteServiceImpl();
+            paymentCardService = new PaymentCardServiceImpl();
 
             runAllScenarios();
 
@@ -51,6 +62,9 @@ public class BankATMApp {
             log.error("Application error: {}", e.getMessage(), e);
             System.exit(1);
         } finally {
+            ATMInventoryManager.getInstance().close();
+            PinVerificationService.getInstance().close();
+            metrics.close();
             ConnectionPool.close();
             log.info("Connection pool closed.");
         }
@@ -72,6 +86,10 @@ public class BankATMApp {
             log.info("ATM Creation");
 
             ATM atm = createATM("Downtown Branch", "ATM-" + timestamp);
+            loadCassette(atm.getId(), "USD", new BigDecimal("100.00"), 20);
+            loadCassette(atm.getId(), "USD", new BigDecimal("50.00"), 20);
+            loadCassette(atm.getId(), "USD", new BigDecimal("20.00"), 50);
+            loadCassette(atm.getId(), "USD", new BigDecimal("10.00"), 50);
 
             log.info("Deposit with Banknotes");
 
@@ -100,7 +118,7 @@ public class BankATMApp {
             log.info("Create -> Deposit -> Withdraw -> Check");
 
             Account account5 = createAccount("ACC-" + timestamp + "-005", new BigDecimal("1000.00"), "USD");
-            BigDecimal initialBalance = account5.getBalance();
+            Money initialBalance = account5.getBalance();
             log.info("Initial Balance: ${}", initialBalance);
 
             processDeposit(account5.getId(), atm.getId(), new BigDecimal("500.00"), "USD", null);
@@ -111,7 +129,7 @@ public class BankATMApp {
             Account afterWithdrawal = accountService.getById(account5.getId());
             log.info("Final Balance: ${}", afterWithdrawal.getBalance());
             log.info("Expected Balance: ${} (${} + ${} - ${})",
-                    initialBalance.add(new BigDecimal("500.00")).subtract(new BigDecimal("300.00")),
+                    initialBalance.plus(Money.of("500.00", "USD")).minus(Money.of("300.00", "USD")),
                     initialBalance, new BigDecimal("500.00"), new BigDecimal("300.00"));
 
             //Transfer between accounts
@@ -129,6 +147,15 @@ public class BankATMApp {
             processDeposit(account1.getId(), atm.getId(), new BigDecimal("1000.00"), "USD", largeDepositBanknotes);
 
 
+            log.info("Card Authentication");
+
+            PaymentCard card = createCard(String.format("4%015d", timestamp % 1_000_000_000_000_000L), "1234");
+            authenticate(card.getCardNumber(), "1234");
+            for (int i = 0; i < 3; i++) {
+                authenticate(card.getCardNumber(), "9999");
+            }
+            authenticate(card.getCardNumber(), "1234");
+
             // Log All Accounts Summary
             log.info("Final Accounts Summary");
 
@@ -162,7 +189,7 @@ public class BankATMApp {
     private static Account createAccount(String accountNumber, BigDecimal initialBalance, String currency) {
         try {
             Account account = new Account(null, accountNumber);
-            account.setBalance(initialBalance);
+            account.setBalance(Money.of(initialBalance, currency));
             account.setCurrency(currency);
             Account created = accountService.register(account);
             log.info("✓ Account created: {} | Balance: {} {} | ID: {}",
@@ -192,53 +219,58 @@ public class BankATMApp {
         }
     }
 
+    /**
+     * Registers a debit card with the given PIN
+     */
+    private static PaymentCard createCard(String cardNumber, String pin) {
+        PaymentCard card = new PaymentCard();
+        card.setCardNumber(cardNumber);
+        card.setCardType(PaymentCard.CardType.DEBIT);
+        card.setStatus(PaymentCard.CardStatus.ACTIVE);
+        card.setPinHash(PinHasher.hash(pin.toCharArray()));
+        card.setExpiryDate(LocalDate.now().plusYears(3));
+        PaymentCard created = paymentCardService.register(card);
+        log.info(" Card registered: {} | ID: {}", created, created.getId());
+        return created;
+    }
+
+    /**
+     * Checks a PIN at the ATM
+     */
+    private static void authenticate(String cardNumber, String pin) {
+        try {
+            PaymentCard card = PinVerificationService.getInstance().authenticate(cardNumber, pin.toCharArray());
+            log.info("✓ PIN accepted for card {}", card.getId());
+        } catch (Exception e) {
+            log.info("✗ PIN rejected: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Loads a cassette of banknotes into the ATM
+     */
+    private static void loadCassette(Long atmId, String currency, BigDecimal denomination, Integer quantity) {
+        ATMBanknote banknote = new ATMBanknote();
+        banknote.setAtmId(atmId);
+        banknote.setCurrency(currency);
+        banknote.setDenomination(Money.of(denomination, currency));
+        banknote.setQuantity(quantity);
+        atmBanknoteService.register(banknote);
+        log.info(" Cassette loaded: {}x {} {}", quantity, denomination, currency);
+    }
+
     /**
      * Process deposit
      */
     private static void processDeposit(Long accountId, Long atmId, BigDecimal amount, String currency,
                                        List<DepositBanknote> banknotes) {
         try {
-            Account account = accountService.getById(accountId);
-            BigDecimal balanceBefore = account.getBalance();
-
-            Transaction transaction = new Transaction();
-            transaction.setToAccountId(accountId);
-            transaction.setAmount(amount);
-            transaction.setCurrency(currency);
-            transaction.setTransactionType(Transaction.TransactionType.DEPOSIT);
-            transaction.setStatus(Transaction.TransactionStatus.PENDING);
-            transaction.setProcessedAt(LocalDateTime.now());
-            Transaction createdTransaction = transactionService.register(transaction);
-
-            // Create deposit record
-            Deposit deposit = new Deposit();
-            deposit.setTransactionId(createdTransaction.getId());
-            deposit.setAtmId(atmId);
-            deposit.setCurrency(currency);
-            deposit.setTotalAmount(amount);
-            deposit.setProcessedAt(LocalDateTime.now());
-
-            // Add banknotes if provided
-            if (banknotes != null && !banknotes.isEmpty()) {
-                for (DepositBanknote banknote : banknotes) {
-                    banknote.setDepositId(null); // Will be set after deposit creation
-                    deposit.addBanknote(banknote);
-                }
-            }
-
-            Deposit createdDeposit = depositService.register(deposit);
-
-            // Update account balance
-            account.setBalance(balanceBefore.add(amount));
-            accountService.update(account);
-
-            // Update transaction status
-            createdTransaction.setStatus(Transaction.TransactionStatus.COMPLETED);
-            transactionService.update(createdTransaction);
+            Money balanceBefore = accountService.getById(accountId).getBalance();
+            Deposit deposit = depositProcessor.process(accountId, atmId, Money.of(amount, currency), banknotes);
 
             Account accountAfter = accountService.getById(accountId);
             log.info("✓ Deposit successful: ${} {} | Balance: ${} -> ${} | Transaction ID: {}",
-                    amount, currency, balanceBefore, accountAfter.getBalance(), createdTransaction.getId());
+                    amount, currency, balanceBefore, accountAfter.getBalance(), deposit.getTransactionId());
             if (banknotes != null && !banknotes.isEmpty()) {
                 log.info("  Banknotes: {}", banknotes);
             }
@@ -256,63 +288,11 @@ public class BankATMApp {
     private static void processWithdrawal(Long accountId, Long atmId, BigDecimal amount, String currency,
                                           List<WithdrawalBanknote> banknotes) {
         try {
-            // Get account
-            Account account = accountService.getById(accountId);
-            BigDecimal balanceBefore = account.getBalance();
-
-            // Check sufficient balance
-            if (balanceBefore.compareTo(amount) < 0) {
-                throw new RuntimeException("Insufficient balance. Available: " + balanceBefore + ", Requested: " + amount);
-            }
-
-            // Check minimum withdrawal amount
-            if (amount.compareTo(Withdrawal.MIN_AMOUNT) < 0) {
-                throw new RuntimeException("Withdrawal amount is below minimum limit of " + Withdrawal.MIN_AMOUNT);
-            }
-
-            // Create transaction
-            Transaction transaction = new Transaction();
-            transaction.setFromAccountId(accountId);
-            transaction.setAmount(amount);
-            transaction.setCurrency(currency);
-            transaction.setTransactionType(Transaction.TransactionType.WITHDRAWAL);
-            transaction.setStatus(Transaction.TransactionStatus.PENDING);
-            transaction.setProcessedAt(LocalDateTime.now());
-            Transaction createdTransaction = transactionService.register(transaction);
-
-            // Create withdrawal record
-            Withdrawal withdrawal = new Withdrawal();
-            withdrawal.setAccountId(accountId);
-            withdrawal.setTransactionId(createdTransaction.getId());
-            withdrawal.setAtmId(atmId);
-            withdrawal.setCurrency(currency);
-            withdrawal.setTotalAmount(amount);
-            withdrawal.setProcessedAt(LocalDateTime.now());
-
-
-            if (banknotes != null && !banknotes.isEmpty()) {
-                for (WithdrawalBanknote banknote : banknotes) {
-                    banknote.setWithdrawalId(null); // Will be set after withdrawal creation
-                    withdrawal.addBanknote(banknote);
-                }
-            }
-
-            Withdrawal createdWithdrawal = withdrawalService.register(withdrawal);
-
-            // Update account balance
-            account.setBalance(balanceBefore.subtract(amount));
-            accountService.update(account);
-
-            // Update transaction status
-            createdTransaction.setStatus(Transaction.TransactionStatus.COMPLETED);
-            transactionService.update(createdTransaction);
-
-            Account accountAfter = accountService.getById(accountId);
-            log.info("✓ Withdrawal successful: ${} {} | Balance: ${} -> ${} | Transaction ID: {}",
-                    amount, currency, balanceBefore, accountAfter.getBalance(), createdTransaction.getId());
-            if (banknotes != null && !banknotes.isEmpty()) {
-                log.info("  Banknotes: {}", banknotes);
-            }
+            Withdrawal withdrawal = withdrawalProcessor.process(accountId, atmId, Money.of(amount, currency),
+                    banknotes);
+            log.info("✓ Withdrawal successful: ${} {} | Account ID: {} | Transaction ID: {}",
+                    amount, currency, accountId, withdrawal.getTransactionId());
+            log.info("  Banknotes: {}", withdrawal.getBanknotes());
 
         } catch (Exception e) {
             log.error("✗ Withdrawal failed: {}", e.getMessage());
@@ -325,39 +305,10 @@ public class BankATMApp {
      */
     private static void processTransfer(Long fromAccountId, Long toAccountId, BigDecimal amount, String currency) {
         try {
-            Account fromAccount = accountService.getById(fromAccountId);
-            Account toAccount = accountService.getById(toAccountId);
-
-            BigDecimal fromBalanceBefore = fromAccount.getBalance();
-            BigDecimal toBalanceBefore = toAccount.getBalance();
-
-            // Check sufficient balance
-            if (fromBalanceBefore.compareTo(amount) < 0) {
-                throw new RuntimeException("Insufficient balance in source account");
-            }
-
-            // Create transaction
-            Transaction transaction = new Transaction();
-            transaction.setFromAccountId(fromAccountId);
-            transaction.setToAccountId(toAccountId);
-            transaction.setAmount(amount);
-            transaction.setCurrency(currency);
-            transaction.setTransactionType(Transaction.TransactionType.TRANSFER);
-            transaction.setStatus(Transaction.TransactionStatus.PENDING);
-            transaction.setProcessedAt(LocalDateTime.now());
-            Transaction createdTransaction = transactionService.register(transaction);
-
-            // Update from account balance
-            fromAccount.setBalance(fromBalanceBefore.subtract(amount));
-            accountService.update(fromAccount);
-
-            // Update to account balance
-            toAccount.setBalance(toBalanceBefore.add(amount));
-            accountService.update(toAccount);
-
-            // Update transaction status
-            createdTransaction.setStatus(Transaction.TransactionStatus.COMPLETED);
-            transactionService.update(createdTransaction);
+            Money fromBalanceBefore = accountService.getById(fromAccountId).getBalance();
+            Money toBalanceBefore = accountService.getById(toAccountId).getBalance();
+            Transaction transaction = transferProcessor.process(fromAccountId, toAccountId,
+                    Money.of(amount, currency));
 
             Account fromAccountAfter = accountService.getById(fromAccountId);
             Account toAccountAfter = accountService.getById(toAccountId);
@@ -366,7 +317,7 @@ public class BankATMApp {
                     amount, currency, fromAccountId, toAccountId);
             log.info("  From Account Balance: ${} -> ${}", fromBalanceBefore, fromAccountAfter.getBalance());
             log.info("  To Account Balance: ${} -> ${}", toBalanceBefore, toAccountAfter.getBalance());
-            log.info("  Transaction ID: {}", createdTransaction.getId());
+            log.info("  Transaction ID: {}", transaction.getId());
 
         } catch (Exception e) {
             log.error("✗ Transfer failed: {}", e.getMessage());
@@ -379,7 +330,7 @@ public class BankATMApp {
      */
     private static DepositBanknote createDepositBanknote(BigDecimal denomination, Integer quantity) {
         DepositBanknote banknote = new DepositBanknote();
-        banknote.setDenomination(denomination);
+        banknote.setDenomination(Money.of(denomination, null));
         banknote.setQuantity(quantity);
         return banknote;
     }
@@ -389,7 +340,7 @@ public class BankATMApp {
      */
     private static WithdrawalBanknote createWithdrawalBanknote(BigDecimal denomination, Integer quantity) {
         WithdrawalBanknote banknote = new WithdrawalBanknote();
-        banknote.setDenomination(denomination);
+        banknote.setDenomination(Money.of(denomination, null));
         banknote.setQuantity(quantity);
         return banknote;
     }
@@ -415,22 +366,23 @@ public class BankATMApp {
             List<Account> accounts = accountService.getAll();
             log.info("\nTotal Accounts: {}", accounts.size());
 
-            BigDecimal totalBalanceUSD = BigDecimal.ZERO;
-            BigDecimal totalBalanceEUR = BigDecimal.ZERO;
+            Money totalBalanceUSD = Money.zero("USD");
+            Money totalBalanceEUR = Money.zero("EUR");
 
             for (Account account : accounts) {
                 log.info("Account: {} | Balance: {} {} | ID: {}",
                         account.getAccountNumber(), account.getBalance(), account.getCurrency(), account.getId());
 
                 if ("USD".equals(account.getCurrency())) {
-                    totalBalanceUSD = totalBalanceUSD.add(account.getBalance());
+                    totalBalanceUSD = totalBalanceUSD.plus(account.getBalance());
                 } else if ("EUR".equals(account.getCurrency())) {
-                    totalBalanceEUR = totalBalanceEUR.add(account.getBalance());
+                    totalBalanceEUR = totalBalanceEUR.plus(account.getBalance());
                 }
             }
 
             log.info("Total USD Balance: ${}", totalBalanceUSD);
             log.info("Total EUR Balance: €{}", totalBalanceEUR);
+            log.info("Account cache: {}", AccountCache.getInstance().stats());
 
         } catch (Exception e) {
             log.warn("Could not retrieve all accounts: {}", e.getMessage());
@@ -0,0 +1,148 @@
+package com.solvd.bankatmsimulator.auth;
+
+import com.solvd.bankatmsimulator.domain.PaymentCard;
+import com.solvd.bankatmsimulator.persistence.IPaymentCardRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consecutive wrong-PIN counts per card, kept in memory only.
+ * <p>
+ * Counts live in lock stripes picked from the card id, so attempts on different cards never contend. A card
+ * that reaches the limit is blocked here straight away and queued; a background task writes the queued cards
+ * as {@code BLOCKED} in one batch. {@link #isBlocked} keeps answering from memory until one flush after that
+ * write, so a blocked card can't be retried in the gap, not even by a session that read it just before the write.
+ */
+final class PinAttempts implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PinAttempts.class);
+    private static final int STRIPES = 64;
+
+    private final IPaymentCardRepository repository;
+    private final int maxAttempts;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final Set<Long> blocked = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedQueue<Long> pending = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService scheduler;
+    private List<Long> written = List.of();
+
+    PinAttempts(IPaymentCardRepository repository, int maxAttempts, Duration flushInterval) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be positive");
+        }
+        this.repository = repository;
+        this.maxAttempts = maxAttempts;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pin-attempts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long flushMillis = flushInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    boolean isBlocked(long cardId) {
+        return blocked.contains(cardId);
+    }
+
+    /**
+     * Records a wrong PIN.
+     *
+     * @return attempts left before the card is blocked; 0 means this one blocked it
+     */
+    int failed(long cardId) {
+        Stripe stripe = stripe(cardId);
+        synchronized (stripe) {
+            int failures = stripe.failures.merge(cardId, 1, Integer::sum);
+            if (failures < maxAttempts) {
+                return maxAttempts - failures;
+            }
+            stripe.failures.remove(cardId);
+        }
+        if (blocked.add(cardId)) {
+            pending.add(cardId);
+            log.info("Card {} blocked after {} wrong PINs", cardId, maxAttempts);
+        }
+        return 0;
+    }
+
+    /**
+     * A correct PIN clears the card's count.
+     */
+    void succeeded(long cardId) {
+        Stripe stripe = stripe(cardId);
+        synchronized (stripe) {
+            if (!stripe.failures.isEmpty()) {
+                stripe.failures.remove(cardId);
+            }
+        }
+    }
+
+    int getPendingBlocks() {
+        return pending.size();
+    }
+
+    /**
+     * Writes every card blocked since the last flush in one batch.
+     */
+    synchronized void flush() {
+        written.forEach(blocked::remove);
+        written = List.of();
+        List<Long> ids = new ArrayList<>();
+        for (Long id = pending.poll(); id != null; id = pending.poll()) {
+            ids.add(id);
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            repository.updateStatus(ids, PaymentCard.CardStatus.BLOCKED);
+        } catch (RuntimeException e) {
+            pending.addAll(ids);
+            throw e;
+        }
+        written = ids;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private Stripe stripe(long cardId) {
+        return stripes[(int) ((cardId * 0x9E3779B97F4A7C15L) >>> 58)];
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Blocked card flush failed, will be retried: {}", e.getMessage(), e);
+        }
+    }
+
+    private static final class Stripe {
+        private final Map<Long, Integer> failures = new HashMap<>();
+    }
+}
@@ -0,0 +1,95 @@
+package com.solvd.bankatmsimulator.auth;
+
+import com.solvd.bankatmsimulator.persistence.Config;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * PBKDF2-HMAC-SHA256 hashes for card PINs, stored in {@code pin_hash} as
+ * {@code pbkdf2-sha256$<iterations>$<salt>$<hash>} with the salt and hash in Base64.
+ * <p>
+ * The iteration count is kept in the hash itself, so raising {@code pinHashIterations} only affects PINs hashed
+ * from then on and older hashes keep verifying. A hash is deliberately slow (tens of milliseconds), which is why
+ * {@link PinVerificationService} runs it on its own threads.
+ */
+public final class PinHasher {
+
+    public static final String SCHEME = "pbkdf2-sha256";
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private PinHasher() {
+        throw new IllegalStateException("Utility class, do not instantiate!");
+    }
+
+    /**
+     * Hashes the PIN with a fresh salt and the configured iteration count.
+     */
+    public static String hash(char[] pin) {
+        return hash(pin, Config.PIN_HASH_ITERATIONS);
+    }
+
+    public static String hash(char[] pin, int iterations) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("iterations must be positive");
+        }
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return SCHEME + '$' + iterations + '$' + base64.encodeToString(salt) + '$'
+                + base64.encodeToString(derive(pin, salt, iterations, HASH_BITS));
+    }
+
+    /**
+     * Whether the PIN produces the stored hash. The comparison takes the same time wherever the first
+     * differing byte is.
+     *
+     * @throws IllegalArgumentException if {@code stored} is not a hash this class produced
+     */
+    public static boolean matches(char[] pin, String stored) {
+        String[] parts = stored == null ? new String[0] : stored.split("\\$", -1);
+        if (parts.length != 4 || !SCHEME.equals(parts[0])) {
+            throw new IllegalArgumentException("Not a " + SCHEME + " PIN hash");
+        }
+        int iterations;
+        byte[] salt;
+        byte[] expected;
+        try {
+            iterations = Integer.parseInt(parts[1]);
+            salt = Base64.getDecoder().decode(parts[2]);
+            expected = Base64.getDecoder().decode(parts[3]);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed " + SCHEME + " PIN hash", e);
+        }
+        if (iterations <= 0 || expected.length == 0) {
+            throw new IllegalArgumentException("Malformed " + SCHEME + " PIN hash");
+        }
+        return MessageDigest.isEqual(expected, derive(pin, salt, iterations, expected.length * 8));
+    }
+
+    /**
+     * Whether the value looks like a hash this class produced, without checking it against anything.
+     */
+    public static boolean isHash(String value) {
+        return value != null && value.startsWith(SCHEME + '$');
+    }
+
+    private static byte[] derive(char[] pin, byte[] salt, int iterations, int bits) {
+        PBEKeySpec spec = new PBEKeySpec(pin, salt, iterations, bits);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
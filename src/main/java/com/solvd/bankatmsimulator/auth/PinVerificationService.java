@@ -0,0 +1,262 @@
+package com.solvd.bankatmsimulator.auth;
+
+import com.mysql.cj.util.StringUtils;
+import com.solvd.bankatmsimulator.domain.PaymentCard;
+import com.solvd.bankatmsimulator.exception.PaymentCardException;
+import com.solvd.bankatmsimulator.metrics.Metrics;
+import com.solvd.bankatmsimulator.persistence.Config;
+import com.solvd.bankatmsimulator.persistence.IPaymentCardRepository;
+import com.solvd.bankatmsimulator.persistence.impl.PaymentCardRepositoryImpl;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checks a card's PIN against its {@code pin_hash} and blocks the card after too many wrong ones.
+ * <p>
+ * The card is looked up on the caller's thread, so its connection goes back to the pool before any hashing
+ * starts. The hash itself runs on a small pool of its own (one thread per core by default) with a bounded
+ * queue: it is CPU work that no amount of extra threads speeds up, and keeping it off the service and JDBC
+ * threads means a burst of logins can't hold connections while it waits. When the queue is full the call fails
+ * straight away with {@link RejectedExecutionException}.
+ * <p>
+ * Wrong PINs are counted in memory; the card is blocked after {@code pinMaxAttempts} in a row, and blocked cards
+ * are written to the table in batches. Latency per outcome, queue wait included, goes to {@code bank.pin.verify};
+ * the queue depth to {@code bank.pin.queue.depth}.
+ */
+public final class PinVerificationService implements AutoCloseable {
+
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(1);
+
+    private static final Logger log = LoggerFactory.getLogger(PinVerificationService.class);
+
+    private final IPaymentCardRepository repository;
+    private final PinAttempts attempts;
+    private final ThreadPoolExecutor executor;
+    private final Map<Outcome, Timer> latency = new EnumMap<>(Outcome.class);
+    private final LongAdder rejected = new LongAdder();
+    // Unknown card numbers are hashed against this too, so they take as long to fail as a wrong PIN.
+    private final String decoyHash;
+
+    public PinVerificationService(IPaymentCardRepository repository, MeterRegistry registry, int threads,
+                                  int queueCapacity, int maxAttempts, Duration flushInterval) {
+        if (threads <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("threads and queueCapacity must be positive");
+        }
+        this.repository = repository;
+        this.attempts = new PinAttempts(repository, maxAttempts, flushInterval);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), hashingThreads(), new ThreadPoolExecutor.AbortPolicy());
+        this.decoyHash = PinHasher.hash("0000".toCharArray());
+        for (Outcome outcome : Outcome.values()) {
+            latency.put(outcome, Timer.builder("bank.pin.verify")
+                    .description("PIN verification latency, queue wait included")
+                    .tag("outcome", outcome.tag)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(100_000))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(registry));
+        }
+        Gauge.builder("bank.pin.queue.depth", this, PinVerificationService::getQueueDepth)
+                .description("PIN checks waiting for a hashing thread")
+                .register(registry);
+        Gauge.builder("bank.pin.active", this, PinVerificationService::getActiveCount)
+                .description("PIN checks being hashed right now")
+                .register(registry);
+        Gauge.builder("bank.pin.blocks.pending", this, s -> s.attempts.getPendingBlocks())
+                .description("Cards blocked in memory and not yet written")
+                .register(registry);
+        log.info("PIN verification started: {} hashing threads, queue of {}, blocking after {} wrong PINs",
+                threads, queueCapacity, maxAttempts);
+    }
+
+    public static PinVerificationService getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Blocking form of {@link #authenticateAsync}.
+     *
+     * @return the card, if the PIN is right
+     * @throws PaymentCardException if the card is unknown, not active or blocked, or the PIN is wrong
+     * @throws RejectedExecutionException if too many checks are already queued
+     */
+    public PaymentCard authenticate(String cardNumber, char[] pin) {
+        try {
+            return authenticateAsync(cardNumber, pin).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Looks the card up and queues the hash. The caller's {@code pin} array is copied, so it can be cleared as
+     * soon as this returns. The future fails with the same exceptions {@link #authenticate} throws.
+     */
+    public CompletableFuture<PaymentCard> authenticateAsync(String cardNumber, char[] pin) {
+        long start = System.nanoTime();
+        if (StringUtils.isNullOrEmpty(cardNumber)) {
+            return CompletableFuture.failedFuture(PaymentCardException.invalidCardNumber());
+        }
+        if (pin == null || pin.length == 0) {
+            return CompletableFuture.failedFuture(PaymentCardException.authenticationFailed());
+        }
+        Optional<PaymentCard> found = repository.findByCardNumber(cardNumber);
+        if (found.isEmpty()) {
+            return hash(pin, decoyHash, start).thenApply(
+                    matched -> fail(PaymentCardException.authenticationFailed(), Outcome.UNKNOWN_CARD, start));
+        }
+        PaymentCard card = found.get();
+        if (card.getStatus() == PaymentCard.CardStatus.BLOCKED || attempts.isBlocked(card.getId())) {
+            return failed(PaymentCardException.cardBlocked(), Outcome.BLOCKED, start);
+        }
+        if (!card.isActive()) {
+            return failed(PaymentCardException.cardNotActive(), Outcome.NOT_ACTIVE, start);
+        }
+        if (!PinHasher.isHash(card.getPinHash())) {
+            log.warn("Card {} has no usable PIN hash", card.getId());
+            return failed(PaymentCardException.invalidPinHash(), Outcome.NOT_ACTIVE, start);
+        }
+        return hash(pin, card.getPinHash(), start).thenApply(matched -> {
+            long cardId = card.getId();
+            if (matched && !attempts.isBlocked(cardId)) {
+                attempts.succeeded(cardId);
+                record(Outcome.SUCCESS, start);
+                return card;
+            }
+            if (matched) {
+                // Blocked by a concurrent attempt while this one was being hashed.
+                return fail(PaymentCardException.cardBlocked(), Outcome.BLOCKED, start);
+            }
+            int left = attempts.failed(cardId);
+            if (left == 0) {
+                card.setStatus(PaymentCard.CardStatus.BLOCKED);
+                return fail(PaymentCardException.cardBlocked(), Outcome.BLOCKED, start);
+            }
+            return fail(PaymentCardException.wrongPin(left), Outcome.WRONG_PIN, start);
+        });
+    }
+
+    /**
+     * Checks waiting for a hashing thread.
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Writes cards blocked since the last flush now rather than on the next tick.
+     */
+    public void flush() {
+        attempts.flush();
+    }
+
+    /**
+     * Stops taking checks, lets the queued ones finish and writes any pending blocks.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("{} PIN checks still running after shutdown", executor.getActiveCount());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        attempts.close();
+    }
+
+    private CompletableFuture<Boolean> hash(char[] pin, String stored, long start) {
+        char[] copy = Arrays.copyOf(pin, pin.length);
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return PinHasher.matches(copy, stored);
+                } finally {
+                    Arrays.fill(copy, '\0');
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            Arrays.fill(copy, '\0');
+            rejected.increment();
+            record(Outcome.REJECTED, start);
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "PIN verification queue is full (" + getQueueDepth() + " waiting)"));
+        }
+    }
+
+    private <T> CompletableFuture<T> failed(PaymentCardException e, Outcome outcome, long start) {
+        record(outcome, start);
+        return CompletableFuture.failedFuture(e);
+    }
+
+    private PaymentCard fail(PaymentCardException e, Outcome outcome, long start) {
+        record(outcome, start);
+        throw e;
+    }
+
+    private void record(Outcome outcome, long start) {
+        latency.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static ThreadFactory hashingThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "pin-verify-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private enum Outcome {
+        SUCCESS("success"),
+        WRONG_PIN("wrong_pin"),
+        BLOCKED("blocked"),
+        NOT_ACTIVE("not_active"),
+        UNKNOWN_CARD("unknown_card"),
+        REJECTED("rejected");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final class Holder {
+        private static final PinVerificationService INSTANCE = new PinVerificationService(
+                Metrics.instrument(IPaymentCardRepository.class, new PaymentCardRepositoryImpl()), Metrics.registry(),
+                Config.PIN_THREADS > 0 ? Config.PIN_THREADS : Runtime.getRuntime().availableProcessors(),
+                Config.PIN_QUEUE_CAPACITY, Config.PIN_MAX_ATTEMPTS, DEFAULT_FLUSH_INTERVAL);
+    }
+}
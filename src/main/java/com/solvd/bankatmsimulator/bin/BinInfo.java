@@ -0,0 +1,59 @@
+package com.solvd.bankatmsimulator.bin;
+
+import com.solvd.bankatmsimulator.domain.PaymentCard;
+
+import java.util.Objects;
+
+/**
+ * What a BIN range says about the cards in it. Card type and country are {@code null} when the range
+ * doesn't specify them.
+ */
+public final class BinInfo {
+
+    private final PaymentCard.CardIssuer issuer;
+    private final PaymentCard.CardType cardType;
+    private final String country;
+
+    public BinInfo(PaymentCard.CardIssuer issuer, PaymentCard.CardType cardType, String country) {
+        this.issuer = Objects.requireNonNull(issuer, "issuer");
+        this.cardType = cardType;
+        this.country = country;
+    }
+
+    public PaymentCard.CardIssuer getIssuer() {
+        return issuer;
+    }
+
+    public PaymentCard.CardType getCardType() {
+        return cardType;
+    }
+
+    /**
+     * ISO 3166 alpha-2 code of the issuing country.
+     */
+    public String getCountry() {
+        return country;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BinInfo)) return false;
+        BinInfo other = (BinInfo) o;
+        return issuer == other.issuer && cardType == other.cardType && Objects.equals(country, other.country);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(issuer, cardType, country);
+    }
+
+    @Override
+    public String toString() {
+        return "BinInfo{" +
+                "issuer=" + issuer +
+                ", cardType=" + cardType +
+                ", country='" + country + '\'' +
+                '}';
+    }
+}
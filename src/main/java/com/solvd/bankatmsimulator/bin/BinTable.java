@@ -0,0 +1,350 @@
+package com.solvd.bankatmsimulator.bin;
+
+import com.solvd.bankatmsimulator.domain.PaymentCard;
+import com.solvd.bankatmsimulator.persistence.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Looks up what a card number's BIN (the leading digits that identify the issuer) says about it.
+ * <p>
+ * Ranges can be 1 to 8 digits long and can nest or overlap: where several cover a key the narrowest one
+ * wins, and between ranges of the same width the later line wins. On load they are flattened into disjoint
+ * segments over the 8-digit prefix space and kept as two parallel int arrays (segment start, index of its
+ * {@link BinInfo}). That is 8 bytes per segment. A small first-level index on the leading 4 digits narrows each
+ * lookup to the segments of one block, so the binary search stays within a few cache lines. Nothing is allocated
+ * per lookup.
+ * <p>
+ * CSV format, one range per line, {@code #} starts a comment: {@code low,high,issuer,type,country}, e.g.
+ * {@code 453201,453299,VISA,DEBIT,GB}. Type and country may be left empty.
+ */
+public final class BinTable {
+
+    public static final int PREFIX_DIGITS = 8;
+    public static final String DEFAULT_RESOURCE = "bin/bin-ranges.csv";
+
+    private static final Logger log = LoggerFactory.getLogger(BinTable.class);
+    private static final int NONE = -1;
+    private static final int MAX_KEY = 99_999_999;
+    private static final int BLOCK = 10_000;
+    private static final int[] SCALE = {100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1};
+
+    private final int[] starts;
+    private final int[] values;
+    private final BinInfo[] infos;
+    private final int ranges;
+    // blockFirst[b] is the segment holding key b * BLOCK
+    private final int[] blockFirst;
+
+    private BinTable(int[] starts, int[] values, BinInfo[] infos, int ranges) {
+        this.starts = starts;
+        this.values = values;
+        this.infos = infos;
+        this.ranges = ranges;
+        this.blockFirst = new int[(MAX_KEY + 1) / BLOCK + 1];
+        int segment = 0;
+        for (int b = 0; b < blockFirst.length; b++) {
+            long key = (long) b * BLOCK;
+            while (segment + 1 < starts.length && starts[segment + 1] <= key) {
+                segment++;
+            }
+            blockFirst[b] = segment;
+        }
+    }
+
+    /**
+     * The table from the {@code binTable} file in the configuration, or the bundled sample when none is set.
+     * Loaded on first use.
+     */
+    public static BinTable getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public static BinTable load(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return load(reader);
+        }
+    }
+
+    public static BinTable load(Reader source) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader ? (BufferedReader) source : new BufferedReader(source);
+        List<Range> parsed = new ArrayList<>();
+        Map<BinInfo, Integer> infoIndex = new HashMap<>();
+        List<BinInfo> infos = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            String content = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            if (content.isEmpty()) {
+                continue;
+            }
+            Range range = parse(content, lineNumber);
+            Integer index = infoIndex.get(range.parsedInfo);
+            if (index == null) {
+                index = infos.size();
+                infoIndex.put(range.parsedInfo, index);
+                infos.add(range.parsedInfo);
+            }
+            range.info = index;
+            parsed.add(range);
+        }
+        return build(parsed, infos.toArray(new BinInfo[0]));
+    }
+
+    /**
+     * Issuer, card type and country for the number's BIN, or {@code null} when no range covers it or the number
+     * has no leading digits. Spaces and dashes are skipped.
+     */
+    public BinInfo lookup(CharSequence cardNumber) {
+        int key = prefixKey(cardNumber);
+        if (key < 0) {
+            return null;
+        }
+        int block = key / BLOCK;
+        int i = Arrays.binarySearch(starts, blockFirst[block], blockFirst[block + 1] + 1, key);
+        if (i < 0) {
+            i = -i - 2;
+        }
+        int value = values[i];
+        return value == NONE ? null : infos[value];
+    }
+
+    /**
+     * Issuer from the BIN table, or {@code UNKNOWN} when no range covers the number.
+     */
+    public PaymentCard.CardIssuer issuerOf(CharSequence cardNumber) {
+        BinInfo info = lookup(cardNumber);
+        return info != null ? info.getIssuer() : PaymentCard.CardIssuer.UNKNOWN;
+    }
+
+    /**
+     * Number of ranges loaded.
+     */
+    public int getRangeCount() {
+        return ranges;
+    }
+
+    /**
+     * Number of disjoint segments the ranges were flattened into, gaps included.
+     */
+    public int getSegmentCount() {
+        return starts.length;
+    }
+
+    /**
+     * Approximate heap used by the lookup arrays, not counting the shared {@link BinInfo} instances.
+     */
+    public long getFootprintBytes() {
+        return 4L * 16 + 4L * starts.length + 4L * values.length + 4L * blockFirst.length + 4L * infos.length;
+    }
+
+    private static int prefixKey(CharSequence cardNumber) {
+        if (cardNumber == null) {
+            return NONE;
+        }
+        int key = 0;
+        int digits = 0;
+        for (int i = 0; i < cardNumber.length() && digits < PREFIX_DIGITS; i++) {
+            char c = cardNumber.charAt(i);
+            if (c == ' ' || c == '-') {
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                break;
+            }
+            key = key * 10 + (c - '0');
+            digits++;
+        }
+        return digits == 0 ? NONE : key * SCALE[digits];
+    }
+
+    private static Range parse(String line, int lineNumber) {
+        String[] fields = line.split(",", -1);
+        if (fields.length < 3 || fields.length > 5) {
+            throw badLine(lineNumber, "expected low,high,issuer[,type[,country]]");
+        }
+        String low = fields[0].trim();
+        String high = fields[1].trim();
+        if (!isDigits(low) || !isDigits(high) || low.length() != high.length() || low.length() > PREFIX_DIGITS) {
+            throw badLine(lineNumber, "low and high must be 1-" + PREFIX_DIGITS + " digits of the same length");
+        }
+        int scale = SCALE[low.length()];
+        int lowKey = Integer.parseInt(low) * scale;
+        int highKey = (Integer.parseInt(high) + 1) * scale - 1;
+        if (lowKey > highKey) {
+            throw badLine(lineNumber, "low is above high");
+        }
+
+        PaymentCard.CardIssuer issuer = enumValue(PaymentCard.CardIssuer.class, fields[2], lineNumber);
+        PaymentCard.CardType type = fields.length > 3 && !fields[3].isBlank()
+                ? enumValue(PaymentCard.CardType.class, fields[3], lineNumber)
+                : null;
+        String country = fields.length > 4 ? fields[4].trim().toUpperCase(Locale.ROOT) : "";
+        if (!country.isEmpty() && (country.length() != 2 || !Character.isLetter(country.charAt(0))
+                || !Character.isLetter(country.charAt(1)))) {
+            throw badLine(lineNumber, "country must be an ISO 3166 alpha-2 code");
+        }
+        return new Range(lowKey, highKey, lineNumber, new BinInfo(issuer, type, country.isEmpty() ? null : country));
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String value, int lineNumber) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw badLine(lineNumber, "unknown " + type.getSimpleName() + " '" + value.trim() + "'");
+        }
+    }
+
+    /**
+     * Sweeps the range boundaries in order, keeping the ranges covering the current position in a heap
+     * ordered narrowest first, then latest line first. Between two boundaries the top of the heap owns the
+     * keys; ranges that have ended are dropped when they reach the top. Neighbouring segments with the same
+     * value are merged.
+     */
+    private static BinTable build(List<Range> ranges, BinInfo[] infos) {
+        ranges.sort(Comparator.comparingInt((Range r) -> r.low));
+        int[] bounds = new int[ranges.size() * 2];
+        for (int i = 0; i < ranges.size(); i++) {
+            bounds[2 * i] = ranges.get(i).low;
+            bounds[2 * i + 1] = ranges.get(i).high + 1;
+        }
+        Arrays.sort(bounds);
+        bounds = Arrays.stream(bounds).distinct().filter(bound -> bound <= MAX_KEY).toArray();
+        Segments segments = new Segments(ranges.size() * 2 + 1);
+        PriorityQueue<Range> covering = new PriorityQueue<>(Comparator.comparingInt((Range r) -> r.high - r.low)
+                .thenComparing(Comparator.comparingInt((Range r) -> r.line).reversed()));
+        int next = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            int from = bounds[i];
+            while (next < ranges.size() && ranges.get(next).low <= from) {
+                covering.add(ranges.get(next++));
+            }
+            while (!covering.isEmpty() && covering.peek().high < from) {
+                covering.poll();
+            }
+            int to = i + 1 < bounds.length ? bounds[i + 1] - 1 : MAX_KEY;
+            segments.paint(from, to, covering.isEmpty() ? NONE : covering.peek().info);
+        }
+        segments.paint(segments.end + 1, MAX_KEY, NONE);
+        return new BinTable(Arrays.copyOf(segments.starts, segments.size),
+                Arrays.copyOf(segments.values, segments.size), infos, ranges.size());
+    }
+
+    private static boolean isDigits(String s) {
+        if (s.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static IllegalArgumentException badLine(int lineNumber, String reason) {
+        return new IllegalArgumentException("BIN table line " + lineNumber + ": " + reason);
+    }
+
+    private static BinTable loadConfigured() {
+        String file = Config.BIN_TABLE;
+        BinTable table;
+        try {
+            if (file != null) {
+                table = load(Path.of(file));
+            } else {
+                try (InputStream input = BinTable.class.getClassLoader().getResourceAsStream(DEFAULT_RESOURCE)) {
+                    if (input == null) {
+                        throw new IllegalStateException("BIN table " + DEFAULT_RESOURCE + " not found in resources");
+                    }
+                    table = load(new InputStreamReader(input, StandardCharsets.UTF_8));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read BIN table " + (file != null ? file : DEFAULT_RESOURCE), e);
+        }
+        log.info("Loaded {} BIN ranges as {} segments (~{} KB) from {}", table.getRangeCount(),
+                table.getSegmentCount(), table.getFootprintBytes() / 1024, file != null ? file : DEFAULT_RESOURCE);
+        return table;
+    }
+
+    private static final class Range {
+
+        private final int low;
+        private final int high;
+        private final int line;
+        private final BinInfo parsedInfo;
+        private int info;
+
+        private Range(int low, int high, int line, BinInfo parsedInfo) {
+            this.low = low;
+            this.high = high;
+            this.line = line;
+            this.parsedInfo = parsedInfo;
+        }
+    }
+
+    /**
+     * Growable segment arrays. Always covers {@code 0..end} contiguously, filling gaps with {@link #NONE}.
+     */
+    private static final class Segments {
+
+        private int[] starts;
+        private int[] values;
+        private int size;
+        private int end = -1;
+
+        private Segments(int capacity) {
+            starts = new int[capacity];
+            values = new int[capacity];
+        }
+
+        void paint(int from, int to, int value) {
+            if (from > to) {
+                return;
+            }
+            if (from > end + 1) {
+                append(end + 1, NONE);
+            }
+            append(from, value);
+            end = to;
+        }
+
+        private void append(int start, int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            starts[size] = start;
+            values[size] = value;
+            size++;
+        }
+    }
+
+    private static final class Holder {
+        private static final BinTable INSTANCE = loadConfigured();
+    }
+}
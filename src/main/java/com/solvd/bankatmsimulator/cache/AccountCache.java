@@ -0,0 +1,99 @@
+package com.solvd.bankatmsimulator.cache;
+
+import com.solvd.bankatmsimulator.domain.Account;
+import com.solvd.bankatmsimulator.persistence.UnitOfWork;
+
+import java.time.Duration;
+
+/**
+ * Process-wide cache of accounts keyed by id and by account number.
+ * Accounts are copied on the way in and out so callers can never mutate a cached instance.
+ * <p>
+ * Every eviction bumps a version, and a lookup only caches what it loaded if no eviction happened in between,
+ * so a reader racing a debit can't put the old balance back after the writer evicted it.
+ */
+public final class AccountCache {
+
+    public static final int MAX_SIZE = 10_000;
+    public static final Duration TTL = Duration.ofSeconds(30);
+
+    private static final AccountCache INSTANCE = new AccountCache();
+
+    private final ExpiringCache<Long, Account> byId = new ExpiringCache<>(MAX_SIZE, TTL);
+    private final ExpiringCache<String, Long> idByNumber = new ExpiringCache<>(MAX_SIZE, TTL);
+    private long version;
+
+    private AccountCache() {
+    }
+
+    public static AccountCache getInstance() {
+        return INSTANCE;
+    }
+
+    public Account get(long id) {
+        Account cached = byId.get(id);
+        return cached != null ? copyOf(cached) : null;
+    }
+
+    public Account getByAccountNumber(String accountNumber) {
+        Long id = idByNumber.get(accountNumber);
+        if (id == null) {
+            return null;
+        }
+        Account account = get(id);
+        return account != null && accountNumber.equals(account.getAccountNumber()) ? account : null;
+    }
+
+    /**
+     * Read before loading and pass to {@link #put}.
+     */
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Caches what a lookup loaded, unless the cache was evicted from after {@code loadedAt} was read.
+     */
+    public synchronized void put(Account account, long loadedAt) {
+        if (account == null || account.getId() == null || version != loadedAt) {
+            return;
+        }
+        byId.put(account.getId(), copyOf(account));
+        if (account.getAccountNumber() != null) {
+            idByNumber.put(account.getAccountNumber(), account.getId());
+        }
+    }
+
+    public synchronized void invalidate(long id) {
+        version++;
+        byId.invalidate(id);
+    }
+
+    /**
+     * Invalidates now and again once the active unit of work finishes, so a concurrent reader
+     * cannot re-cache the pre-commit row.
+     */
+    public void evict(long id) {
+        invalidate(id);
+        UnitOfWork.afterCompletion(() -> invalidate(id));
+    }
+
+    public synchronized void clear() {
+        version++;
+        byId.clear();
+        idByNumber.clear();
+    }
+
+    public CacheStats stats() {
+        return byId.stats();
+    }
+
+    private static Account copyOf(Account account) {
+        Account copy = new Account(account.getId(), account.getAccountNumber());
+        copy.setBalance(account.getBalance());
+        copy.setCurrency(account.getCurrency());
+        copy.setCreatedAt(account.getCreatedAt());
+        copy.setUpdatedAt(account.getUpdatedAt());
+        return copy;
+    }
+}
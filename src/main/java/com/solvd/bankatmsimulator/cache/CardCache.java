@@ -0,0 +1,273 @@
+package com.solvd.bankatmsimulator.cache;
+
+import com.solvd.bankatmsimulator.domain.PaymentCard;
+import com.solvd.bankatmsimulator.persistence.UnitOfWork;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Process-wide cache of card lookups by card number: the card plus the ids of the accounts linked to it, or the
+ * fact that no such card exists.
+ * <p>
+ * Card numbers are never kept. Entries are keyed by an HMAC-SHA256 of the number under a random key made at
+ * startup, and the cached card has its number stripped; it is filled back in from the number being looked up.
+ * Unknown numbers are remembered for a shorter time than known ones, so a mistyped number doesn't hit the table
+ * on every retry but a card registered elsewhere shows up soon.
+ * <p>
+ * Writes through the repository evict the card. Every eviction also bumps a version, and a lookup only caches
+ * what it loaded if no eviction happened in between, so a reader racing a writer can't put the old row back.
+ */
+public final class CardCache {
+
+    public static final int MAX_SIZE = 50_000;
+    public static final Duration TTL = Duration.ofMinutes(1);
+    public static final Duration NEGATIVE_TTL = Duration.ofSeconds(10);
+
+    private static final String HMAC = "HmacSHA256";
+    private static final CardCache INSTANCE = new CardCache();
+
+    private final SecretKeySpec hmacKey;
+    private final ThreadLocal<Mac> macs;
+    private final long ttlNanos = TTL.toNanos();
+    private final LinkedHashMap<CardKey, Entry> cards = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, CardKey> keyById = new HashMap<>();
+    private final ExpiringCache<CardKey, Boolean> unknown = new ExpiringCache<>(MAX_SIZE, NEGATIVE_TTL);
+
+    private long version;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    private CardCache() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.hmacKey = new SecretKeySpec(secret, HMAC);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public static CardCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Key for a card number. Compute it once when the same number is used for several calls.
+     */
+    public CardKey keyOf(String cardNumber) {
+        byte[] digest = macs.get().doFinal(cardNumber.getBytes(StandardCharsets.UTF_8));
+        ByteBuffer buffer = ByteBuffer.wrap(digest);
+        return new CardKey(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Read before loading and pass to {@link #put}.
+     */
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * @return {@code null} when nothing is cached for the number, {@link CachedCard#UNKNOWN} when it is cached
+     * as not existing
+     */
+    public synchronized CachedCard get(CardKey key, String cardNumber) {
+        Entry entry = cards.get(key);
+        if (entry != null) {
+            if (System.nanoTime() - entry.createdAt <= ttlNanos) {
+                hits++;
+                return new CachedCard(copyOf(entry.card, cardNumber), entry.accountIds);
+            }
+            remove(key, entry);
+            evictions++;
+        }
+        if (unknown.get(key) != null) {
+            hits++;
+            return CachedCard.UNKNOWN;
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Caches what a lookup loaded, unless the cache was evicted from after {@code loadedAt} was read.
+     *
+     * @param card the card, or {@code null} if the number is unknown
+     */
+    public synchronized void put(CardKey key, PaymentCard card, List<Long> accountIds, long loadedAt) {
+        if (version != loadedAt) {
+            return;
+        }
+        if (card == null || card.getId() == null) {
+            unknown.put(key, Boolean.TRUE);
+            return;
+        }
+        Entry previous = cards.put(key, new Entry(copyOf(card, null), List.copyOf(accountIds), System.nanoTime()));
+        if (previous != null) {
+            keyById.remove(previous.card.getId(), key);
+        }
+        keyById.put(card.getId(), key);
+        if (cards.size() > MAX_SIZE) {
+            Iterator<Map.Entry<CardKey, Entry>> eldest = cards.entrySet().iterator();
+            Entry oldest = eldest.next().getValue();
+            eldest.remove();
+            keyById.remove(oldest.card.getId());
+            evictions++;
+        }
+    }
+
+    /**
+     * Evicts the card now and again once the active unit of work finishes, so a concurrent reader
+     * cannot re-cache the pre-commit row.
+     */
+    public void evict(long cardId) {
+        invalidate(cardId);
+        UnitOfWork.afterCompletion(() -> invalidate(cardId));
+    }
+
+    /**
+     * Same as {@link #evict(long)} for a card number, e.g. one just registered that may be cached as unknown.
+     */
+    public void evict(String cardNumber) {
+        CardKey key = keyOf(cardNumber);
+        invalidate(key);
+        UnitOfWork.afterCompletion(() -> invalidate(key));
+    }
+
+    public synchronized void clear() {
+        version++;
+        cards.clear();
+        keyById.clear();
+        unknown.clear();
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, evictions, cards.size() + unknown.stats().getSize());
+    }
+
+    private synchronized void invalidate(long cardId) {
+        version++;
+        CardKey key = keyById.remove(cardId);
+        if (key != null) {
+            cards.remove(key);
+        }
+    }
+
+    private synchronized void invalidate(CardKey key) {
+        version++;
+        Entry entry = cards.remove(key);
+        if (entry != null) {
+            keyById.remove(entry.card.getId(), key);
+        }
+        unknown.invalidate(key);
+    }
+
+    private void remove(CardKey key, Entry entry) {
+        cards.remove(key);
+        keyById.remove(entry.card.getId(), key);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(hmacKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC + " is not available", e);
+        }
+    }
+
+    private static PaymentCard copyOf(PaymentCard card, String cardNumber) {
+        PaymentCard copy = new PaymentCard();
+        copy.setId(card.getId());
+        copy.setCardNumber(cardNumber);
+        copy.setCardType(card.getCardType());
+        copy.setStatus(card.getStatus());
+        copy.setPinHash(card.getPinHash());
+        copy.setExpiryDate(card.getExpiryDate());
+        copy.setCreatedAt(card.getCreatedAt());
+        copy.setUpdatedAt(card.getUpdatedAt());
+        return copy;
+    }
+
+    /**
+     * First 128 bits of the card number's HMAC.
+     */
+    public static final class CardKey {
+
+        private final long high;
+        private final long low;
+
+        private CardKey(long high, long low) {
+            this.high = high;
+            this.low = low;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CardKey)) return false;
+            CardKey other = (CardKey) o;
+            return high == other.high && low == other.low;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (low ^ (low >>> 32));
+        }
+    }
+
+    /**
+     * A cached lookup. The card is a fresh copy on every hit, so callers may change it.
+     */
+    public static final class CachedCard {
+
+        public static final CachedCard UNKNOWN = new CachedCard(null, List.of());
+
+        private final PaymentCard card;
+        private final List<Long> accountIds;
+
+        private CachedCard(PaymentCard card, List<Long> accountIds) {
+            this.card = card;
+            this.accountIds = accountIds;
+        }
+
+        public static CachedCard of(PaymentCard card, List<Long> accountIds) {
+            return new CachedCard(card, List.copyOf(accountIds));
+        }
+
+        public boolean isKnown() {
+            return card != null;
+        }
+
+        public PaymentCard getCard() {
+            return card;
+        }
+
+        public List<Long> getAccountIds() {
+            return accountIds;
+        }
+    }
+
+    private static final class Entry {
+
+        private final PaymentCard card;
+        private final List<Long> accountIds;
+        private final long createdAt;
+
+        private Entry(PaymentCard card, List<Long> accountIds, long createdAt) {
+            this.card = card;
+            this.accountIds = accountIds;
+            this.createdAt = createdAt;
+        }
+    }
+}
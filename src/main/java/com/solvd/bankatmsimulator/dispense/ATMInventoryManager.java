@@ -0,0 +1,374 @@
+package com.solvd.bankatmsimulator.dispense;
+
+import com.solvd.bankatmsimulator.domain.ATMBanknote;
+import com.solvd.bankatmsimulator.domain.Money;
+import com.solvd.bankatmsimulator.metrics.Metrics;
+import com.solvd.bankatmsimulator.persistence.IATMBanknoteRepository;
+import com.solvd.bankatmsimulator.persistence.UnitOfWork;
+import com.solvd.bankatmsimulator.persistence.impl.ATMBanknoteRepositoryImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cassette counts for every ATM that has been used, kept in step with {@code atm_banknotes}.
+ * <p>
+ * Counts are read without locking. Changes to one ATM are serialised by a lock stripe picked from its id,
+ * so different machines never contend. Every change is also recorded as a pending delta; a background
+ * task writes those in one batch of {@code quantity = quantity - ?} updates, so no count is lost to a
+ * read-modify-write race. A slower task reconciles against the table, picking up refills or corrections
+ * made outside this process while keeping deltas that have not been written yet.
+ */
+public final class ATMInventoryManager implements AutoCloseable {
+
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(1);
+    public static final Duration DEFAULT_RECONCILE_INTERVAL = Duration.ofMinutes(5);
+
+    private static final Logger log = LoggerFactory.getLogger(ATMInventoryManager.class);
+    private static final int STRIPES = 64;
+
+    private final IATMBanknoteRepository repository;
+    private final ConcurrentHashMap<Long, AtmCounters> atms = new ConcurrentHashMap<>();
+    private final Object[] stripes = new Object[STRIPES];
+    private final ScheduledExecutorService scheduler;
+
+    public ATMInventoryManager(IATMBanknoteRepository repository, Duration flushInterval, Duration reconcileInterval) {
+        this.repository = repository;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "atm-inventory");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long flushMillis = flushInterval.toMillis();
+        long reconcileMillis = reconcileInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::reconcileQuietly, reconcileMillis, reconcileMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public static ATMInventoryManager getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Notes of one denomination currently in the ATM; 0 when it has no such cassette.
+     */
+    public int available(long atmId, String currency, Money denomination) {
+        AtmCounters counters = counters(atmId);
+        int slot = counters.slotOf(Money.intern(currency), denomination.getMinorUnits());
+        return slot < 0 ? 0 : counters.counts.get(slot);
+    }
+
+    /**
+     * Total cash of one currency in the ATM.
+     */
+    public Money totalCash(long atmId, String currency) {
+        String code = Money.intern(currency);
+        AtmCounters counters = counters(atmId);
+        long total = 0;
+        for (int i = 0; i < counters.rowIds.length; i++) {
+            if (counters.currencies[i] == code) {
+                total += counters.denominations[i] * counters.counts.get(i);
+            }
+        }
+        return Money.ofMinor(total, code);
+    }
+
+    /**
+     * Adds ({@code delta > 0}) or removes notes of one denomination, e.g. for a refill.
+     *
+     * @return false if the ATM has no such cassette or it holds fewer than {@code -delta} notes
+     */
+    public boolean adjust(long atmId, String currency, Money denomination, int delta) {
+        String code = Money.intern(currency);
+        synchronized (stripe(atmId)) {
+            AtmCounters counters = counters(atmId);
+            int slot = counters.slotOf(code, denomination.getMinorUnits());
+            if (slot < 0 || counters.counts.get(slot) + delta < 0) {
+                return false;
+            }
+            counters.counts.addAndGet(slot, delta);
+            counters.pending[slot] -= delta;
+            return true;
+        }
+    }
+
+    /**
+     * Flushes the ATM's pending deltas and forgets its counters, so the next use reloads them from the table.
+     */
+    public void evict(long atmId) {
+        synchronized (stripe(atmId)) {
+            detach(atmId);
+        }
+    }
+
+    /**
+     * Runs a direct write to the ATM's {@code atm_banknotes} rows, such as setting a cassette's quantity.
+     * Pending deltas are flushed first, and no withdrawal can take notes until the write is done, so none is
+     * applied on top of the new quantity. The counters are reloaded from the table on next use. Inside a
+     * {@link UnitOfWork} the flushed deltas go through the unit too, and are recorded again if it rolls back.
+     */
+    public <T> T overwrite(long atmId, Supplier<T> write) {
+        T result;
+        synchronized (stripe(atmId)) {
+            detach(atmId);
+            result = write.get();
+            atms.remove(atmId);
+        }
+        // Inside a unit of work the write is not visible yet; drop anything loaded before it commits.
+        UnitOfWork.afterCompletion(() -> evict(atmId));
+        return result;
+    }
+
+    /**
+     * Writes all pending deltas in one batch. Until the batch is written, the drained ATMs are marked as
+     * flushing, so {@link #evict} waits instead of reloading counts the table does not reflect yet.
+     */
+    public synchronized void flush() {
+        Map<Long, Integer> deltas = new HashMap<>();
+        Map<AtmCounters, int[]> drained = new HashMap<>();
+        for (AtmCounters counters : atms.values()) {
+            synchronized (stripe(counters.atmId)) {
+                int[] taken = drain(counters, deltas);
+                if (taken != null) {
+                    counters.flushing = true;
+                    drained.put(counters, taken);
+                }
+            }
+        }
+        try {
+            write(deltas, drained);
+        } finally {
+            for (AtmCounters counters : drained.keySet()) {
+                Object stripe = stripe(counters.atmId);
+                synchronized (stripe) {
+                    counters.flushing = false;
+                    stripe.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Flushes, then reloads every cached ATM from the table. Deltas recorded after the flush are carried over.
+     */
+    public synchronized void reconcile() {
+        flush();
+        for (Long atmId : atms.keySet()) {
+            AtmCounters loaded = atms.get(atmId);
+            AtmCounters fresh = new AtmCounters(atmId, repository.findByAtmId(atmId));
+            int drift = 0;
+            synchronized (stripe(atmId)) {
+                AtmCounters current = atms.get(atmId);
+                if (current == null || current != loaded) {
+                    // Evicted or overwritten meanwhile; whatever is there now was loaded after our read.
+                    continue;
+                }
+                for (int i = 0; i < fresh.rowIds.length; i++) {
+                    int slot = current.slotOf(fresh.rowIds[i]);
+                    if (slot < 0) {
+                        continue;
+                    }
+                    fresh.pending[i] = current.pending[slot];
+                    fresh.counts.addAndGet(i, -current.pending[slot]);
+                    drift += Math.abs(fresh.counts.get(i) - current.counts.get(slot));
+                }
+                atms.put(atmId, fresh);
+            }
+            if (drift > 0) {
+                log.info("ATM {} inventory reconciled, {} notes of drift corrected", atmId, drift);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    AtmCounters.Cassettes cassettes(long atmId, String currency) {
+        return counters(atmId).cassettes(Money.intern(currency));
+    }
+
+    /**
+     * Takes the planned notes if every cassette still holds them.
+     *
+     * @return false if a concurrent withdrawal got there first; the caller should plan again
+     */
+    boolean take(AtmCounters.Cassettes cassettes, int[] notes) {
+        synchronized (stripe(cassettes.atmId)) {
+            AtmCounters counters = counters(cassettes.atmId);
+            int[] slots = new int[notes.length];
+            for (int i = 0; i < notes.length; i++) {
+                slots[i] = counters.slotOf(cassettes.rowIds[i]);
+                if (notes[i] > 0 && (slots[i] < 0 || counters.counts.get(slots[i]) < notes[i])) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < notes.length; i++) {
+                if (notes[i] > 0) {
+                    counters.counts.addAndGet(slots[i], -notes[i]);
+                    counters.pending[slots[i]] += notes[i];
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Puts back notes taken by {@link #take} when the withdrawal did not go through.
+     */
+    void restore(AtmCounters.Cassettes cassettes, int[] notes) {
+        synchronized (stripe(cassettes.atmId)) {
+            AtmCounters counters = atms.get(cassettes.atmId);
+            if (counters == null) {
+                // Evicted after the take was flushed; write the refund straight away.
+                Map<Long, Integer> refund = new HashMap<>();
+                for (int i = 0; i < notes.length; i++) {
+                    if (notes[i] > 0) {
+                        refund.put(cassettes.rowIds[i], -notes[i]);
+                    }
+                }
+                repository.applyQuantityDeltas(refund);
+                return;
+            }
+            for (int i = 0; i < notes.length; i++) {
+                int slot = counters.slotOf(cassettes.rowIds[i]);
+                if (notes[i] > 0 && slot >= 0) {
+                    counters.counts.addAndGet(slot, notes[i]);
+                    counters.pending[slot] -= notes[i];
+                }
+            }
+        }
+    }
+
+    private AtmCounters counters(long atmId) {
+        AtmCounters counters = atms.get(atmId);
+        if (counters != null) {
+            return counters;
+        }
+        List<ATMBanknote> rows = repository.findByAtmId(atmId);
+        return atms.computeIfAbsent(atmId, id -> new AtmCounters(id, rows));
+    }
+
+    private Object stripe(long atmId) {
+        return stripes[(int) ((atmId * 0x9E3779B97F4A7C15L) >>> 58)];
+    }
+
+    /**
+     * Writes the ATM's pending deltas and drops its counters. The caller holds the ATM's stripe lock, so no
+     * delta can be added between the drain and the removal. If a background flush has drained this ATM and
+     * not written it yet, waits for it first.
+     */
+    private void detach(long atmId) {
+        Object stripe = stripe(atmId);
+        AtmCounters counters;
+        while ((counters = atms.get(atmId)) != null && counters.flushing) {
+            try {
+                stripe.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the inventory flush of ATM " + atmId);
+            }
+        }
+        if (counters == null) {
+            return;
+        }
+        Map<Long, Integer> deltas = new HashMap<>();
+        int[] taken = drain(counters, deltas);
+        if (taken != null) {
+            write(deltas, Map.of(counters, taken));
+            // Inside a unit of work the write is only as durable as the unit.
+            UnitOfWork.afterRollback(() -> redo(atmId, deltas));
+        }
+        atms.remove(atmId, counters);
+    }
+
+    /**
+     * Records again deltas whose write was rolled back. Whatever counters are loaded now came from the table,
+     * which never saw them.
+     */
+    private void redo(long atmId, Map<Long, Integer> deltas) {
+        synchronized (stripe(atmId)) {
+            AtmCounters counters = counters(atmId);
+            deltas.forEach((rowId, taken) -> {
+                int slot = counters.slotOf(rowId);
+                if (slot >= 0) {
+                    counters.counts.addAndGet(slot, -taken);
+                    counters.pending[slot] += taken;
+                }
+            });
+        }
+    }
+
+    private static int[] drain(AtmCounters counters, Map<Long, Integer> deltas) {
+        int[] taken = null;
+        for (int i = 0; i < counters.pending.length; i++) {
+            if (counters.pending[i] != 0) {
+                if (taken == null) {
+                    taken = new int[counters.pending.length];
+                }
+                taken[i] = counters.pending[i];
+                deltas.put(counters.rowIds[i], counters.pending[i]);
+                counters.pending[i] = 0;
+            }
+        }
+        return taken;
+    }
+
+    private void write(Map<Long, Integer> deltas, Map<AtmCounters, int[]> drained) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            repository.applyQuantityDeltas(deltas);
+        } catch (RuntimeException e) {
+            drained.forEach((counters, taken) -> {
+                synchronized (stripe(counters.atmId)) {
+                    for (int i = 0; i < taken.length; i++) {
+                        counters.pending[i] += taken[i];
+                    }
+                }
+            });
+            throw e;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("ATM inventory flush failed, deltas will be retried: {}", e.getMessage(), e);
+        }
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.error("ATM inventory reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private static final class Holder {
+        private static final ATMInventoryManager INSTANCE = new ATMInventoryManager(
+                Metrics.instrument(IATMBanknoteRepository.class, new ATMBanknoteRepositoryImpl()), DEFAULT_FLUSH_INTERVAL, DEFAULT_RECONCILE_INTERVAL);
+    }
+}
@@ -0,0 +1,108 @@
+package com.solvd.bankatmsimulator.dispense;
+
+import com.solvd.bankatmsimulator.domain.ATMBanknote;
+import com.solvd.bankatmsimulator.domain.Money;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Cassette counters of one ATM, one slot per {@code atm_banknotes} row, ordered by currency and then
+ * largest denomination first.
+ * <p>
+ * {@code counts} may be read without locking; {@code counts} writes and everything in {@code pending}
+ * happen under the ATM's stripe lock in {@link ATMInventoryManager}. {@code pending[i]} is the number
+ * of notes taken from slot {@code i} that the database has not seen yet (negative for refills).
+ * {@code flushing} is set, also under the stripe lock, while a drained batch is on its way to the database.
+ */
+final class AtmCounters {
+
+    final long atmId;
+    final long[] rowIds;
+    final String[] currencies;
+    final long[] denominations;
+    final AtomicIntegerArray counts;
+    final int[] pending;
+    boolean flushing;
+
+    AtmCounters(long atmId, List<ATMBanknote> rows) {
+        List<ATMBanknote> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparing((ATMBanknote row) -> Money.intern(row.getCurrency()))
+                .thenComparing(row -> -row.getDenomination().getMinorUnits()));
+        int size = sorted.size();
+        this.atmId = atmId;
+        this.rowIds = new long[size];
+        this.currencies = new String[size];
+        this.denominations = new long[size];
+        this.counts = new AtomicIntegerArray(size);
+        this.pending = new int[size];
+        for (int i = 0; i < size; i++) {
+            ATMBanknote row = sorted.get(i);
+            rowIds[i] = row.getId();
+            currencies[i] = Money.intern(row.getCurrency());
+            denominations[i] = row.getDenomination().getMinorUnits();
+            counts.set(i, row.getQuantity());
+        }
+    }
+
+    int slotOf(long rowId) {
+        for (int i = 0; i < rowIds.length; i++) {
+            if (rowIds[i] == rowId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    int slotOf(String currency, long denomination) {
+        for (int i = 0; i < rowIds.length; i++) {
+            if (currencies[i] == currency && denominations[i] == denomination) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Point-in-time view of the cassettes holding {@code currency}, read without locking.
+     */
+    Cassettes cassettes(String currency) {
+        int from = 0;
+        while (from < currencies.length && currencies[from] != currency) {
+            from++;
+        }
+        int to = from;
+        while (to < currencies.length && currencies[to] == currency) {
+            to++;
+        }
+        int size = to - from;
+        long[] ids = new long[size];
+        long[] values = new long[size];
+        int[] available = new int[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = rowIds[from + i];
+            values[i] = denominations[from + i];
+            available[i] = counts.get(from + i);
+        }
+        return new Cassettes(atmId, currency, ids, values, available);
+    }
+
+    static final class Cassettes {
+
+        final long atmId;
+        final String currency;
+        final long[] rowIds;
+        final long[] denominations;
+        final int[] available;
+
+        private Cassettes(long atmId, String currency, long[] rowIds, long[] denominations, int[] available) {
+            this.atmId = atmId;
+            this.currency = currency;
+            this.rowIds = rowIds;
+            this.denominations = denominations;
+            this.available = available;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.solvd.bankatmsimulator.dispense;
+
+import com.solvd.bankatmsimulator.domain.Money;
+import com.solvd.bankatmsimulator.domain.WithdrawalBanknote;
+import com.solvd.bankatmsimulator.exception.ATMBanknoteException;
+import com.solvd.bankatmsimulator.persistence.UnitOfWork;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decides which notes an ATM pays out and takes them from its cassettes.
+ * <p>
+ * Planning runs against the counts held by {@link ATMInventoryManager}, read without locking. The notes are
+ * then taken under the ATM's stripe lock; if a concurrent withdrawal emptied a cassette in between, the
+ * payout is planned again. A payout chosen by the caller is taken as given, or not at all. When called
+ * inside a {@link UnitOfWork} that later rolls back, the notes are put back.
+ */
+public final class DispenseEngine {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final DispenseEngine INSTANCE = new DispenseEngine(ATMInventoryManager.getInstance());
+
+    private final ATMInventoryManager inventory;
+
+    public DispenseEngine(ATMInventoryManager inventory) {
+        this.inventory = inventory;
+    }
+
+    public static DispenseEngine getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the notes the ATM would pay out for {@code amount} without taking them.
+     */
+    public List<WithdrawalBanknote> plan(long atmId, Money amount) {
+        AtmCounters.Cassettes cassettes = inventory.cassettes(atmId, amount.getCurrency());
+        return toBanknotes(cassettes, planOrThrow(cassettes, amount));
+    }
+
+    /**
+     * Plans a payout for {@code amount} and takes the notes from the ATM's cassettes.
+     *
+     * @throws ATMBanknoteException when the cassettes cannot make up the amount exactly
+     */
+    public List<WithdrawalBanknote> dispense(long atmId, Money amount) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            AtmCounters.Cassettes cassettes = inventory.cassettes(atmId, amount.getCurrency());
+            int[] notes = planOrThrow(cassettes, amount);
+            if (inventory.take(cassettes, notes)) {
+                UnitOfWork.afterRollback(() -> inventory.restore(cassettes, notes));
+                return toBanknotes(cassettes, notes);
+            }
+        }
+        throw ATMBanknoteException.cannotDispense(atmId, amount, amount.getCurrency());
+    }
+
+    /**
+     * Takes exactly {@code banknotes} from the ATM's cassettes, for a payout the caller has already chosen.
+     * The caller checks that they add up to {@code amount}.
+     *
+     * @throws ATMBanknoteException when the ATM has no cassette for a denomination or too few notes left in it
+     */
+    public List<WithdrawalBanknote> dispense(long atmId, Money amount, List<WithdrawalBanknote> banknotes) {
+        AtmCounters.Cassettes cassettes = inventory.cassettes(atmId, amount.getCurrency());
+        int[] notes = new int[cassettes.denominations.length];
+        for (WithdrawalBanknote banknote : banknotes) {
+            int slot = indexOf(cassettes.denominations, banknote.getDenomination().getMinorUnits());
+            if (slot < 0) {
+                throw ATMBanknoteException.cannotDispense(atmId, amount, amount.getCurrency());
+            }
+            notes[slot] += banknote.getQuantity();
+        }
+        if (!inventory.take(cassettes, notes)) {
+            throw ATMBanknoteException.cannotDispense(atmId, amount, amount.getCurrency());
+        }
+        UnitOfWork.afterRollback(() -> inventory.restore(cassettes, notes));
+        return toBanknotes(cassettes, notes);
+    }
+
+    private static int indexOf(long[] denominations, long denomination) {
+        for (int i = 0; i < denominations.length; i++) {
+            if (denominations[i] == denomination) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] planOrThrow(AtmCounters.Cassettes cassettes, Money amount) {
+        int[] notes = DispensePlanner.plan(cassettes.denominations, cassettes.available, amount.getMinorUnits());
+        if (notes == null) {
+            throw ATMBanknoteException.cannotDispense(cassettes.atmId, amount, amount.getCurrency());
+        }
+        return notes;
+    }
+
+    private static List<WithdrawalBanknote> toBanknotes(AtmCounters.Cassettes cassettes, int[] notes) {
+        List<WithdrawalBanknote> banknotes = new ArrayList<>();
+        for (int i = 0; i < notes.length; i++) {
+            if (notes[i] > 0) {
+                WithdrawalBanknote banknote = new WithdrawalBanknote();
+                banknote.setDenomination(Money.ofMinor(cassettes.denominations[i], null));
+                banknote.setQuantity(notes[i]);
+                banknotes.add(banknote);
+            }
+        }
+        return banknotes;
+    }
+}
@@ -0,0 +1,120 @@
+package com.solvd.bankatmsimulator.dispense;
+
+import java.util.Arrays;
+
+/**
+ * Bounded-knapsack planner: picks how many notes of each denomination make up an amount exactly,
+ * never using more notes than a cassette holds, at minimum total cost.
+ * <p>
+ * A note costs {@code 1 + SCARCITY_WEIGHT / available}, so the planner prefers fewer notes but steers
+ * away from denominations that are running low. Amounts and denominations are reduced by the gcd of the
+ * loaded denominations (an amount it does not divide is rejected up front) and each denomination is folded
+ * in with a sliding-window minimum per residue class, which keeps a plan at O(denominations x amount / gcd)
+ * - a few microseconds for ATM-sized amounts.
+ */
+final class DispensePlanner {
+
+    static final int SCARCITY_WEIGHT = 64;
+    static final int MAX_UNITS = 1_000_000;
+
+    private static final int INF = Integer.MAX_VALUE / 2;
+
+    private DispensePlanner() {
+        throw new IllegalStateException("Utility class, do not instantiate!");
+    }
+
+    /**
+     * @param denominations denomination of each cassette in minor units
+     * @param available     notes left in each cassette
+     * @param amount        amount to dispense in minor units
+     * @return notes to take from each cassette, or {@code null} when no exact mix exists
+     */
+    static int[] plan(long[] denominations, int[] available, long amount) {
+        int n = denominations.length;
+        if (amount <= 0) {
+            return null;
+        }
+        long gcd = 0;
+        for (int i = 0; i < n; i++) {
+            if (available[i] > 0 && denominations[i] > 0) {
+                gcd = gcd(gcd, denominations[i]);
+            }
+        }
+        // No mix of the loaded notes can reach an amount their gcd does not divide.
+        if (gcd == 0 || amount % gcd != 0) {
+            return null;
+        }
+        long totalUnits = amount / gcd;
+        if (totalUnits > MAX_UNITS) {
+            return null;
+        }
+        int units = (int) totalUnits;
+
+        int[] dp = new int[units + 1];
+        int[] next = new int[units + 1];
+        Arrays.fill(dp, INF);
+        dp[0] = 0;
+        int[] windowIndex = new int[units + 1];
+        int[] windowValue = new int[units + 1];
+        int[][] take = new int[n][];
+
+        for (int i = 0; i < n; i++) {
+            take[i] = new int[units + 1];
+            long unitLong = denominations[i] / gcd;
+            if (available[i] <= 0 || unitLong > units) {
+                continue;
+            }
+            int unit = (int) unitLong;
+            int limit = Math.min(available[i], units / unit);
+            int cost = 1 + SCARCITY_WEIGHT / available[i];
+            for (int residue = 0; residue < unit; residue++) {
+                int head = 0;
+                int tail = 0;
+                for (int j = 0, a = residue; a <= units; j++, a += unit) {
+                    if (dp[a] < INF) {
+                        int value = dp[a] - j * cost;
+                        while (tail > head && windowValue[tail - 1] >= value) {
+                            tail--;
+                        }
+                        windowIndex[tail] = j;
+                        windowValue[tail] = value;
+                        tail++;
+                    }
+                    while (tail > head && windowIndex[head] < j - limit) {
+                        head++;
+                    }
+                    if (tail > head) {
+                        next[a] = windowValue[head] + j * cost;
+                        take[i][a] = j - windowIndex[head];
+                    } else {
+                        next[a] = INF;
+                    }
+                }
+            }
+            int[] swap = dp;
+            dp = next;
+            next = swap;
+        }
+        if (dp[units] >= INF) {
+            return null;
+        }
+
+        int[] notes = new int[n];
+        int remaining = units;
+        for (int i = n - 1; i >= 0; i--) {
+            int count = take[i][remaining];
+            notes[i] = count;
+            remaining -= (int) (count * (denominations[i] / gcd));
+        }
+        return notes;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -1,13 +1,11 @@
 package com.solvd.bankatmsimulator.domain;
 
-import java.math.BigDecimal;
-
 public class ATMBanknote {
 
     private Long id;
     private Long atmId;
     private String currency;
-    private BigDecimal denomination;
+    private Money denomination;
     private Integer quantity;
 
     public ATMBanknote() {
@@ -42,11 +40,11 @@ public class ATMBanknote {
         this.currency = currency;
     }
 
-    public BigDecimal getDenomination() {
+    public Money getDenomination() {
         return denomination;
     }
 
-    public void setDenomination(BigDecimal denomination) {
+    public void setDenomination(Money denomination) {
         this.denomination = denomination;
     }
 
@@ -1,13 +1,12 @@
 package com.solvd.bankatmsimulator.domain;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 public class Account {
 
     private Long id;
     private String accountNumber;
-    private BigDecimal balance;
+    private Money balance;
     private String currency;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -33,11 +32,11 @@ public class Account {
         this.accountNumber = accountNumber;
     }
 
-    public BigDecimal getBalance() {
+    public Money getBalance() {
         return balance;
     }
 
-    public void setBalance(BigDecimal balance) {
+    public void setBalance(Money balance) {
         this.balance = balance;
     }
 
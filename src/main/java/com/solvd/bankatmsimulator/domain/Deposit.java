@@ -1,19 +1,18 @@
 package com.solvd.bankatmsimulator.domain;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 public class Deposit {
 
-    public static final BigDecimal MIN_AMOUNT = new BigDecimal("1.00");
+    public static final Money MIN_AMOUNT = Money.of("1.00", null);
 
     private Long id;
     private Long transactionId;
     private Long atmId;
     private String currency;
-    private BigDecimal totalAmount;
+    private Money totalAmount;
     private LocalDateTime processedAt;
     private List<DepositBanknote> banknotes;
 
@@ -49,11 +48,11 @@ public class Deposit {
         this.currency = currency;
     }
 
-    public BigDecimal getTotalAmount() {
+    public Money getTotalAmount() {
         return totalAmount;
     }
 
-    public void setTotalAmount(BigDecimal totalAmount) {
+    public void setTotalAmount(Money totalAmount) {
         this.totalAmount = totalAmount;
     }
 
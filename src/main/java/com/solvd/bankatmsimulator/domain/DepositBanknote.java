@@ -1,12 +1,10 @@
 package com.solvd.bankatmsimulator.domain;
 
-import java.math.BigDecimal;
-
 public class DepositBanknote {
 
     private Long id;
     private Long depositId;
-    private BigDecimal denomination;
+    private Money denomination;
     private Integer quantity;
 
     public DepositBanknote() {
@@ -33,11 +31,11 @@ public class DepositBanknote {
         this.depositId = depositId;
     }
 
-    public BigDecimal getDenomination() {
+    public Money getDenomination() {
         return denomination;
     }
 
-    public void setDenomination(BigDecimal denomination) {
+    public void setDenomination(Money denomination) {
         this.denomination = denomination;
     }
 
@@ -0,0 +1,173 @@
+package com.solvd.bankatmsimulator.domain;
+
+import com.solvd.bankatmsimulator.exception.MoneyException;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable amount stored as a long count of minor units (cents) plus an interned currency code.
+ * <p>
+ * Arithmetic and comparisons are plain long operations, so debit/credit and validator checks do not allocate
+ * the way {@link BigDecimal} does. Columns stay {@code DECIMAL(..,2)}; repositories convert at the JDBC
+ * boundary with {@link #of(BigDecimal, String)} and {@link #toBigDecimal()}.
+ * <p>
+ * The currency may be null where it is implied by the owning row (banknote denominations, validation limits);
+ * a null currency combines with any other.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+
+    private static final ConcurrentHashMap<String, String> CURRENCIES = new ConcurrentHashMap<>();
+
+    private final long minorUnits;
+    private final String currency;
+
+    private Money(long minorUnits, String currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+    public static Money ofMinor(long minorUnits, String currency) {
+        return new Money(minorUnits, intern(currency));
+    }
+
+    public static Money of(BigDecimal amount, String currency) {
+        if (amount == null) {
+            return null;
+        }
+        try {
+            return new Money(amount.movePointRight(SCALE).longValueExact(), intern(currency));
+        } catch (ArithmeticException e) {
+            throw MoneyException.invalidScale(amount);
+        }
+    }
+
+    public static Money of(String amount, String currency) {
+        return of(new BigDecimal(amount), currency);
+    }
+
+    public static Money zero(String currency) {
+        return new Money(0, intern(currency));
+    }
+
+    /**
+     * Canonical instance of a currency code, so codes can be compared by reference.
+     */
+    public static String intern(String currency) {
+        if (currency == null) {
+            return null;
+        }
+        String cached = CURRENCIES.get(currency);
+        if (cached != null) {
+            return cached;
+        }
+        String code = currency.trim().toUpperCase().intern();
+        CURRENCIES.putIfAbsent(currency, code);
+        return code;
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public Money plus(Money other) {
+        String code = combine(other);
+        try {
+            return new Money(Math.addExact(minorUnits, other.minorUnits), code);
+        } catch (ArithmeticException e) {
+            throw MoneyException.overflow();
+        }
+    }
+
+    public Money minus(Money other) {
+        String code = combine(other);
+        try {
+            return new Money(Math.subtractExact(minorUnits, other.minorUnits), code);
+        } catch (ArithmeticException e) {
+            throw MoneyException.overflow();
+        }
+    }
+
+    public Money times(long factor) {
+        try {
+            return new Money(Math.multiplyExact(minorUnits, factor), currency);
+        } catch (ArithmeticException e) {
+            throw MoneyException.overflow();
+        }
+    }
+
+    public Money negate() {
+        return new Money(-minorUnits, currency);
+    }
+
+    public Money withCurrency(String currency) {
+        return new Money(minorUnits, intern(currency));
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public boolean isLessThan(Money other) {
+        combine(other);
+        return minorUnits < other.minorUnits;
+    }
+
+    public boolean isGreaterThan(Money other) {
+        combine(other);
+        return minorUnits > other.minorUnits;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        combine(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Money)) return false;
+        Money money = (Money) o;
+        return minorUnits == money.minorUnits && currency == money.currency;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + (currency == null ? 0 : currency.hashCode());
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    private String combine(Money other) {
+        String otherCurrency = other.currency;
+        if (currency == otherCurrency || otherCurrency == null) {
+            return currency;
+        }
+        if (currency == null) {
+            return otherCurrency;
+        }
+        throw MoneyException.currencyMismatch(currency, otherCurrency);
+    }
+}
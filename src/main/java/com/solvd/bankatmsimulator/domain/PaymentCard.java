@@ -125,6 +125,10 @@ public class PaymentCard {
         MASTERCARD,
         AMERICAN_EXPRESS,
         DISCOVER,
+        JCB,
+        DINERS_CLUB,
+        UNIONPAY,
+        MAESTRO,
         UNKNOWN
     }
 }
@@ -1,6 +1,5 @@
 package com.solvd.bankatmsimulator.domain;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 public class Transaction {
@@ -8,7 +7,7 @@ public class Transaction {
     private Long id;
     private Long fromAccountId;
     private Long toAccountId;
-    private BigDecimal amount;
+    private Money amount;
     private String currency;
     private TransactionType transactionType;
     private TransactionStatus status;
@@ -38,11 +37,11 @@ public class Transaction {
         this.toAccountId = toAccountId;
     }
 
-    public BigDecimal getAmount() {
+    public Money getAmount() {
         return amount;
     }
 
-    public void setAmount(BigDecimal amount) {
+    public void setAmount(Money amount) {
         this.amount = amount;
     }
 
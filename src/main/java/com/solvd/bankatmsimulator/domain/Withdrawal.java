@@ -1,20 +1,19 @@
 package com.solvd.bankatmsimulator.domain;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 public class Withdrawal {
 
-    public static final BigDecimal MIN_AMOUNT = new BigDecimal("5.00");
+    public static final Money MIN_AMOUNT = Money.of("5.00", null);
 
     private Long id;
     private Long accountId;
     private Long transactionId;
     private Long atmId;
     private String currency;
-    private BigDecimal totalAmount;
+    private Money totalAmount;
     private LocalDateTime processedAt;
     private List<WithdrawalBanknote> banknotes;
 
@@ -58,11 +57,11 @@ public class Withdrawal {
         this.currency = currency;
     }
 
-    public BigDecimal getTotalAmount() {
+    public Money getTotalAmount() {
         return totalAmount;
     }
 
-    public void setTotalAmount(BigDecimal totalAmount) {
+    public void setTotalAmount(Money totalAmount) {
         this.totalAmount = totalAmount;
     }
 
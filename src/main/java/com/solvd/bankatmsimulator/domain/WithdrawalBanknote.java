@@ -1,12 +1,10 @@
 package com.solvd.bankatmsimulator.domain;
 
-import java.math.BigDecimal;
-
 public class WithdrawalBanknote {
 
     private Long id;
     private Long withdrawalId;
-    private BigDecimal denomination;
+    private Money denomination;
     private Integer quantity;
 
     public WithdrawalBanknote() {
@@ -33,11 +31,11 @@ public class WithdrawalBanknote {
         this.withdrawalId = withdrawalId;
     }
 
-    public BigDecimal getDenomination() {
+    public Money getDenomination() {
         return denomination;
     }
 
-    public void setDenomination(BigDecimal denomination) {
+    public void setDenomination(Money denomination) {
         this.denomination = denomination;
     }
 
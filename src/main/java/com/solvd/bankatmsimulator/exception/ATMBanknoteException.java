@@ -1,40 +1,66 @@
 package com.solvd.bankatmsimulator.exception;
 
+import com.solvd.bankatmsimulator.metrics.Metrics;
+
 public class ATMBanknoteException extends RuntimeException {
 
+    private static final ATMBanknoteException BANKNOTE_IS_NULL =
+            new ATMBanknoteException("ATM banknote cannot be null.", false);
+    private static final ATMBanknoteException INVALID_ID =
+            new ATMBanknoteException("Banknote ID cannot be null or negative.", false);
+    private static final ATMBanknoteException INVALID_ATM_ID =
+            new ATMBanknoteException("ATM ID cannot be null or negative.", false);
+    private static final ATMBanknoteException INVALID_CURRENCY =
+            new ATMBanknoteException("Currency cannot be null or empty.", false);
+    private static final ATMBanknoteException INVALID_DENOMINATION =
+            new ATMBanknoteException("Denomination must be positive.", false);
+    private static final ATMBanknoteException INVALID_QUANTITY =
+            new ATMBanknoteException("Quantity cannot be null or negative.", false);
+    private static final ATMBanknoteException EMPTY_LIST = new ATMBanknoteException("No ATM banknotes found.", false);
+
     public ATMBanknoteException(String message) {
         super(message);
+        Metrics.exceptionRaised(this);
+    }
+
+    private ATMBanknoteException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
     }
 
     public static ATMBanknoteException banknoteIsNull() {
-        return new ATMBanknoteException("ATM banknote cannot be null.");
+        return Metrics.exceptionRaised(BANKNOTE_IS_NULL);
     }
 
     public static ATMBanknoteException invalidId() {
-        return new ATMBanknoteException("Banknote ID cannot be null or negative.");
+        return Metrics.exceptionRaised(INVALID_ID);
     }
 
     public static ATMBanknoteException invalidAtmId() {
-        return new ATMBanknoteException("ATM ID cannot be null or negative.");
+        return Metrics.exceptionRaised(INVALID_ATM_ID);
     }
 
     public static ATMBanknoteException invalidCurrency() {
-        return new ATMBanknoteException("Currency cannot be null or empty.");
+        return Metrics.exceptionRaised(INVALID_CURRENCY);
     }
 
     public static ATMBanknoteException invalidDenomination() {
-        return new ATMBanknoteException("Denomination must be positive.");
+        return Metrics.exceptionRaised(INVALID_DENOMINATION);
     }
 
     public static ATMBanknoteException invalidQuantity() {
-        return new ATMBanknoteException("Quantity cannot be null or negative.");
+        return Metrics.exceptionRaised(INVALID_QUANTITY);
     }
 
     public static ATMBanknoteException notFound(Long id) {
-        return new ATMBanknoteException("ATM banknote with id " + id + " not found.");
+        return Metrics.exceptionRaised(new ATMBanknoteException("ATM banknote with id " + id + " not found.", false));
+    }
+
+    public static ATMBanknoteException cannotDispense(long atmId, Object amount, String currency) {
+        String message = "ATM with id " + atmId + " cannot dispense " + amount + " " + currency + ".";
+        return Metrics.exceptionRaised(new ATMBanknoteException(message, false));
     }
 
     public static ATMBanknoteException emptyList() {
-        return new ATMBanknoteException("No ATM banknotes found.");
+        return Metrics.exceptionRaised(EMPTY_LIST);
     }
 }
@@ -1,32 +1,46 @@
 package com.solvd.bankatmsimulator.exception;
 
+import com.solvd.bankatmsimulator.metrics.Metrics;
+
 public class ATMException extends RuntimeException {
 
+    private static final ATMException ATM_IS_NULL = new ATMException("ATM cannot be null.", false);
+    private static final ATMException INVALID_ID = new ATMException("ATM ID cannot be null or negative.", false);
+    private static final ATMException INVALID_LOCATION =
+            new ATMException("ATM location cannot be null or empty.", false);
+    private static final ATMException INVALID_NAME = new ATMException("ATM name cannot be null or empty.", false);
+    private static final ATMException EMPTY_LIST = new ATMException("No ATMs found.", false);
+
     public ATMException(String message) {
         super(message);
+        Metrics.exceptionRaised(this);
+    }
+
+    private ATMException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
     }
 
     public static ATMException atmIsNull() {
-        return new ATMException("ATM cannot be null.");
+        return Metrics.exceptionRaised(ATM_IS_NULL);
     }
 
     public static ATMException invalidId() {
-        return new ATMException("ATM ID cannot be null or negative.");
+        return Metrics.exceptionRaised(INVALID_ID);
     }
 
     public static ATMException invalidLocation() {
-        return new ATMException("ATM location cannot be null or empty.");
+        return Metrics.exceptionRaised(INVALID_LOCATION);
     }
 
     public static ATMException invalidName() {
-        return new ATMException("ATM name cannot be null or empty.");
+        return Metrics.exceptionRaised(INVALID_NAME);
     }
 
     public static ATMException notFound(Long id) {
-        return new ATMException("ATM with id " + id + " not found.");
+        return Metrics.exceptionRaised(new ATMException("ATM with id " + id + " not found.", false));
     }
 
     public static ATMException emptyList() {
-        return new ATMException("No ATMs found.");
+        return Metrics.exceptionRaised(EMPTY_LIST);
     }
 }
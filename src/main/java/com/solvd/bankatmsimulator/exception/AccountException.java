@@ -1,37 +1,55 @@
 package com.solvd.bankatmsimulator.exception;
 
+import com.solvd.bankatmsimulator.metrics.Metrics;
+
 public class AccountException extends RuntimeException {
 
+    private static final AccountException ACCOUNT_IS_NULL = new AccountException("Account cannot be null.", false);
+    private static final AccountException INVALID_ID =
+            new AccountException("Account ID cannot be null or negative.", false);
+    private static final AccountException INVALID_NUMBER =
+            new AccountException("Account number cannot be null or empty.", false);
+    private static final AccountException INVALID_BALANCE =
+            new AccountException("Balance cannot be null or negative.", false);
+    private static final AccountException INVALID_CURRENCY =
+            new AccountException("Currency cannot be null or empty.", false);
+    private static final AccountException EMPTY_LIST = new AccountException("No accounts found.", false);
+
     public AccountException(String message) {
         super(message);
+        Metrics.exceptionRaised(this);
+    }
+
+    private AccountException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
     }
 
     public static AccountException accountIsNull() {
-        return new AccountException("Account cannot be null.");
+        return Metrics.exceptionRaised(ACCOUNT_IS_NULL);
     }
 
     public static AccountException invalidId() {
-        return new AccountException("Account ID cannot be null or negative.");
+        return Metrics.exceptionRaised(INVALID_ID);
     }
 
     public static AccountException invalidNumber() {
-        return new AccountException("Account number cannot be null or empty.");
+        return Metrics.exceptionRaised(INVALID_NUMBER);
     }
 
     public static AccountException invalidBalance() {
-        return new AccountException("Balance cannot be null or negative.");
+        return Metrics.exceptionRaised(INVALID_BALANCE);
     }
 
     public static AccountException invalidCurrency() {
-        return new AccountException("Currency cannot be null or empty.");
+        return Metrics.exceptionRaised(INVALID_CURRENCY);
     }
 
     public static AccountException notFound(Long id) {
-        return new AccountException("Account with id " + id + " not found.");
+        return Metrics.exceptionRaised(new AccountException("Account with id " + id + " not found.", false));
     }
 
     public static AccountException emptyList() {
-        return new AccountException("No accounts found.");
+        return Metrics.exceptionRaised(EMPTY_LIST);
     }
 
 }
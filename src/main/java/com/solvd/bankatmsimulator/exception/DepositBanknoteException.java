@@ -1,36 +1,57 @@
 package com.solvd.bankatmsimulator.exception;
 
+import com.solvd.bankatmsimulator.metrics.Metrics;
+
 public class DepositBanknoteException extends RuntimeException {
 
+    private static final DepositBanknoteException BANKNOTE_IS_NULL =
+            new DepositBanknoteException("Deposit banknote cannot be null.", false);
+    private static final DepositBanknoteException INVALID_ID =
+            new DepositBanknoteException("Banknote ID cannot be null or negative.", false);
+    private static final DepositBanknoteException INVALID_DEPOSIT_ID =
+            new DepositBanknoteException("Deposit ID cannot be null or negative.", false);
+    private static final DepositBanknoteException INVALID_DENOMINATION =
+            new DepositBanknoteException("Denomination must be greater than 0.", false);
+    private static final DepositBanknoteException INVALID_QUANTITY =
+            new DepositBanknoteException("Quantity cannot be null or negative.", false);
+    private static final DepositBanknoteException EMPTY_LIST =
+            new DepositBanknoteException("No deposit banknotes found.", false);
+
     public DepositBanknoteException(String message) {
         super(message);
+        Metrics.exceptionRaised(this);
+    }
+
+    private DepositBanknoteException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
     }
 
     public static DepositBanknoteException banknoteIsNull() {
-        return new DepositBanknoteException("Deposit banknote cannot be null.");
+        return Metrics.exceptionRaised(BANKNOTE_IS_NULL);
     }
 
     public static DepositBanknoteException invalidId() {
-        return new DepositBanknoteException("Banknote ID cannot be null or negative.");
+        return Metrics.exceptionRaised(INVALID_ID);
     }
 
     public static DepositBanknoteException invalidDepositId() {
-        return new DepositBanknoteException("Deposit ID cannot be null or negative.");
+        return Metrics.exceptionRaised(INVALID_DEPOSIT_ID);
     }
 
     public static DepositBanknoteException invalidDenomination() {
-        return new DepositBanknoteException("Denomination must be greater than 0.");
+        return Metrics.exceptionRaised(INVALID_DENOMINATION);
     }
 
     public static DepositBanknoteException invalidQuantity() {
-        return new DepositBanknoteException("Quantity cannot be null or negative.");
+        return Metrics.exceptionRaised(INVALID_QUANTITY);
     }
 
     public static DepositBanknoteException notFound(Long id) {
-        return new DepositBanknoteException("Deposit banknote with id " + id + " not found.");
+        return Metrics.exceptionRaised(
+                new DepositBanknoteException("Deposit banknote with id " + id + " not found.", false));
     }
 
     public static DepositBanknoteException emptyList() {
-        return new DepositBanknoteException("No deposit banknotes found.");
+        return Metrics.exceptionRaised(EMPTY_LIST);
     }
 }
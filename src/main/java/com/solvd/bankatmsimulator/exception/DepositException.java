@@ -1,44 +1,77 @@
 package com.solvd.bankatmsimulator.exception;
 
+import com.solvd.bankatmsimulator.metrics.Metrics;
+
 public class DepositException extends RuntimeException {
 
+    private static final DepositException DEPOSIT_IS_NULL = new DepositException("Deposit cannot be null.", false);
+    private static final DepositException INVALID_ID =
+            new DepositException("Deposit ID cannot be null or negative.", false);
+    private static final DepositException INVALID_ACCOUNT_ID =
+            new DepositException("Account ID cannot be null or negative.", false);
+    private static final DepositException INVALID_TRANSACTION_ID =
+            new DepositException("Transaction ID cannot be null or negative.", false);
+    private static final DepositException INVALID_ATM_ID =
+            new DepositException("ATM ID cannot be null or negative.", false);
+    private static final DepositException INVALID_CURRENCY =
+            new DepositException("Currency cannot be null or empty.", false);
+    private static final DepositException INVALID_AMOUNT =
+            new DepositException("Total amount must be greater than or equal to 1.00.", false);
+    private static final DepositException INVALID_PROCESSED_AT =
+            new DepositException("ProcessedAt date cannot be null.", false);
+    private static final DepositException EMPTY_LIST = new DepositException("No deposits found.", false);
+
     public DepositException(String message) {
         super(message);
+        Metrics.exceptionRaised(this);
+    }
+
+    private DepositException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
     }
 
     public static DepositException depositIsNull() {
-        return new DepositException("Deposit cannot be null.");
+        return Metrics.exceptionRaised(DEPOSIT_IS_NULL);
     }
 
     public static DepositException invalidId() {
-        return new DepositException("Deposit ID cannot be null or negative.");
+        return Metrics.exceptionRaised(INVALID_ID);
+    }
+
+    public static DepositException invalidAccountId() {
+        return Metrics.exceptionRaised(INVALID_ACCOUNT_ID);
     }
 
     public static DepositException invalidTransactionId() {
-        return new DepositException("Transaction ID cannot be null or negative.");
+        return Metrics.exceptionRaised(INVALID_TRANSACTION_ID);
     }
 
     public static DepositException invalidAtmId() {
-        return new DepositException("ATM ID cannot be null or negative.");
+        return Metrics.exceptionRaised(INVALID_ATM_ID);
     }
 
     public static DepositException invalidCurrency() {
-        return new DepositException("Currency cannot be null or empty.");
+        return Metrics.exceptionRaised(INVALID_CURRENCY);
     }
 
     public static DepositException invalidAmount() {
-        return new DepositException("Total amount must be greater than or equal to 1.00.");
+        return Metrics.exceptionRaised(INVALID_AMOUNT);
     }
 
     public static DepositException invalidProcessedAt() {
-        return new DepositException("ProcessedAt date cannot be null.");
+        return Metrics.exceptionRaised(INVALID_PROCESSED_AT);
+    }
+
+    public static DepositException currencyMismatch(Long accountId, String currency) {
+        String message = "Account with id " + accountId + " not found or not held in " + currency + ".";
+        return Metrics.exceptionRaised(new DepositException(message, false));
     }
 
     public static DepositException notFound(Long id) {
-        return new DepositException("Deposit with id " + id + " not found.");
+        return Metrics.exceptionRaised(new DepositException("Deposit with id " + id + " not found.", false));
     }
 
     public static DepositException emptyList() {
-        return new DepositException("No deposits found.");
+        return Metrics.exceptionRaised(EMPTY_LIST);
     }
 }
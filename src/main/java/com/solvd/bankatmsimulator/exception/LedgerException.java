@@ -0,0 +1,59 @@
+package com.solvd.bankatmsimulator.exception;
+
+import com.solvd.bankatmsimulator.metrics.Metrics;
+
+public class LedgerException extends RuntimeException {
+
+    private static final LedgerException INVALID_AMOUNT =
+            new LedgerException("Posting amount must be positive.", false);
+    private static final LedgerException SAME_ACCOUNT =
+            new LedgerException("Cannot transfer to the same account.", false);
+    private static final LedgerException CLOSED = new LedgerException("Ledger is closed.", false);
+
+    public LedgerException(String message) {
+        super(message);
+        Metrics.exceptionRaised(this);
+    }
+
+    private LedgerException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    public static LedgerException unknownAccount(long accountId) {
+        return Metrics.exceptionRaised(
+                new LedgerException("Account with id " + accountId + " is not loaded in the ledger.", false));
+    }
+
+    public static LedgerException invalidAmount() {
+        return Metrics.exceptionRaised(INVALID_AMOUNT);
+    }
+
+    public static LedgerException currencyMismatch(long accountId, String currency) {
+        return Metrics.exceptionRaised(
+                new LedgerException("Account with id " + accountId + " does not hold " + currency + ".", false));
+    }
+
+    public static LedgerException insufficientBalance(long accountId) {
+        return Metrics.exceptionRaised(
+                new LedgerException("Account with id " + accountId + " has insufficient balance.", false));
+    }
+
+    public static LedgerException sameAccount() {
+        return Metrics.exceptionRaised(SAME_ACCOUNT);
+    }
+
+    public static LedgerException closed() {
+        return Metrics.exceptionRaised(CLOSED);
+    }
+
+    public static LedgerException journalGap(long expected, long found) {
+        return Metrics.exceptionRaised(new LedgerException("Journal has posting " + found + " where " + expected
+                + " was expected; postings after the database checkpoint are missing."));
+    }
+
+    public static LedgerException journalFailure(String message, Throwable cause) {
+        LedgerException e = new LedgerException(message);
+        e.initCause(cause);
+        return e;
+    }
+}
@@ -0,0 +1,31 @@
+package com.solvd.bankatmsimulator.exception;
+
+import com.solvd.bankatmsimulator.metrics.Metrics;
+
+public class MoneyException extends RuntimeException {
+
+    private static final MoneyException OVERFLOW = new MoneyException("Amount is out of range.", false);
+
+    public MoneyException(String message) {
+        super(message);
+        Metrics.exceptionRaised(this);
+    }
+
+    private MoneyException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    public static MoneyException currencyMismatch(String expected, String actual) {
+        return Metrics.exceptionRaised(
+                new MoneyException("Cannot combine " + expected + " with " + actual + ".", false));
+    }
+
+    public static MoneyException invalidScale(Object amount) {
+        return Metrics.exceptionRaised(
+                new MoneyException("Amount " + amount + " has more than two decimal places.", false));
+    }
+
+    public static MoneyException overflow() {
+        return Metrics.exceptionRaised(OVERFLOW);
+    }
+}
@@ -1,44 +1,89 @@
 package com.solvd.bankatmsimulator.exception;
 
+import com.solvd.bankatmsimulator.metrics.Metrics;
+
 public class PaymentCardException extends RuntimeException {
 
+    private static final PaymentCardException CARD_IS_NULL =
+            new PaymentCardException("Payment card cannot be null.", false);
+    private static final PaymentCardException INVALID_ID =
+            new PaymentCardException("Payment card ID cannot be null or negative.", false);
+    private static final PaymentCardException INVALID_CARD_NUMBER =
+            new PaymentCardException("Card number cannot be null or empty.", false);
+    private static final PaymentCardException INVALID_CARD_TYPE =
+            new PaymentCardException("Card type cannot be null.", false);
+    private static final PaymentCardException INVALID_STATUS =
+            new PaymentCardException("Card status cannot be null.", false);
+    private static final PaymentCardException INVALID_PIN_HASH =
+            new PaymentCardException("PIN hash cannot be null or empty.", false);
+    private static final PaymentCardException INVALID_EXPIRY_DATE =
+            new PaymentCardException("Expiry date cannot be null or in the past.", false);
+    private static final PaymentCardException CARD_BLOCKED = new PaymentCardException("Payment card is blocked.", false);
+    private static final PaymentCardException CARD_NOT_ACTIVE =
+            new PaymentCardException("Payment card is expired or cancelled.", false);
+    private static final PaymentCardException AUTHENTICATION_FAILED =
+            new PaymentCardException("Card number or PIN is incorrect.", false);
+    private static final PaymentCardException EMPTY_LIST = new PaymentCardException("No payment cards found.", false);
+
     public PaymentCardException(String message) {
         super(message);
+        Metrics.exceptionRaised(this);
+    }
+
+    private PaymentCardException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
     }
 
     public static PaymentCardException cardIsNull() {
-        return new PaymentCardException("Payment card cannot be null.");
+        return Metrics.exceptionRaised(CARD_IS_NULL);
     }
 
     public static PaymentCardException invalidId() {
-        return new PaymentCardException("Payment card ID cannot be null or negative.");
+        return Metrics.exceptionRaised(INVALID_ID);
     }
 
     public static PaymentCardException invalidCardNumber() {
-        return new PaymentCardException("Card number cannot be null or empty.");
+        return Metrics.exceptionRaised(INVALID_CARD_NUMBER);
     }
 
     public static PaymentCardException invalidCardType() {
-        return new PaymentCardException("Card type cannot be null.");
+        return Metrics.exceptionRaised(INVALID_CARD_TYPE);
     }
 
     public static PaymentCardException invalidStatus() {
-        return new PaymentCardException("Card status cannot be null.");
+        return Metrics.exceptionRaised(INVALID_STATUS);
     }
 
     public static PaymentCardException invalidPinHash() {
-        return new PaymentCardException("PIN hash cannot be null or empty.");
+        return Metrics.exceptionRaised(INVALID_PIN_HASH);
     }
 
     public static PaymentCardException invalidExpiryDate() {
-        return new PaymentCardException("Expiry date cannot be null or in the past.");
+        return Metrics.exceptionRaised(INVALID_EXPIRY_DATE);
     }
 
     public static PaymentCardException notFound(Long id) {
-        return new PaymentCardException("Payment card with id " + id + " not found.");
+        return Metrics.exceptionRaised(new PaymentCardException("Payment card with id " + id + " not found.", false));
+    }
+
+    public static PaymentCardException wrongPin(int attemptsLeft) {
+        String message = "Incorrect PIN, " + attemptsLeft + (attemptsLeft == 1 ? " attempt" : " attempts") + " left.";
+        return Metrics.exceptionRaised(new PaymentCardException(message, false));
+    }
+
+    public static PaymentCardException cardBlocked() {
+        return Metrics.exceptionRaised(CARD_BLOCKED);
+    }
+
+    public static PaymentCardException cardNotActive() {
+        return Metrics.exceptionRaised(CARD_NOT_ACTIVE);
+    }
+
+    public static PaymentCardException authenticationFailed() {
+        return Metrics.exceptionRaised(AUTHENTICATION_FAILED);
     }
 
     public static PaymentCardException emptyList() {
-        return new PaymentCardException("No payment cards found.");
+        return Metrics.exceptionRaised(EMPTY_LIST);
     }
 }
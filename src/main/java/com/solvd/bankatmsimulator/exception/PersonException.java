@@ -1,36 +1,53 @@
 package com.solvd.bankatmsimulator.exception;
 
+import com.solvd.bankatmsimulator.metrics.Metrics;
+
 public class PersonException extends RuntimeException {
 
+    private static final PersonException PERSON_IS_NULL = new PersonException("Person cannot be null.", false);
+    private static final PersonException INVALID_ID =
+            new PersonException("Person ID cannot be null or negative.", false);
+    private static final PersonException INVALID_FULL_NAME =
+            new PersonException("Full name cannot be null or empty.", false);
+    private static final PersonException INVALID_EMAIL = new PersonException("Email cannot be null or empty.", false);
+    private static final PersonException INVALID_PHONE =
+            new PersonException("Phone number cannot be null or empty.", false);
+    private static final PersonException EMPTY_LIST = new PersonException("No persons found.", false);
+
     public PersonException(String message) {
         super(message);
+        Metrics.exceptionRaised(this);
+    }
+
+    private PersonException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
     }
 
     public static PersonException personIsNull() {
-        return new PersonException("Person cannot be null.");
+        return Metrics.exceptionRaised(PERSON_IS_NULL);
     }
 
     public static PersonException invalidId() {
-        return new PersonException("Person ID cannot be null or negative.");
+        return Metrics.exceptionRaised(INVALID_ID);
     }
 
     public static PersonException invalidFullName() {
-        return new PersonException("Full name cannot be null or empty.");
+        return Metrics.exceptionRaised(INVALID_FULL_NAME);
     }
 
     public static PersonException invalidEmail() {
-        return new PersonException("Email cannot be null or empty.");
+        return Metrics.exceptionRaised(INVALID_EMAIL);
     }
 
     public static PersonException invalidPhone() {
-        return new PersonException("Phone number cannot be null or empty.");
+        return Metrics.exceptionRaised(INVALID_PHONE);
     }
 
     public static PersonException notFound(Long id) {
-        return new PersonException("Person with id " + id + " not found.");
+        return Metrics.exceptionRaised(new PersonException("Person with id " + id + " not found.", false));
     }
 
     public static PersonException emptyList() {
-        return new PersonException("No persons found.");
+        return Metrics.exceptionRaised(EMPTY_LIST);
     }
 }
@@ -1,44 +1,98 @@
 package com.solvd.bankatmsimulator.exception;
 
+import com.solvd.bankatmsimulator.metrics.Metrics;
+import com.solvd.bankatmsimulator.service.ITransactionService;
+
 public class TransactionException extends RuntimeException {
 
+    private static final TransactionException TRANSACTION_IS_NULL =
+            new TransactionException("Transaction cannot be null.", false);
+    private static final TransactionException INVALID_ID =
+            new TransactionException("Transaction ID cannot be null or negative.", false);
+    private static final TransactionException INVALID_AMOUNT =
+            new TransactionException("Amount must be positive.", false);
+    private static final TransactionException INVALID_CURRENCY =
+            new TransactionException("Currency cannot be null or empty.", false);
+    private static final TransactionException INVALID_TYPE =
+            new TransactionException("Transaction type cannot be null.", false);
+    private static final TransactionException INVALID_STATUS =
+            new TransactionException("Transaction status cannot be null.", false);
+    private static final TransactionException INVALID_PROCESSED_AT =
+            new TransactionException("ProcessedAt cannot be null.", false);
+    private static final TransactionException INVALID_PAGE_SIZE =
+            new TransactionException("Page size must be between 1 and " + ITransactionService.MAX_PAGE_SIZE + ".",
+                    false);
+    private static final TransactionException INVALID_CURSOR =
+            new TransactionException("Page cursor needs both processedAt and id, or neither.", false);
+    private static final TransactionException SAME_ACCOUNT =
+            new TransactionException("Cannot transfer to the same account.", false);
+    private static final TransactionException EMPTY_LIST = new TransactionException("No transactions found.", false);
+
     public TransactionException(String message) {
         super(message);
+        Metrics.exceptionRaised(this);
+    }
+
+    private TransactionException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
     }
 
     public static TransactionException transactionIsNull() {
-        return new TransactionException("Transaction cannot be null.");
+        return Metrics.exceptionRaised(TRANSACTION_IS_NULL);
     }
 
     public static TransactionException invalidId() {
-        return new TransactionException("Transaction ID cannot be null or negative.");
+        return Metrics.exceptionRaised(INVALID_ID);
     }
 
     public static TransactionException invalidAmount() {
-        return new TransactionException("Amount must be positive.");
+        return Metrics.exceptionRaised(INVALID_AMOUNT);
     }
 
     public static TransactionException invalidCurrency() {
-        return new TransactionException("Currency cannot be null or empty.");
+        return Metrics.exceptionRaised(INVALID_CURRENCY);
     }
 
     public static TransactionException invalidType() {
-        return new TransactionException("Transaction type cannot be null.");
+        return Metrics.exceptionRaised(INVALID_TYPE);
     }
 
     public static TransactionException invalidStatus() {
-        return new TransactionException("Transaction status cannot be null.");
+        return Metrics.exceptionRaised(INVALID_STATUS);
     }
 
     public static TransactionException invalidProcessedAt() {
-        return new TransactionException("ProcessedAt cannot be null.");
+        return Metrics.exceptionRaised(INVALID_PROCESSED_AT);
+    }
+
+    public static TransactionException invalidPageSize() {
+        return Metrics.exceptionRaised(INVALID_PAGE_SIZE);
+    }
+
+    public static TransactionException invalidCursor() {
+        return Metrics.exceptionRaised(INVALID_CURSOR);
+    }
+
+    public static TransactionException insufficientBalance(Long accountId) {
+        String message = "Account with id " + accountId
+                + " not found, held in another currency or has insufficient balance.";
+        return Metrics.exceptionRaised(new TransactionException(message, false));
+    }
+
+    public static TransactionException currencyMismatch(Long accountId, String currency) {
+        String message = "Account with id " + accountId + " not found or not held in " + currency + ".";
+        return Metrics.exceptionRaised(new TransactionException(message, false));
+    }
+
+    public static TransactionException sameAccount() {
+        return Metrics.exceptionRaised(SAME_ACCOUNT);
     }
 
     public static TransactionException notFound(Long id) {
-        return new TransactionException("Transaction with id " + id + " not found.");
+        return Metrics.exceptionRaised(new TransactionException("Transaction with id " + id + " not found.", false));
     }
 
     public static TransactionException emptyList() {
-        return new TransactionException("No transactions found.");
+        return Metrics.exceptionRaised(EMPTY_LIST);
     }
 }
@@ -1,36 +1,57 @@
 package com.solvd.bankatmsimulator.exception;
 
+import com.solvd.bankatmsimulator.metrics.Metrics;
+
 public class WithdrawalBanknoteException extends RuntimeException {
 
+    private static final WithdrawalBanknoteException ENTITY_IS_NULL =
+            new WithdrawalBanknoteException("WithdrawalBanknote cannot be null.", false);
+    private static final WithdrawalBanknoteException INVALID_ID =
+            new WithdrawalBanknoteException("WithdrawalBanknote ID is invalid.", false);
+    private static final WithdrawalBanknoteException INVALID_WITHDRAWAL_ID =
+            new WithdrawalBanknoteException("Withdrawal ID is invalid.", false);
+    private static final WithdrawalBanknoteException INVALID_DENOMINATION =
+            new WithdrawalBanknoteException("Denomination must be positive.", false);
+    private static final WithdrawalBanknoteException INVALID_QUANTITY =
+            new WithdrawalBanknoteException("Quantity must be positive.", false);
+    private static final WithdrawalBanknoteException EMPTY_LIST =
+            new WithdrawalBanknoteException("No withdrawal banknotes found.", false);
+
     public WithdrawalBanknoteException(String message) {
         super(message);
+        Metrics.exceptionRaised(this);
+    }
+
+    private WithdrawalBanknoteException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
     }
 
     public static WithdrawalBanknoteException entityIsNull() {
-        return new WithdrawalBanknoteException("WithdrawalBanknote cannot be null.");
+        return Metrics.exceptionRaised(ENTITY_IS_NULL);
     }
 
     public static WithdrawalBanknoteException invalidId() {
-        return new WithdrawalBanknoteException("WithdrawalBanknote ID is invalid.");
+        return Metrics.exceptionRaised(INVALID_ID);
     }
 
     public static WithdrawalBanknoteException invalidWithdrawalId() {
-        return new WithdrawalBanknoteException("Withdrawal ID is invalid.");
+        return Metrics.exceptionRaised(INVALID_WITHDRAWAL_ID);
     }
 
     public static WithdrawalBanknoteException invalidDenomination() {
-        return new WithdrawalBanknoteException("Denomination must be positive.");
+        return Metrics.exceptionRaised(INVALID_DENOMINATION);
     }
 
     public static WithdrawalBanknoteException invalidQuantity() {
-        return new WithdrawalBanknoteException("Quantity must be positive.");
+        return Metrics.exceptionRaised(INVALID_QUANTITY);
     }
 
     public static WithdrawalBanknoteException notFound(Long id) {
-        return new WithdrawalBanknoteException("WithdrawalBanknote with id " + id + " not found.");
+        return Metrics.exceptionRaised(
+                new WithdrawalBanknoteException("WithdrawalBanknote with id " + id + " not found.", false));
     }
 
     public static WithdrawalBanknoteException emptyList() {
-        return new WithdrawalBanknoteException("No withdrawal banknotes found.");
+        return Metrics.exceptionRaised(EMPTY_LIST);
     }
 }
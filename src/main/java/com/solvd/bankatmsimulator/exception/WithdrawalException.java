@@ -1,48 +1,85 @@
 package com.solvd.bankatmsimulator.exception;
 
+import com.solvd.bankatmsimulator.metrics.Metrics;
+
 public class WithdrawalException extends RuntimeException {
 
+    private static final WithdrawalException ENTITY_IS_NULL =
+            new WithdrawalException("Withdrawal cannot be null.", false);
+    private static final WithdrawalException INVALID_ID =
+            new WithdrawalException("Withdrawal ID cannot be null or negative.", false);
+    private static final WithdrawalException INVALID_ACCOUNT_ID =
+            new WithdrawalException("Account ID cannot be null or negative.", false);
+    private static final WithdrawalException INVALID_TRANSACTION_ID =
+            new WithdrawalException("Transaction ID cannot be null or negative.", false);
+    private static final WithdrawalException INVALID_ATM_ID =
+            new WithdrawalException("ATM ID cannot be null or negative.", false);
+    private static final WithdrawalException INVALID_AMOUNT =
+            new WithdrawalException("Withdrawal amount must be positive and within allowed limits.", false);
+    private static final WithdrawalException INVALID_CURRENCY =
+            new WithdrawalException("Currency cannot be null or empty.", false);
+    private static final WithdrawalException INVALID_PROCESSED_AT =
+            new WithdrawalException("ProcessedAt cannot be null.", false);
+    private static final WithdrawalException BANKNOTES_MISMATCH = new WithdrawalException(
+            "Banknotes must be positive quantities in the withdrawal currency adding up to the amount.", false);
+    private static final WithdrawalException EMPTY_LIST = new WithdrawalException("No withdrawals found.", false);
+
     public WithdrawalException(String message) {
         super(message);
+        Metrics.exceptionRaised(this);
+    }
+
+    private WithdrawalException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
     }
 
     public static WithdrawalException entityIsNull() {
-        return new WithdrawalException("Withdrawal cannot be null.");
+        return Metrics.exceptionRaised(ENTITY_IS_NULL);
     }
 
     public static WithdrawalException invalidId() {
-        return new WithdrawalException("Withdrawal ID cannot be null or negative.");
+        return Metrics.exceptionRaised(INVALID_ID);
     }
 
     public static WithdrawalException invalidAccountId() {
-        return new WithdrawalException("Account ID cannot be null or negative.");
+        return Metrics.exceptionRaised(INVALID_ACCOUNT_ID);
     }
 
     public static WithdrawalException invalidTransactionId() {
-        return new WithdrawalException("Transaction ID cannot be null or negative.");
+        return Metrics.exceptionRaised(INVALID_TRANSACTION_ID);
     }
 
     public static WithdrawalException invalidAtmId() {
-        return new WithdrawalException("ATM ID cannot be null or negative.");
+        return Metrics.exceptionRaised(INVALID_ATM_ID);
     }
 
     public static WithdrawalException invalidAmount() {
-        return new WithdrawalException("Withdrawal amount must be positive and within allowed limits.");
+        return Metrics.exceptionRaised(INVALID_AMOUNT);
     }
 
     public static WithdrawalException invalidCurrency() {
-        return new WithdrawalException("Currency cannot be null or empty.");
+        return Metrics.exceptionRaised(INVALID_CURRENCY);
     }
 
     public static WithdrawalException invalidProcessedAt() {
-        return new WithdrawalException("ProcessedAt cannot be null.");
+        return Metrics.exceptionRaised(INVALID_PROCESSED_AT);
+    }
+
+    public static WithdrawalException banknotesMismatch() {
+        return Metrics.exceptionRaised(BANKNOTES_MISMATCH);
+    }
+
+    public static WithdrawalException insufficientBalance(Long accountId) {
+        String message = "Account with id " + accountId
+                + " not found, held in another currency or has insufficient balance.";
+        return Metrics.exceptionRaised(new WithdrawalException(message, false));
     }
 
     public static WithdrawalException notFound(Long id) {
-        return new WithdrawalException("Withdrawal with id " + id + " not found.");
+        return Metrics.exceptionRaised(new WithdrawalException("Withdrawal with id " + id + " not found.", false));
     }
 
     public static WithdrawalException emptyList() {
-        return new WithdrawalException("No withdrawals found.");
+        return Metrics.exceptionRaised(EMPTY_LIST);
     }
 }
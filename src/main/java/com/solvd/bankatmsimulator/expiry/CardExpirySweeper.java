@@ -0,0 +1,136 @@
+package com.solvd.bankatmsimulator.expiry;
+
+import com.solvd.bankatmsimulator.cache.CardCache;
+import com.solvd.bankatmsimulator.metrics.Metrics;
+import com.solvd.bankatmsimulator.persistence.Config;
+import com.solvd.bankatmsimulator.persistence.ConnectionPool;
+import com.solvd.bankatmsimulator.persistence.ICardExpiryRepository;
+import com.solvd.bankatmsimulator.persistence.impl.CardExpiryRepositoryImpl;
+import io.micrometer.core.instrument.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Marks cards whose expiry date has passed as {@code EXPIRED}.
+ * <p>
+ * Cards are walked in {@code (expiry_date, id)} order from the high-water mark left by the previous run, so each
+ * run only looks at cards that expired since then. Every chunk is one range {@code UPDATE} plus the new mark,
+ * committed together: row locks are held for one chunk at a time, and a run that dies halfway resumes where the
+ * last chunk committed. The mark only moves forward, which works because a card can't be registered or updated
+ * with an expiry date in the past.
+ * <p>
+ * Usage: {@link #main} runs one sweep; {@link #start} schedules it inside a long-running process.
+ */
+public final class CardExpirySweeper implements AutoCloseable {
+
+    public static final String NAME = "card-expiry";
+    public static final Duration DEFAULT_INTERVAL = Duration.ofHours(1);
+
+    private static final Logger log = LoggerFactory.getLogger(CardExpirySweeper.class);
+
+    private final ICardExpiryRepository repository;
+    private final int chunkSize;
+    private final Counter expired;
+    private volatile ScheduledExecutorService scheduler;
+
+    public CardExpirySweeper() {
+        this(Metrics.instrument(ICardExpiryRepository.class, new CardExpiryRepositoryImpl()),
+                Config.EXPIRY_SWEEP_CHUNK);
+    }
+
+    /**
+     * @param chunkSize cards per {@code UPDATE}; bigger chunks mean fewer round trips but longer row locks
+     */
+    public CardExpirySweeper(ICardExpiryRepository repository, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.repository = repository;
+        this.chunkSize = chunkSize;
+        this.expired = Counter.builder("bank.cards.expired")
+                .description("Cards marked EXPIRED by the expiry sweeper")
+                .register(Metrics.registry());
+    }
+
+    /**
+     * Expires every card with an expiry date before {@code today} that earlier runs haven't reached.
+     *
+     * @return how many cards changed status
+     */
+    public synchronized int run(LocalDate today) {
+        long started = System.nanoTime();
+        ExpiryCursor cursor = repository.findHighWaterMark(NAME);
+        ExpiryCursor from = cursor;
+        int total = 0;
+        int chunks = 0;
+        Optional<ExpiryCursor> end;
+        while ((end = repository.findChunkEnd(cursor, today, chunkSize)).isPresent()) {
+            int changed = repository.expireRange(NAME, cursor, end.get());
+            if (changed > 0) {
+                // The chunk is committed; card lookups may have cached these as active.
+                CardCache.getInstance().clear();
+            }
+            expired.increment(changed);
+            total += changed;
+            chunks++;
+            cursor = end.get();
+        }
+        log.info("Expiry sweep: {} cards expired in {} chunks, {} -> {} ({} ms)", total, chunks, from, cursor,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return total;
+    }
+
+    /**
+     * Sweeps now and then every {@code interval} on a background thread until {@link #close}.
+     */
+    public synchronized void start(Duration interval) {
+        if (scheduler != null) {
+            throw new IllegalStateException("Expiry sweeper already started");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "card-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runQuietly, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        // Not synchronized: a sweep in progress holds the monitor until it finishes.
+        ScheduledExecutorService running = scheduler;
+        scheduler = null;
+        if (running == null) {
+            return;
+        }
+        running.shutdown();
+        try {
+            running.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static void main(String[] args) {
+        try {
+            new CardExpirySweeper().run(LocalDate.now());
+        } finally {
+            ConnectionPool.close();
+        }
+    }
+
+    private void runQuietly() {
+        try {
+            run(LocalDate.now());
+        } catch (RuntimeException e) {
+            log.error("Expiry sweep failed, will resume from the last committed chunk: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.solvd.bankatmsimulator.expiry;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * A position in {@code (expiry_date, id)} order over {@code payment_cards}. Cards are swept in that order, so
+ * everything up to and including the cursor has been seen.
+ */
+public final class ExpiryCursor {
+
+    /**
+     * Before every card; MySQL's {@code DATE} starts at year 1000.
+     */
+    public static final ExpiryCursor START = new ExpiryCursor(LocalDate.of(1000, 1, 1), 0);
+
+    private final LocalDate expiryDate;
+    private final long cardId;
+
+    public ExpiryCursor(LocalDate expiryDate, long cardId) {
+        this.expiryDate = Objects.requireNonNull(expiryDate, "expiryDate");
+        this.cardId = cardId;
+    }
+
+    public LocalDate getExpiryDate() {
+        return expiryDate;
+    }
+
+    public long getCardId() {
+        return cardId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ExpiryCursor)) return false;
+        ExpiryCursor other = (ExpiryCursor) o;
+        return cardId == other.cardId && expiryDate.equals(other.expiryDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(expiryDate, cardId);
+    }
+
+    @Override
+    public String toString() {
+        return expiryDate + "/" + cardId;
+    }
+}
@@ -0,0 +1,59 @@
+package com.solvd.bankatmsimulator.forecast;
+
+import com.solvd.bankatmsimulator.domain.Money;
+
+/**
+ * Projected depletion of one ATM cassette.
+ */
+public class CashOutForecast {
+
+    private final long atmId;
+    private final Money denomination;
+    private final int quantity;
+    private final double notesPerDay;
+
+    public CashOutForecast(long atmId, Money denomination, int quantity, double notesPerDay) {
+        this.atmId = atmId;
+        this.denomination = denomination;
+        this.quantity = quantity;
+        this.notesPerDay = notesPerDay;
+    }
+
+    public long getAtmId() {
+        return atmId;
+    }
+
+    public Money getDenomination() {
+        return denomination;
+    }
+
+    public String getCurrency() {
+        return denomination.getCurrency();
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public double getNotesPerDay() {
+        return notesPerDay;
+    }
+
+    /**
+     * Days until the cassette is empty at the current rate; infinite when nothing is being dispensed.
+     */
+    public double getDaysToEmpty() {
+        return notesPerDay > 0 ? quantity / notesPerDay : Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public String toString() {
+        return "CashOutForecast{" +
+                "atmId=" + atmId +
+                ", denomination=" + denomination + " " + getCurrency() +
+                ", quantity=" + quantity +
+                ", notesPerDay=" + String.format("%.2f", notesPerDay) +
+                ", daysToEmpty=" + String.format("%.1f", getDaysToEmpty()) +
+                '}';
+    }
+}
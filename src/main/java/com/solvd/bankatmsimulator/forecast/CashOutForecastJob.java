@@ -0,0 +1,172 @@
+package com.solvd.bankatmsimulator.forecast;
+
+import com.solvd.bankatmsimulator.domain.ATMBanknote;
+import com.solvd.bankatmsimulator.domain.Money;
+import com.solvd.bankatmsimulator.domain.Withdrawal;
+import com.solvd.bankatmsimulator.domain.WithdrawalBanknote;
+import com.solvd.bankatmsimulator.metrics.Metrics;
+import com.solvd.bankatmsimulator.persistence.ConnectionPool;
+import com.solvd.bankatmsimulator.persistence.IATMBanknoteRepository;
+import com.solvd.bankatmsimulator.persistence.IWithdrawalRepository;
+import com.solvd.bankatmsimulator.persistence.impl.ATMBanknoteRepositoryImpl;
+import com.solvd.bankatmsimulator.persistence.impl.WithdrawalRepositoryImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Projects when each ATM cassette runs dry and warns about the ones that will before the next refill.
+ * <p>
+ * Withdrawal history (with banknotes) and cassette rows are both streamed ordered by ATM id and merged
+ * in a single pass. Only the current ATM's per-denomination {@link DepletionRate}s are held in memory,
+ * so a year of history for thousands of ATMs needs no more heap than one machine's worth of state.
+ * <p>
+ * Usage: {@code CashOutForecastJob [historyDays]}
+ */
+public class CashOutForecastJob {
+
+    public static final double DEFAULT_HALF_LIFE_DAYS = 7;
+    public static final double DEFAULT_ALERT_DAYS = 2;
+    public static final int DEFAULT_HISTORY_DAYS = 365;
+
+    private static final Logger log = LoggerFactory.getLogger(CashOutForecastJob.class);
+
+    private final IWithdrawalRepository withdrawalRepository;
+    private final IATMBanknoteRepository banknoteRepository;
+    private final double alpha;
+    private final double alertDays;
+
+    public CashOutForecastJob() {
+        this(Metrics.instrument(IWithdrawalRepository.class, new WithdrawalRepositoryImpl()),
+                Metrics.instrument(IATMBanknoteRepository.class, new ATMBanknoteRepositoryImpl()),
+                DEFAULT_HALF_LIFE_DAYS, DEFAULT_ALERT_DAYS);
+    }
+
+    /**
+     * @param halfLifeDays age in days at which a day's withdrawals count half as much as today's
+     * @param alertDays    cassettes projected to empty within this many days are reported
+     */
+    public CashOutForecastJob(IWithdrawalRepository withdrawalRepository, IATMBanknoteRepository banknoteRepository,
+                              double halfLifeDays, double alertDays) {
+        this.withdrawalRepository = withdrawalRepository;
+        this.banknoteRepository = banknoteRepository;
+        this.alpha = 1 - Math.pow(0.5, 1 / halfLifeDays);
+        this.alertDays = alertDays;
+    }
+
+    /**
+     * Forecasts every cassette from withdrawals processed since {@code since}, with rates brought forward to
+     * {@code asOf}, and passes each forecast to {@code sink}.
+     *
+     * @return number of cassettes projected to empty within the alert window
+     */
+    public int run(LocalDateTime since, LocalDate asOf, Consumer<CashOutForecast> sink) {
+        long horizon = asOf.toEpochDay() + 1;
+        int alerts = 0;
+        try (Stream<Withdrawal> history = withdrawalRepository.streamWithBanknotesSince(since);
+             Stream<ATMBanknote> cassetteRows = banknoteRepository.streamOrderedByAtmId()) {
+            Cassettes cassettes = new Cassettes(cassetteRows.iterator());
+            List<DepletionRate> rates = new ArrayList<>();
+            long atmId = -1;
+            for (Iterator<Withdrawal> it = history.iterator(); it.hasNext(); ) {
+                Withdrawal withdrawal = it.next();
+                if (withdrawal.getAtmId() != atmId) {
+                    alerts += cassettes.forecastUpTo(atmId, rates, horizon, sink);
+                    rates.clear();
+                    atmId = withdrawal.getAtmId();
+                }
+                long day = withdrawal.getProcessedAt().toLocalDate().toEpochDay();
+                String currency = Money.intern(withdrawal.getCurrency());
+                for (WithdrawalBanknote banknote : withdrawal.getBanknotes()) {
+                    rateFor(rates, currency, banknote.getDenomination().getMinorUnits())
+                            .record(day, banknote.getQuantity());
+                }
+            }
+            alerts += cassettes.forecastUpTo(atmId, rates, horizon, sink);
+            rates.clear();
+            alerts += cassettes.forecastUpTo(Long.MAX_VALUE, rates, horizon, sink);
+        }
+        return alerts;
+    }
+
+    public static void main(String[] args) {
+        int historyDays = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_HISTORY_DAYS;
+        LocalDate today = LocalDate.now();
+        int[] forecasts = {0};
+        try {
+            int alerts = new CashOutForecastJob().run(today.minusDays(historyDays).atStartOfDay(), today,
+                    forecast -> forecasts[0]++);
+            log.info("Forecast {} cassettes from {} days of history, {} projected to run dry within {} days",
+                    forecasts[0], historyDays, alerts, DEFAULT_ALERT_DAYS);
+        } finally {
+            ConnectionPool.close();
+        }
+    }
+
+    private DepletionRate rateFor(List<DepletionRate> rates, String currency, long denomination) {
+        for (DepletionRate rate : rates) {
+            if (rate.denomination == denomination && rate.currency == currency) {
+                return rate;
+            }
+        }
+        DepletionRate rate = new DepletionRate(currency, denomination, alpha);
+        rates.add(rate);
+        return rate;
+    }
+
+    /**
+     * Cursor over cassette rows ordered by ATM id.
+     */
+    private final class Cassettes {
+
+        private final Iterator<ATMBanknote> rows;
+        private ATMBanknote head;
+
+        private Cassettes(Iterator<ATMBanknote> rows) {
+            this.rows = rows;
+            this.head = rows.hasNext() ? rows.next() : null;
+        }
+
+        /**
+         * Forecasts every cassette of ATMs up to and including {@code atmId}; only {@code atmId} has
+         * {@code rates}, ATMs before it had no withdrawals in the window.
+         */
+        int forecastUpTo(long atmId, List<DepletionRate> rates, long horizon, Consumer<CashOutForecast> sink) {
+            int alerts = 0;
+            while (head != null && head.getAtmId() <= atmId) {
+                ATMBanknote cassette = head;
+                head = rows.hasNext() ? rows.next() : null;
+                double perDay = 0;
+                if (cassette.getAtmId() == atmId) {
+                    String currency = Money.intern(cassette.getCurrency());
+                    long denomination = cassette.getDenomination().getMinorUnits();
+                    for (DepletionRate rate : rates) {
+                        if (rate.denomination == denomination && rate.currency == currency) {
+                            rate.advanceTo(horizon);
+                            perDay = rate.perDay();
+                            break;
+                        }
+                    }
+                }
+                CashOutForecast forecast = new CashOutForecast(cassette.getAtmId(), cassette.getDenomination(),
+                        cassette.getQuantity(), perDay);
+                if (forecast.getDaysToEmpty() <= alertDays) {
+                    alerts++;
+                    log.warn("ATM {} will run out of {} {} notes in {} days ({} left, {} per day)",
+                            forecast.getAtmId(), forecast.getDenomination(), forecast.getCurrency(),
+                            String.format("%.1f", forecast.getDaysToEmpty()), forecast.getQuantity(),
+                            String.format("%.1f", forecast.getNotesPerDay()));
+                }
+                sink.accept(forecast);
+            }
+            return alerts;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.solvd.bankatmsimulator.forecast;
+
+/**
+ * Exponentially weighted moving average of notes dispensed per day for one ATM denomination.
+ * <p>
+ * Notes are summed per calendar day; when a later day arrives the finished day is folded in and
+ * any days without withdrawals decay the average towards zero. Constant memory, one pass.
+ */
+final class DepletionRate {
+
+    final String currency;
+    final long denomination;
+
+    private final double alpha;
+    private double rate;
+    private boolean seeded;
+    private long day = Long.MIN_VALUE;
+    private long dayTotal;
+
+    DepletionRate(String currency, long denomination, double alpha) {
+        this.currency = currency;
+        this.denomination = denomination;
+        this.alpha = alpha;
+    }
+
+    void record(long epochDay, int notes) {
+        if (epochDay != day) {
+            advanceTo(epochDay);
+        }
+        dayTotal += notes;
+    }
+
+    /**
+     * Folds in every day up to, but not including, {@code epochDay}.
+     */
+    void advanceTo(long epochDay) {
+        if (day == Long.MIN_VALUE) {
+            day = epochDay;
+            return;
+        }
+        if (epochDay <= day) {
+            return;
+        }
+        if (seeded) {
+            rate = alpha * dayTotal + (1 - alpha) * rate;
+        } else {
+            rate = dayTotal;
+            seeded = true;
+        }
+        long emptyDays = epochDay - day - 1;
+        if (emptyDays > 0) {
+            rate *= Math.pow(1 - alpha, emptyDays);
+        }
+        day = epochDay;
+        dayTotal = 0;
+    }
+
+    double perDay() {
+        return rate;
+    }
+}
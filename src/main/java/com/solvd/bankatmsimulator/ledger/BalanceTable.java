@@ -0,0 +1,211 @@
+package com.solvd.bankatmsimulator.ledger;
+
+import com.solvd.bankatmsimulator.exception.LedgerException;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Account id to balance map backed by primitive arrays.
+ * <p>
+ * Each account gets a stable slot; balances live in fixed-size {@link AtomicLongArray} pages that never move,
+ * so postings update them with plain CAS and no lock. Only registering a new account takes the monitor.
+ * A single registration inserts into the open-addressing index in place, publishing the key with a release
+ * store so lock-free lookups see its slot; the index is copied only when it has to double. Bulk loads build
+ * a new index once and publish it through a volatile field.
+ * <p>
+ * Registering an id that is already loaded leaves its live balance alone, since postings may have moved it
+ * since the caller read its copy, and only checks that the currency still matches.
+ */
+final class BalanceTable {
+
+    private static final int PAGE_BITS = 10;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final long EMPTY = 0L;
+
+    private volatile Index index = new Index(16);
+    private volatile AtomicLongArray[] balances = new AtomicLongArray[0];
+    private volatile String[][] currencies = new String[0][];
+    private int size;
+
+    int slotOf(long accountId) {
+        return index.find(accountId);
+    }
+
+    /**
+     * @throws LedgerException if the account is already loaded with another currency
+     */
+    synchronized int register(long accountId, String currency, long balance) {
+        int existing = slotOf(accountId);
+        if (existing >= 0) {
+            return checkCurrency(existing, accountId, currency);
+        }
+        int slot = assignSlot(accountId, currency, balance);
+        if (index.needsGrowthFor(size + 1)) {
+            index = index.grownFor(size + 1);
+        }
+        index.insert(accountId, slot);
+        size++;
+        return slot;
+    }
+
+    /**
+     * Bulk variant of {@link #register} that rebuilds the index once for the whole batch. If it throws, the
+     * accounts before the failing one stay registered.
+     *
+     * @throws LedgerException if an account is already loaded with another currency
+     */
+    synchronized void registerAll(long[] accountIds, String[] accountCurrencies, long[] accountBalances, int count) {
+        Index next = index.grownFor(size + count);
+        try {
+            for (int i = 0; i < count; i++) {
+                long accountId = accountIds[i];
+                int existing = next.find(accountId);
+                if (existing >= 0) {
+                    checkCurrency(existing, accountId, accountCurrencies[i]);
+                    continue;
+                }
+                int slot = assignSlot(accountId, accountCurrencies[i], accountBalances[i]);
+                next.insert(accountId, slot);
+                size++;
+            }
+        } finally {
+            // Slots assigned so far count towards size, so their keys have to be findable too.
+            index = next;
+        }
+    }
+
+    private int checkCurrency(int slot, long accountId, String currency) {
+        if (!currency(slot).equals(currency)) {
+            throw LedgerException.currencyMismatch(accountId, currency);
+        }
+        return slot;
+    }
+
+    private int assignSlot(long accountId, String currency, long balance) {
+        if (accountId <= EMPTY) {
+            throw new IllegalArgumentException("Account id must be positive");
+        }
+        int slot = size;
+        if ((slot >>> PAGE_BITS) == balances.length) {
+            AtomicLongArray[] grownBalances = Arrays.copyOf(balances, balances.length + 1);
+            grownBalances[balances.length] = new AtomicLongArray(PAGE_SIZE);
+            String[][] grownCurrencies = Arrays.copyOf(currencies, currencies.length + 1);
+            grownCurrencies[currencies.length] = new String[PAGE_SIZE];
+            currencies = grownCurrencies;
+            balances = grownBalances;
+        }
+        currencies[slot >>> PAGE_BITS][slot & PAGE_MASK] = currency;
+        balances[slot >>> PAGE_BITS].set(slot & PAGE_MASK, balance);
+        return slot;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long get(int slot) {
+        return balances[slot >>> PAGE_BITS].get(slot & PAGE_MASK);
+    }
+
+    String currency(int slot) {
+        return currencies[slot >>> PAGE_BITS][slot & PAGE_MASK];
+    }
+
+    boolean tryDebit(int slot, long amount) {
+        AtomicLongArray page = balances[slot >>> PAGE_BITS];
+        int offset = slot & PAGE_MASK;
+        while (true) {
+            long current = page.get(offset);
+            if (current < amount) {
+                return false;
+            }
+            if (page.compareAndSet(offset, current, current - amount)) {
+                return true;
+            }
+        }
+    }
+
+    void credit(int slot, long amount) {
+        balances[slot >>> PAGE_BITS].getAndAdd(slot & PAGE_MASK, amount);
+    }
+
+    long total(String currency) {
+        long total = 0;
+        int count = size;
+        for (int slot = 0; slot < count; slot++) {
+            if (currency.equals(currency(slot))) {
+                total += get(slot);
+            }
+        }
+        return total;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static final class Index {
+
+        private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(long[].class);
+
+        private final long[] keys;
+        private final int[] slots;
+        private final int mask;
+
+        private Index(int capacity) {
+            this.keys = new long[capacity];
+            this.slots = new int[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private boolean needsGrowthFor(int entries) {
+            return keys.length < entries * 2;
+        }
+
+        /**
+         * Copy of this index with room for {@code entries} keys at a load factor of at most one half.
+         */
+        private Index grownFor(int entries) {
+            int capacity = keys.length;
+            while (capacity < entries * 2) {
+                capacity <<= 1;
+            }
+            Index grown = new Index(capacity);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY) {
+                    grown.insert(keys[i], slots[i]);
+                }
+            }
+            return grown;
+        }
+
+        private int find(long key) {
+            int i = mix(key) & mask;
+            while (true) {
+                long current = (long) KEYS.getAcquire(keys, i);
+                if (current == key) {
+                    return slots[i];
+                }
+                if (current == EMPTY) {
+                    return -1;
+                }
+                i = (i + 1) & mask;
+            }
+        }
+
+        private void insert(long key, int slot) {
+            int i = mix(key) & mask;
+            while (keys[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            slots[i] = slot;
+            // Readers probe without the lock: the slot must be visible before the key that leads to it.
+            KEYS.setRelease(keys, i, key);
+        }
+    }
+}
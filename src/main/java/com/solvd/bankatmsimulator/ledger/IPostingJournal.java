@@ -0,0 +1,34 @@
+package com.solvd.bankatmsimulator.ledger;
+
+import java.util.function.Consumer;
+
+/**
+ * Write-ahead log for ledger postings. Postings are appended in sequence order before their balance change is
+ * acknowledged, and {@link #sync()} makes everything appended so far durable.
+ */
+public interface IPostingJournal extends AutoCloseable {
+
+    void append(Posting posting);
+
+    void sync();
+
+    /**
+     * Highest sequence present in the journal, or {@code 0} when it is empty.
+     */
+    long lastSequence();
+
+    /**
+     * Replays, in sequence order, every intact posting with a sequence greater than {@code afterSequence}.
+     */
+    void forEachSince(long afterSequence, Consumer<Posting> action);
+
+    /**
+     * Drops postings up to {@code appliedSequence}, which the database already holds. Call only once that
+     * checkpoint is durably committed. Implementations may keep some of them, e.g. when they share a file with
+     * newer ones.
+     */
+    void release(long appliedSequence);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,66 @@
+package com.solvd.bankatmsimulator.ledger;
+
+import com.solvd.bankatmsimulator.domain.Money;
+import com.solvd.bankatmsimulator.domain.Transaction;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * Fixed 64-byte binary layout of one journal record:
+ * <pre>
+ *  0 sequence      8 from account   16 to account   24 amount (minor units)
+ * 32 timestamp    40 type           41 status       42 currency (3 ASCII bytes)
+ * 48 CRC32C of bytes 0..47          52 magic        56 reserved
+ * </pre>
+ * A slot whose magic or checksum does not match is treated as the end of the journal (torn or unwritten).
+ */
+final class JournalRecord {
+
+    static final int SIZE = 64;
+    private static final int CHECKSUMMED = 48;
+    private static final int MAGIC = 0x4C454447;
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+
+    private final byte[] bytes = new byte[SIZE];
+    private final ByteBuffer view = ByteBuffer.wrap(bytes);
+    private final CRC32C crc = new CRC32C();
+
+    byte[] encode(Posting posting, Transaction.TransactionStatus status) {
+        view.putLong(0, posting.getSequence());
+        view.putLong(8, posting.getFromAccountId());
+        view.putLong(16, posting.getToAccountId());
+        view.putLong(24, posting.getAmountMinor());
+        view.putLong(32, posting.getTimestampMillis());
+        view.put(40, (byte) posting.getType().ordinal());
+        view.put(41, (byte) status.ordinal());
+        String currency = posting.getCurrency();
+        for (int i = 0; i < 3; i++) {
+            view.put(42 + i, (byte) currency.charAt(i));
+        }
+        crc.reset();
+        crc.update(bytes, 0, CHECKSUMMED);
+        view.putInt(CHECKSUMMED, (int) crc.getValue());
+        view.putInt(52, MAGIC);
+        return bytes;
+    }
+
+    /**
+     * Decodes the record at {@code offset}, or returns {@code null} if the slot is empty or corrupt.
+     */
+    Posting decode(ByteBuffer source, int offset) {
+        source.get(offset, bytes);
+        if (view.getInt(52) != MAGIC) {
+            return null;
+        }
+        crc.reset();
+        crc.update(bytes, 0, CHECKSUMMED);
+        if (view.getInt(CHECKSUMMED) != (int) crc.getValue()) {
+            return null;
+        }
+        String currency = Money.intern(new String(bytes, 42, 3, StandardCharsets.US_ASCII));
+        return new Posting(view.getLong(0), TYPES[view.get(40)], view.getLong(8), view.getLong(16),
+                view.getLong(24), currency, view.getLong(32));
+    }
+}
@@ -0,0 +1,35 @@
+package com.solvd.bankatmsimulator.ledger;
+
+import com.solvd.bankatmsimulator.persistence.ConnectionPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+
+/**
+ * Crash-recovery entry point: re-inserts journal postings missing from the database and rebuilds balances.
+ * <p>
+ * Usage: {@code JournalReplay <journal-directory>}
+ */
+public final class JournalReplay {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalReplay.class);
+
+    private JournalReplay() {
+        throw new IllegalStateException("Utility class, do not instantiate!");
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            log.error("Usage: JournalReplay <journal-directory>");
+            System.exit(2);
+        }
+        try (LedgerEngine ledger = new LedgerEngine(new MappedPostingJournal(Path.of(args[0])))) {
+            ledger.load();
+            log.info("Recovery complete: {} accounts, journal at sequence {}",
+                    ledger.accountCount(), ledger.lastSequence());
+        } finally {
+            ConnectionPool.close();
+        }
+    }
+}
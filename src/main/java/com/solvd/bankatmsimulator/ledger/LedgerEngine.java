@@ -0,0 +1,351 @@
+package com.solvd.bankatmsimulator.ledger;
+
+import com.solvd.bankatmsimulator.cache.AccountCache;
+import com.solvd.bankatmsimulator.domain.Account;
+import com.solvd.bankatmsimulator.domain.Money;
+import com.solvd.bankatmsimulator.domain.Transaction;
+import com.solvd.bankatmsimulator.exception.LedgerException;
+import com.solvd.bankatmsimulator.metrics.Metrics;
+import com.solvd.bankatmsimulator.persistence.IAccountRepository;
+import com.solvd.bankatmsimulator.persistence.ILedgerCheckpointRepository;
+import com.solvd.bankatmsimulator.persistence.ITransactionRepository;
+import com.solvd.bankatmsimulator.persistence.UnitOfWork;
+import com.solvd.bankatmsimulator.persistence.impl.AccountRepositoryImpl;
+import com.solvd.bankatmsimulator.persistence.impl.LedgerCheckpointRepositoryImpl;
+import com.solvd.bankatmsimulator.persistence.impl.TransactionRepositoryImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-memory ledger for high-volume simulations.
+ * <p>
+ * Balances for every loaded account live in a {@link BalanceTable} as minor-unit longs and are changed with CAS,
+ * so postings on different accounts never contend. Each accepted posting gets the next sequence number and is
+ * appended to the journal and queued in that order; a background flusher syncs the journal and then writes the
+ * queued postings to MySQL in batches (one {@code balance = balance + ?} per touched account, a batched
+ * transactions insert and the new ledger checkpoint, in one commit).
+ * <p>
+ * {@link #load()} first replays journal postings past the stored checkpoint, so restarting after a crash
+ * re-inserts exactly the postings that never reached the database before balances are rebuilt from it.
+ * <p>
+ * Only deposits create or remove money, so for each currency {@link #totalBalance(String)} always equals
+ * the loaded total plus deposits minus withdrawals.
+ */
+public class LedgerEngine implements AutoCloseable {
+
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(200);
+    public static final int DEFAULT_BATCH_SIZE = 5_000;
+    public static final String JOURNAL_NAME = "ledger";
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerEngine.class);
+
+    private final BalanceTable table = new BalanceTable();
+    private final IAccountRepository accountRepository;
+    private final ITransactionRepository transactionRepository;
+    private final ILedgerCheckpointRepository checkpointRepository;
+    private final IPostingJournal journal;
+    private final int batchSize;
+    private final Object sequencer = new Object();
+    private long sequence;
+    private final ConcurrentLinkedQueue<Posting> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final List<Posting> retry = new ArrayList<>();
+    private final ScheduledExecutorService flusher;
+    private volatile boolean closed;
+
+    public LedgerEngine(IPostingJournal journal) {
+        this(Metrics.instrument(IAccountRepository.class, new AccountRepositoryImpl()),
+                Metrics.instrument(ITransactionRepository.class, new TransactionRepositoryImpl()),
+                Metrics.instrument(ILedgerCheckpointRepository.class, new LedgerCheckpointRepositoryImpl()),
+                journal, DEFAULT_FLUSH_INTERVAL, DEFAULT_BATCH_SIZE);
+    }
+
+    public LedgerEngine(IAccountRepository accountRepository, ITransactionRepository transactionRepository,
+                        ILedgerCheckpointRepository checkpointRepository, IPostingJournal journal,
+                        Duration flushInterval, int batchSize) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.journal = journal;
+        this.batchSize = batchSize;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ledger-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Replays unapplied journal postings, then loads every account from the database. Accounts are streamed,
+     * so the table can be far larger than the heap a list of entities would need.
+     */
+    public void load() {
+        long replayed = replay();
+        if (replayed > 0) {
+            log.info("Ledger replayed {} journal postings missing from the database", replayed);
+        }
+        long[] ids = new long[1024];
+        String[] currencies = new String[1024];
+        long[] balances = new long[1024];
+        int count = 0;
+        try (Stream<Account> accounts = accountRepository.streamAll()) {
+            for (Iterator<Account> it = accounts.iterator(); it.hasNext(); ) {
+                Account account = it.next();
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                    currencies = Arrays.copyOf(currencies, count * 2);
+                    balances = Arrays.copyOf(balances, count * 2);
+                }
+                ids[count] = account.getId();
+                currencies[count] = Money.intern(account.getCurrency());
+                balances[count] = account.getBalance().getMinorUnits();
+                count++;
+            }
+        }
+        table.registerAll(ids, currencies, balances, count);
+        log.info("Ledger loaded {} accounts", count);
+    }
+
+    /**
+     * Writes every journal posting newer than the stored checkpoint to the database.
+     *
+     * @throws LedgerException if the journal no longer holds the postings right after the checkpoint
+     * @return number of postings replayed
+     */
+    public synchronized long replay() {
+        long applied = checkpointRepository.findAppliedSequence(JOURNAL_NAME);
+        List<Posting> batch = new ArrayList<>();
+        long[] replayed = {0};
+        long[] expected = {applied + 1};
+        journal.forEachSince(applied, posting -> {
+            // A gap means segments were released for a checkpoint the database then lost; don't paper over it.
+            if (posting.getSequence() != expected[0]) {
+                throw LedgerException.journalGap(expected[0], posting.getSequence());
+            }
+            expected[0]++;
+            batch.add(posting);
+            if (batch.size() == batchSize) {
+                writeBatch(batch);
+                replayed[0] += batch.size();
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+            replayed[0] += batch.size();
+        }
+        synchronized (sequencer) {
+            sequence = Math.max(sequence, Math.max(applied, journal.lastSequence()));
+        }
+        return replayed[0];
+    }
+
+    /**
+     * Adds an account created after {@link #load()}. An account that is already loaded keeps its ledger balance.
+     *
+     * @throws LedgerException if the account is already loaded with another currency
+     */
+    public void register(Account account) {
+        table.register(account.getId(), Money.intern(account.getCurrency()), account.getBalance().getMinorUnits());
+    }
+
+    public Posting deposit(long accountId, long amountMinor, String currency) {
+        int slot = slotFor(accountId, amountMinor, currency);
+        Posting posting = record(Transaction.TransactionType.DEPOSIT, Posting.NO_ACCOUNT, accountId, amountMinor, currency,
+                () -> {
+                });
+        table.credit(slot, amountMinor);
+        return posting;
+    }
+
+    public Posting withdraw(long accountId, long amountMinor, String currency) {
+        int slot = slotFor(accountId, amountMinor, currency);
+        if (!table.tryDebit(slot, amountMinor)) {
+            throw LedgerException.insufficientBalance(accountId);
+        }
+        return record(Transaction.TransactionType.WITHDRAWAL, accountId, Posting.NO_ACCOUNT, amountMinor, currency,
+                () -> table.credit(slot, amountMinor));
+    }
+
+    public Posting transfer(long fromAccountId, long toAccountId, long amountMinor, String currency) {
+        if (fromAccountId == toAccountId) {
+            throw LedgerException.sameAccount();
+        }
+        int from = slotFor(fromAccountId, amountMinor, currency);
+        int to = slotFor(toAccountId, amountMinor, currency);
+        if (!table.tryDebit(from, amountMinor)) {
+            throw LedgerException.insufficientBalance(fromAccountId);
+        }
+        Posting posting = record(Transaction.TransactionType.TRANSFER, fromAccountId, toAccountId, amountMinor, currency,
+                () -> table.credit(from, amountMinor));
+        table.credit(to, amountMinor);
+        return posting;
+    }
+
+    public long balanceOf(long accountId) {
+        int slot = table.slotOf(accountId);
+        if (slot < 0) {
+            throw LedgerException.unknownAccount(accountId);
+        }
+        return table.get(slot);
+    }
+
+    public long totalBalance(String currency) {
+        return table.total(currency);
+    }
+
+    public long lastSequence() {
+        synchronized (sequencer) {
+            return sequence;
+        }
+    }
+
+    public int accountCount() {
+        return table.size();
+    }
+
+    public int pendingPostings() {
+        return queued.get() + retry.size();
+    }
+
+    /**
+     * Syncs the journal and writes everything queued so far to the database.
+     */
+    public synchronized void flush() {
+        journal.sync();
+        while (!retry.isEmpty() || !queue.isEmpty()) {
+            List<Posting> batch = new ArrayList<>(retry);
+            retry.clear();
+            Posting posting;
+            while (batch.size() < batchSize && (posting = queue.poll()) != null) {
+                queued.decrementAndGet();
+                batch.add(posting);
+            }
+            try {
+                writeBatch(batch);
+            } catch (RuntimeException e) {
+                retry.addAll(batch);
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        journal.close();
+    }
+
+    private void writeBatch(List<Posting> batch) {
+        Map<Long, Money> deltas = new HashMap<>();
+        List<Transaction> transactions = new ArrayList<>(batch.size());
+        for (Posting posting : batch) {
+            Money amount = Money.ofMinor(posting.getAmountMinor(), posting.getCurrency());
+            if (posting.getFromAccountId() != Posting.NO_ACCOUNT) {
+                deltas.merge(posting.getFromAccountId(), amount.negate(), Money::plus);
+            }
+            if (posting.getToAccountId() != Posting.NO_ACCOUNT) {
+                deltas.merge(posting.getToAccountId(), amount, Money::plus);
+            }
+            transactions.add(toTransaction(posting));
+        }
+        long checkpoint = batch.get(batch.size() - 1).getSequence();
+        UnitOfWork.run(() -> {
+            if (!accountRepository.adjustBalances(deltas)) {
+                // Postings are checked against each account's currency, so this means the table changed under us.
+                throw new IllegalStateException("Ledger batch touches a missing account or one in another currency");
+            }
+            transactionRepository.createAll(transactions);
+            checkpointRepository.saveAppliedSequence(JOURNAL_NAME, checkpoint);
+        });
+        try {
+            journal.release(checkpoint);
+        } catch (RuntimeException e) {
+            // The batch is committed; failing here would make flush() retry it and apply it twice.
+            log.warn("Failed to release journal up to sequence {}: {}", checkpoint, e.getMessage());
+        }
+        AccountCache cache = AccountCache.getInstance();
+        deltas.keySet().forEach(cache::invalidate);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Ledger flush failed, {} postings will be retried: {}", pendingPostings(), e.getMessage(), e);
+        }
+    }
+
+    private int slotFor(long accountId, long amountMinor, String currency) {
+        if (closed) {
+            throw LedgerException.closed();
+        }
+        if (amountMinor <= 0) {
+            throw LedgerException.invalidAmount();
+        }
+        int slot = table.slotOf(accountId);
+        if (slot < 0) {
+            throw LedgerException.unknownAccount(accountId);
+        }
+        if (!table.currency(slot).equals(currency)) {
+            throw LedgerException.currencyMismatch(accountId, currency);
+        }
+        return slot;
+    }
+
+    /**
+     * Assigns the next sequence, journals the posting and queues it, all under one lock so journal order,
+     * queue order and sequence order agree. That keeps every flushed batch a contiguous sequence range.
+     */
+    private Posting record(Transaction.TransactionType type, long from, long to, long amountMinor, String currency,
+                           Runnable undo) {
+        synchronized (sequencer) {
+            Posting posting = new Posting(sequence + 1, type, from, to, amountMinor, currency, System.currentTimeMillis());
+            try {
+                journal.append(posting);
+            } catch (RuntimeException e) {
+                undo.run();
+                throw e;
+            }
+            sequence++;
+            queue.offer(posting);
+            queued.incrementAndGet();
+            return posting;
+        }
+    }
+
+    private static Transaction toTransaction(Posting posting) {
+        Transaction transaction = new Transaction();
+        if (posting.getFromAccountId() != Posting.NO_ACCOUNT) {
+            transaction.setFromAccountId(posting.getFromAccountId());
+        }
+        if (posting.getToAccountId() != Posting.NO_ACCOUNT) {
+            transaction.setToAccountId(posting.getToAccountId());
+        }
+        transaction.setAmount(Money.ofMinor(posting.getAmountMinor(), posting.getCurrency()));
+        transaction.setCurrency(posting.getCurrency());
+        transaction.setTransactionType(posting.getType());
+        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+        transaction.setProcessedAt(new Timestamp(posting.getTimestampMillis()).toLocalDateTime());
+        return transaction;
+    }
+}
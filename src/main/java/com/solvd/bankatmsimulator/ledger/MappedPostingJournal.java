@@ -0,0 +1,220 @@
+package com.solvd.bankatmsimulator.ledger;
+
+import com.solvd.bankatmsimulator.domain.Transaction;
+import com.solvd.bankatmsimulator.exception.LedgerException;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of {@link JournalRecord}s in memory-mapped segment files ({@code 0000000000000001.journal},
+ * ...). Appends are plain memory writes; {@link #sync()} forces every segment touched since the previous sync,
+ * so callers get group commit by syncing on a timer rather than per posting.
+ * <p>
+ * On open the last segment is scanned to find the first empty or torn slot, which becomes the append position.
+ * The first sequence of every segment is kept in memory, so replay starts at the segment holding the checkpoint
+ * and {@link #release(long)} can delete segments the database already has in full.
+ */
+public class MappedPostingJournal implements IPostingJournal {
+
+    public static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+    private static final String SUFFIX = ".journal";
+
+    private final Path directory;
+    private final long segmentSize;
+    private final int recordsPerSegment;
+    private final JournalRecord writer = new JournalRecord();
+    private final List<MappedByteBuffer> dirty = new ArrayList<>();
+    // Segment index -> sequence of its first record; for an empty segment, the sequence its first record will get.
+    private final TreeMap<Long, Long> firstSequences = new TreeMap<>();
+
+    private MappedByteBuffer current;
+    private long segmentIndex;
+    private int position;
+    private long lastSequence;
+
+    public MappedPostingJournal(Path directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public MappedPostingJournal(Path directory, long segmentSize) {
+        if (segmentSize % JournalRecord.SIZE != 0 || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment size must be a multiple of " + JournalRecord.SIZE + " below 2 GiB");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.recordsPerSegment = (int) (segmentSize / JournalRecord.SIZE);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw LedgerException.journalFailure("Failed to create journal directory " + directory, e);
+        }
+        open();
+    }
+
+    @Override
+    public synchronized void append(Posting posting) {
+        if (position == recordsPerSegment) {
+            roll();
+        }
+        if (position == 0) {
+            firstSequences.put(segmentIndex, posting.getSequence());
+        }
+        current.put(position * JournalRecord.SIZE, writer.encode(posting, Transaction.TransactionStatus.COMPLETED));
+        position++;
+        lastSequence = posting.getSequence();
+    }
+
+    @Override
+    public synchronized void sync() {
+        for (MappedByteBuffer segment : dirty) {
+            segment.force();
+        }
+        dirty.clear();
+        dirty.add(current);
+    }
+
+    @Override
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    @Override
+    public void forEachSince(long afterSequence, Consumer<Posting> action) {
+        JournalRecord reader = new JournalRecord();
+        for (Path segment : segmentsFrom(afterSequence + 1)) {
+            MappedByteBuffer buffer = map(segment, FileChannel.MapMode.READ_ONLY);
+            for (int slot = 0; slot < recordsPerSegment; slot++) {
+                Posting posting = reader.decode(buffer, slot * JournalRecord.SIZE);
+                if (posting == null) {
+                    return;
+                }
+                if (posting.getSequence() > afterSequence) {
+                    action.accept(posting);
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void release(long appliedSequence) {
+        // A segment is fully applied once the segment after it starts at or below appliedSequence + 1.
+        // The segment being written to is never deleted.
+        while (firstSequences.size() > 1) {
+            Map.Entry<Long, Long> oldest = firstSequences.firstEntry();
+            Map.Entry<Long, Long> next = firstSequences.higherEntry(oldest.getKey());
+            if (next.getValue() > appliedSequence + 1) {
+                return;
+            }
+            Path segment = segmentPath(oldest.getKey());
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                throw LedgerException.journalFailure("Failed to delete journal segment " + segment, e);
+            }
+            firstSequences.remove(oldest.getKey());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        sync();
+        dirty.clear();
+        current = null;
+    }
+
+    private void open() {
+        List<Path> existing = segments();
+        if (existing.isEmpty()) {
+            segmentIndex = 1;
+            current = map(segmentPath(segmentIndex), FileChannel.MapMode.READ_WRITE);
+            position = 0;
+            firstSequences.put(segmentIndex, 1L);
+        } else {
+            JournalRecord reader = new JournalRecord();
+            for (Path segment : existing) {
+                Posting first = reader.decode(map(segment, FileChannel.MapMode.READ_ONLY), 0);
+                // Only the last segment can be empty, and only if the process died right after creating it.
+                firstSequences.put(indexOf(segment), first != null ? first.getSequence() : lastSequence + 1);
+                if (first != null) {
+                    lastSequence = first.getSequence() + recordsPerSegment - 1;
+                }
+            }
+            Path last = existing.get(existing.size() - 1);
+            segmentIndex = indexOf(last);
+            current = map(last, FileChannel.MapMode.READ_WRITE);
+            position = 0;
+            Posting posting;
+            while (position < recordsPerSegment && (posting = reader.decode(current, position * JournalRecord.SIZE)) != null) {
+                lastSequence = posting.getSequence();
+                position++;
+            }
+        }
+        dirty.add(current);
+    }
+
+    /**
+     * Segments that can hold {@code sequence} or anything after it, oldest first.
+     */
+    private synchronized List<Path> segmentsFrom(long sequence) {
+        Long start = null;
+        for (Map.Entry<Long, Long> segment : firstSequences.entrySet()) {
+            if (start == null || segment.getValue() <= sequence) {
+                start = segment.getKey();
+            }
+        }
+        List<Path> paths = new ArrayList<>();
+        for (Long index : firstSequences.tailMap(start, true).keySet()) {
+            paths.add(segmentPath(index));
+        }
+        return paths;
+    }
+
+    private void roll() {
+        current.force();
+        dirty.remove(current);
+        segmentIndex++;
+        current = map(segmentPath(segmentIndex), FileChannel.MapMode.READ_WRITE);
+        position = 0;
+        dirty.add(current);
+    }
+
+    private MappedByteBuffer map(Path segment, FileChannel.MapMode mode) {
+        try (FileChannel channel = mode == FileChannel.MapMode.READ_ONLY
+                ? FileChannel.open(segment, StandardOpenOption.READ)
+                : FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(mode, 0, segmentSize);
+        } catch (IOException e) {
+            throw LedgerException.journalFailure("Failed to map journal segment " + segment, e);
+        }
+    }
+
+    private List<Path> segments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw LedgerException.journalFailure("Failed to list journal segments in " + directory, e);
+        }
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%016d%s", index, SUFFIX));
+    }
+
+    private static long indexOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+}
@@ -0,0 +1,72 @@
+package com.solvd.bankatmsimulator.ledger;
+
+import com.solvd.bankatmsimulator.domain.Transaction;
+
+/**
+ * One balance movement accepted by the ledger. Account ids of {@code 0} mean "no account"
+ * (the source of a deposit or the destination of a withdrawal). Amounts are in minor units.
+ */
+public final class Posting {
+
+    public static final long NO_ACCOUNT = 0L;
+
+    private final long sequence;
+    private final Transaction.TransactionType type;
+    private final long fromAccountId;
+    private final long toAccountId;
+    private final long amountMinor;
+    private final String currency;
+    private final long timestampMillis;
+
+    public Posting(long sequence, Transaction.TransactionType type, long fromAccountId, long toAccountId,
+                   long amountMinor, String currency, long timestampMillis) {
+        this.sequence = sequence;
+        this.type = type;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amountMinor = amountMinor;
+        this.currency = currency;
+        this.timestampMillis = timestampMillis;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Transaction.TransactionType getType() {
+        return type;
+    }
+
+    public long getFromAccountId() {
+        return fromAccountId;
+    }
+
+    public long getToAccountId() {
+        return toAccountId;
+    }
+
+    public long getAmountMinor() {
+        return amountMinor;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "Posting{" +
+                "sequence=" + sequence +
+                ", type=" + type +
+                ", fromAccountId=" + fromAccountId +
+                ", toAccountId=" + toAccountId +
+                ", amountMinor=" + amountMinor +
+                ", currency='" + currency + '\'' +
+                ", timestamp=" + timestampMillis +
+                '}';
+    }
+}
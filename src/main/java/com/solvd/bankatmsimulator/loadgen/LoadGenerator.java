@@ -0,0 +1,313 @@
+package com.solvd.bankatmsimulator.loadgen;
+
+import com.solvd.bankatmsimulator.dispense.ATMInventoryManager;
+import com.solvd.bankatmsimulator.domain.ATM;
+import com.solvd.bankatmsimulator.domain.ATMBanknote;
+import com.solvd.bankatmsimulator.domain.Account;
+import com.solvd.bankatmsimulator.domain.Money;
+import com.solvd.bankatmsimulator.exception.ATMBanknoteException;
+import com.solvd.bankatmsimulator.exception.DepositException;
+import com.solvd.bankatmsimulator.exception.TransactionException;
+import com.solvd.bankatmsimulator.exception.WithdrawalException;
+import com.solvd.bankatmsimulator.metrics.Metrics;
+import com.solvd.bankatmsimulator.metrics.MetricsExporter;
+import com.solvd.bankatmsimulator.persistence.ConnectionPool;
+import com.solvd.bankatmsimulator.persistence.IATMBanknoteRepository;
+import com.solvd.bankatmsimulator.persistence.IATMRepository;
+import com.solvd.bankatmsimulator.persistence.IAccountRepository;
+import com.solvd.bankatmsimulator.persistence.impl.ATMBanknoteRepositoryImpl;
+import com.solvd.bankatmsimulator.persistence.impl.ATMRepositoryImpl;
+import com.solvd.bankatmsimulator.persistence.impl.AccountRepositoryImpl;
+import com.solvd.bankatmsimulator.service.IDepositProcessor;
+import com.solvd.bankatmsimulator.service.ITransferProcessor;
+import com.solvd.bankatmsimulator.service.IWithdrawalProcessor;
+import com.solvd.bankatmsimulator.service.async.ServiceExecutor;
+import com.solvd.bankatmsimulator.service.impl.DepositProcessorImpl;
+import com.solvd.bankatmsimulator.service.impl.TransferProcessorImpl;
+import com.solvd.bankatmsimulator.service.impl.WithdrawalProcessorImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Drives concurrent deposits, withdrawals and transfers against freshly seeded ATMs and accounts,
+ * then reports throughput and latency percentiles per operation type and checks that no money was
+ * created or lost: account balances must equal opening balances plus deposits minus withdrawals,
+ * and each ATM must hold its opening cash minus what it paid out.
+ * <p>
+ * Usage: {@code LoadGenerator [key=value ...]}, see {@link LoadProfile} for the keys. Combine with
+ * {@code -Dbank.profile=embedded} to run without a MySQL server. Exits with status 1 if the
+ * conservation check fails or any operation errored.
+ * <p>
+ * Workers come from {@link ServiceExecutor#threadFactory}: virtual threads on a Java 21+ runtime,
+ * platform threads on 17.
+ */
+public class LoadGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadGenerator.class);
+    private static final String CURRENCY = "USD";
+    private static final String[] DENOMINATIONS = {"100.00", "50.00", "20.00", "10.00"};
+
+    private final LoadProfile profile;
+    private final IAccountRepository accountRepository;
+    private final IATMRepository atmRepository;
+    private final IATMBanknoteRepository banknoteRepository;
+    private final IDepositProcessor depositProcessor;
+    private final IWithdrawalProcessor withdrawalProcessor;
+    private final ITransferProcessor transferProcessor;
+    private final Map<OperationType, OperationStats> stats = new EnumMap<>(OperationType.class);
+    private final LongAdder depositedMinor = new LongAdder();
+    private final LongAdder withdrawnMinor = new LongAdder();
+    private final AtomicBoolean failureLogged = new AtomicBoolean();
+
+    private long[] accountIds;
+    private long[] atmIds;
+    private long openingBalancesMinor;
+    private long openingCashMinor;
+
+    public LoadGenerator(LoadProfile profile) {
+        this.profile = profile;
+        this.accountRepository = Metrics.instrument(IAccountRepository.class, new AccountRepositoryImpl());
+        this.atmRepository = Metrics.instrument(IATMRepository.class, new ATMRepositoryImpl());
+        this.banknoteRepository = Metrics.instrument(IATMBanknoteRepository.class, new ATMBanknoteRepositoryImpl());
+        this.depositProcessor = new DepositProcessorImpl();
+        this.withdrawalProcessor = new WithdrawalProcessorImpl();
+        this.transferProcessor = new TransferProcessorImpl();
+        for (OperationType type : OperationType.values()) {
+            stats.put(type, new OperationStats(type));
+        }
+    }
+
+    public static void main(String[] args) {
+        boolean passed = false;
+        MetricsExporter metrics = MetricsExporter.start();
+        try {
+            LoadProfile profile = LoadProfile.fromArgs(args);
+            passed = new LoadGenerator(profile).run();
+        } catch (Exception e) {
+            log.error("Load generator error: {}", e.getMessage(), e);
+        } finally {
+            ATMInventoryManager.getInstance().close();
+            metrics.close();
+            ConnectionPool.close();
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    /**
+     * Seeds, drives the load and verifies; returns {@code true} when money was conserved and nothing errored.
+     */
+    public boolean run() throws InterruptedException {
+        log.info("Starting {}", profile);
+        seed();
+        long started = System.nanoTime();
+        if (profile.getModel() == LoadProfile.Model.OPEN) {
+            runOpen();
+        } else {
+            runClosed();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        report(seconds);
+        return verify() && stats.values().stream().allMatch(s -> s.getFailed() == 0);
+    }
+
+    private void seed() {
+        String prefix = "LOAD-" + Long.toString(System.currentTimeMillis(), 36).toUpperCase() + "-";
+        Money opening = Money.of(profile.getOpeningBalance(), CURRENCY);
+        List<Account> accounts = new ArrayList<>(profile.getAccounts());
+        for (int i = 0; i < profile.getAccounts(); i++) {
+            Account account = new Account(null, prefix + i);
+            account.setCurrency(CURRENCY);
+            account.setBalance(opening);
+            accounts.add(account);
+        }
+        accountIds = accountRepository.createAll(accounts).stream().mapToLong(Account::getId).toArray();
+        openingBalancesMinor = opening.getMinorUnits() * accountIds.length;
+
+        atmIds = new long[profile.getAtms()];
+        List<ATMBanknote> cassettes = new ArrayList<>();
+        for (int i = 0; i < atmIds.length; i++) {
+            ATM atm = new ATM();
+            atm.setLocation("Load test");
+            atm.setName(prefix + "ATM-" + i);
+            atm.setActive(true);
+            atmIds[i] = atmRepository.create(atm).getId();
+            for (String denomination : DENOMINATIONS) {
+                ATMBanknote cassette = new ATMBanknote();
+                cassette.setAtmId(atmIds[i]);
+                cassette.setCurrency(CURRENCY);
+                cassette.setDenomination(Money.of(denomination, CURRENCY));
+                cassette.setQuantity(profile.getNotesPerCassette());
+                cassettes.add(cassette);
+                openingCashMinor += cassette.getDenomination().getMinorUnits() * profile.getNotesPerCassette();
+            }
+        }
+        banknoteRepository.createAll(cassettes);
+        log.info("Seeded {} accounts and {} ATMs ({} notes per cassette)",
+                accountIds.length, atmIds.length, profile.getNotesPerCassette());
+    }
+
+    private void runClosed() throws InterruptedException {
+        long deadline = System.nanoTime() + profile.getDuration().toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(profile.getWorkers(), workerThreads());
+        for (int i = 0; i < profile.getWorkers(); i++) {
+            SplittableRandom random = new SplittableRandom(profile.getSeed() + i);
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    Request request = nextRequest(random);
+                    execute(request, System.nanoTime());
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(profile.getDuration().toSeconds() + 60, TimeUnit.SECONDS);
+    }
+
+    private void runOpen() throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(profile.getWorkers(), workerThreads());
+        SplittableRandom random = new SplittableRandom(profile.getSeed());
+        long interval = TimeUnit.SECONDS.toNanos(1) / profile.getRate();
+        long start = System.nanoTime();
+        long deadline = start + profile.getDuration().toNanos();
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= deadline) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Request request = nextRequest(random);
+            workers.execute(() -> execute(request, intended));
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(1, TimeUnit.HOURS)) {
+            log.warn("Backlog did not drain within an hour; results are incomplete");
+        }
+    }
+
+    private Request nextRequest(SplittableRandom random) {
+        OperationType type = profile.pick(random.nextInt(profile.totalWeight()));
+        long account = accountIds[random.nextInt(accountIds.length)];
+        long atm = atmIds[random.nextInt(atmIds.length)];
+        return switch (type) {
+            case DEPOSIT -> new Request(type, account, 0, atm, (1 + random.nextInt(50)) * 1_000L);
+            case WITHDRAWAL -> new Request(type, account, 0, atm, (2 + random.nextInt(29)) * 1_000L);
+            case TRANSFER -> {
+                long other = accountIds[random.nextInt(accountIds.length - 1)];
+                yield new Request(type, account, other == account ? accountIds[accountIds.length - 1] : other,
+                        0, 100 + random.nextInt(20_000));
+            }
+        };
+    }
+
+    /**
+     * @param startedAt when the operation was due to start; latency is measured from here
+     */
+    private void execute(Request request, long startedAt) {
+        OperationStats operation = stats.get(request.type);
+        Money amount = Money.ofMinor(request.amountMinor, CURRENCY);
+        try {
+            switch (request.type) {
+                case DEPOSIT -> {
+                    depositProcessor.process(request.accountId, request.atmId, amount, null);
+                    depositedMinor.add(request.amountMinor);
+                }
+                case WITHDRAWAL -> {
+                    withdrawalProcessor.process(request.accountId, request.atmId, amount, null);
+                    withdrawnMinor.add(request.amountMinor);
+                }
+                case TRANSFER -> transferProcessor.process(request.accountId, request.otherAccountId, amount);
+            }
+            operation.completed(System.nanoTime() - startedAt);
+        } catch (WithdrawalException | TransactionException | DepositException | ATMBanknoteException e) {
+            operation.rejected(System.nanoTime() - startedAt);
+        } catch (RuntimeException e) {
+            operation.failed(System.nanoTime() - startedAt);
+            if (failureLogged.compareAndSet(false, true)) {
+                log.warn("{} failed (further failures are only counted): {}", request.type, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void report(double seconds) {
+        long total = 0;
+        for (OperationStats operation : stats.values()) {
+            log.info(operation.summary(seconds));
+            total += operation.getCompleted();
+        }
+        log.info("{} operations completed in {} s ({} ops/s)", total, String.format("%.1f", seconds),
+                String.format("%.1f", total / seconds));
+    }
+
+    private boolean verify() {
+        Set<Long> seeded = new HashSet<>(accountIds.length * 2);
+        for (long id : accountIds) {
+            seeded.add(id);
+        }
+        long balances;
+        try (Stream<Account> accounts = accountRepository.streamAll()) {
+            balances = accounts.filter(account -> seeded.contains(account.getId()))
+                    .mapToLong(account -> account.getBalance().getMinorUnits())
+                    .sum();
+        }
+        long expectedBalances = openingBalancesMinor + depositedMinor.sum() - withdrawnMinor.sum();
+
+        ATMInventoryManager.getInstance().flush();
+        long cash = 0;
+        for (long atmId : atmIds) {
+            for (ATMBanknote cassette : banknoteRepository.findByAtmId(atmId)) {
+                cash += cassette.getDenomination().getMinorUnits() * cassette.getQuantity();
+            }
+        }
+        long expectedCash = openingCashMinor - withdrawnMinor.sum();
+
+        boolean conserved = balances == expectedBalances && cash == expectedCash;
+        if (conserved) {
+            log.info("Money conserved: balances {} and ATM cash {} match the completed operations",
+                    Money.ofMinor(balances, CURRENCY), Money.ofMinor(cash, CURRENCY));
+        } else {
+            log.error("Money NOT conserved: balances {} (expected {}), ATM cash {} (expected {})",
+                    Money.ofMinor(balances, CURRENCY), Money.ofMinor(expectedBalances, CURRENCY),
+                    Money.ofMinor(cash, CURRENCY), Money.ofMinor(expectedCash, CURRENCY));
+        }
+        return conserved;
+    }
+
+    private static ThreadFactory workerThreads() {
+        return ServiceExecutor.threadFactory("load-worker-");
+    }
+
+    private static final class Request {
+
+        private final OperationType type;
+        private final long accountId;
+        private final long otherAccountId;
+        private final long atmId;
+        private final long amountMinor;
+
+        private Request(OperationType type, long accountId, long otherAccountId, long atmId, long amountMinor) {
+            this.type = type;
+            this.accountId = accountId;
+            this.otherAccountId = otherAccountId;
+            this.atmId = atmId;
+            this.amountMinor = amountMinor;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.solvd.bankatmsimulator.loadgen;
+
+import java.time.Duration;
+
+/**
+ * Shape of a {@link LoadGenerator} run, parsed from {@code key=value} arguments.
+ * <p>
+ * Keys: {@code atms}, {@code accounts}, {@code workers}, {@code duration} (seconds), {@code mix}
+ * (deposit:withdrawal:transfer weights), {@code model} ({@code closed} or {@code open}), {@code rate}
+ * (arrivals per second, open model only), {@code balance} (opening balance per account), {@code notes}
+ * (notes per cassette), {@code seed}.
+ */
+public final class LoadProfile {
+
+    public enum Model {
+        /**
+         * Each worker starts its next operation as soon as the previous one finishes.
+         */
+        CLOSED,
+        /**
+         * Operations arrive at a fixed rate whether or not earlier ones have finished; latency is
+         * measured from the scheduled arrival, so queueing delay is not hidden (no coordinated omission).
+         */
+        OPEN
+    }
+
+    private int atms = 4;
+    private int accounts = 1_000;
+    private int workers = 16;
+    private Duration duration = Duration.ofSeconds(30);
+    private int[] mix = {40, 40, 20};
+    private Model model = Model.CLOSED;
+    private int rate = 500;
+    private String openingBalance = "1000.00";
+    private int notesPerCassette = 2_000;
+    private long seed = System.nanoTime();
+
+    public static LoadProfile fromArgs(String[] args) {
+        LoadProfile profile = new LoadProfile();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            profile.set(arg.substring(0, eq).trim(), arg.substring(eq + 1).trim());
+        }
+        profile.validate();
+        return profile;
+    }
+
+    private void set(String key, String value) {
+        switch (key) {
+            case "atms" -> atms = Integer.parseInt(value);
+            case "accounts" -> accounts = Integer.parseInt(value);
+            case "workers" -> workers = Integer.parseInt(value);
+            case "duration" -> duration = Duration.ofSeconds(Long.parseLong(value));
+            case "mix" -> mix = parseMix(value);
+            case "model" -> model = Model.valueOf(value.toUpperCase());
+            case "rate" -> rate = Integer.parseInt(value);
+            case "balance" -> openingBalance = value;
+            case "notes" -> notesPerCassette = Integer.parseInt(value);
+            case "seed" -> seed = Long.parseLong(value);
+            default -> throw new IllegalArgumentException("Unknown load profile key: " + key);
+        }
+    }
+
+    private static int[] parseMix(String value) {
+        String[] parts = value.split(":");
+        if (parts.length != OperationType.values().length) {
+            throw new IllegalArgumentException("mix must be deposit:withdrawal:transfer, got: " + value);
+        }
+        int[] weights = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            weights[i] = Integer.parseInt(parts[i]);
+        }
+        return weights;
+    }
+
+    private void validate() {
+        if (atms <= 0 || accounts < 2 || workers <= 0 || rate <= 0 || notesPerCassette < 0) {
+            throw new IllegalArgumentException("atms, workers and rate must be positive and accounts at least 2");
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("duration must be positive");
+        }
+        int total = 0;
+        for (int weight : mix) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("mix weights cannot be negative");
+            }
+            total += weight;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("mix needs at least one non-zero weight");
+        }
+    }
+
+    /**
+     * Maps a uniform draw in {@code [0, totalWeight())} to an operation according to the mix.
+     */
+    OperationType pick(int draw) {
+        OperationType[] types = OperationType.values();
+        for (int i = 0; i < types.length; i++) {
+            draw -= mix[i];
+            if (draw < 0) {
+                return types[i];
+            }
+        }
+        return types[types.length - 1];
+    }
+
+    int totalWeight() {
+        int total = 0;
+        for (int weight : mix) {
+            total += weight;
+        }
+        return total;
+    }
+
+    public int getAtms() {
+        return atms;
+    }
+
+    public int getAccounts() {
+        return accounts;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Model getModel() {
+        return model;
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    public String getOpeningBalance() {
+        return openingBalance;
+    }
+
+    public int getNotesPerCassette() {
+        return notesPerCassette;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadProfile{" +
+                "atms=" + atms +
+                ", accounts=" + accounts +
+                ", workers=" + workers +
+                ", duration=" + duration.getSeconds() + "s" +
+                ", mix=" + mix[0] + ":" + mix[1] + ":" + mix[2] +
+                ", model=" + model +
+                (model == Model.OPEN ? ", rate=" + rate + "/s" : "") +
+                ", seed=" + seed +
+                '}';
+    }
+}
@@ -0,0 +1,66 @@
+package com.solvd.bankatmsimulator.loadgen;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcome counts and a latency histogram (nanoseconds, 3 significant digits) for one operation type.
+ * Safe to record into from any number of worker threads.
+ */
+final class OperationStats {
+
+    private final OperationType type;
+    private final Histogram latency = new ConcurrentHistogram(3);
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    OperationStats(OperationType type) {
+        this.type = type;
+    }
+
+    void completed(long nanos) {
+        latency.recordValue(nanos);
+        completed.increment();
+    }
+
+    /**
+     * A business refusal (insufficient balance, no notes to pay out): the system behaved correctly.
+     */
+    void rejected(long nanos) {
+        latency.recordValue(nanos);
+        rejected.increment();
+    }
+
+    /**
+     * An unexpected error, such as a database failure.
+     */
+    void failed(long nanos) {
+        latency.recordValue(nanos);
+        failed.increment();
+    }
+
+    long getCompleted() {
+        return completed.sum();
+    }
+
+    long getFailed() {
+        return failed.sum();
+    }
+
+    String summary(double seconds) {
+        long total = latency.getTotalCount();
+        return String.format("%-10s ok=%-8d rejected=%-6d failed=%-4d %9.1f ops/s | p50=%.2fms p90=%.2fms "
+                        + "p99=%.2fms p99.9=%.2fms max=%.2fms",
+                type, completed.sum(), rejected.sum(), failed.sum(), total / seconds,
+                millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+                millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+                millis(latency.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
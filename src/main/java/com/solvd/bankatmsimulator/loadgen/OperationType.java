@@ -0,0 +1,5 @@
+package com.solvd.bankatmsimulator.loadgen;
+
+public enum OperationType {
+    DEPOSIT, WITHDRAWAL, TRANSFER
+}
@@ -0,0 +1,137 @@
+package com.solvd.bankatmsimulator.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmThreadMetrics;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process-wide meter registry plus the two hooks the rest of the code uses: {@link #instrument} to time
+ * every call on a repository, and {@link #exceptionRaised} to count domain exceptions by type.
+ * The connection pool registers its own gauges and timers here, and {@link MetricsExporter} publishes
+ * the lot in Prometheus text format.
+ */
+public final class Metrics {
+
+    private static final PrometheusMeterRegistry REGISTRY = createRegistry();
+    private static final ClassValue<Counter> EXCEPTIONS = new ClassValue<>() {
+        @Override
+        protected Counter computeValue(Class<?> type) {
+            return Counter.builder("bank.exceptions")
+                    .description("Domain exceptions raised")
+                    .tag("type", type.getSimpleName())
+                    .register(REGISTRY);
+        }
+    };
+
+    private Metrics() {
+        throw new IllegalStateException("Utility class, do not instantiate!");
+    }
+
+    public static MeterRegistry registry() {
+        return REGISTRY;
+    }
+
+    /**
+     * Current values of every meter in Prometheus text exposition format.
+     */
+    public static String scrape() {
+        return REGISTRY.scrape();
+    }
+
+    /**
+     * Wraps a repository so every call is recorded in {@code bank.repository} tagged with the entity
+     * (from the interface name, {@code IAccountRepository} becomes {@code Account}), the method and
+     * whether it threw. For methods returning a stream only opening the stream is timed.
+     */
+    @SuppressWarnings("unchecked")
+    public static <R> R instrument(Class<R> repositoryType, R repository) {
+        return (R) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                new TimedRepositoryHandler(entityOf(repositoryType), repository));
+    }
+
+    /**
+     * Counts the exception and hands it back, so factories returning a preallocated instance can still be
+     * counted on every raise: {@code return Metrics.exceptionRaised(EMPTY_LIST);}.
+     */
+    public static <E extends RuntimeException> E exceptionRaised(E exception) {
+        EXCEPTIONS.get(exception.getClass()).increment();
+        return exception;
+    }
+
+    private static String entityOf(Class<?> repositoryType) {
+        String name = repositoryType.getSimpleName();
+        if (name.startsWith("I")) {
+            name = name.substring(1);
+        }
+        if (name.endsWith("Repository")) {
+            name = name.substring(0, name.length() - "Repository".length());
+        }
+        return name;
+    }
+
+    private static PrometheusMeterRegistry createRegistry() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        new JvmMemoryMetrics().bindTo(registry);
+        new JvmGcMetrics().bindTo(registry);
+        new JvmThreadMetrics().bindTo(registry);
+        return registry;
+    }
+
+    private static final class TimedRepositoryHandler implements InvocationHandler {
+
+        private final String entity;
+        private final Object target;
+        private final ConcurrentHashMap<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+        private TimedRepositoryHandler(String entity, Object target) {
+            this.entity = entity;
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(target, args);
+            }
+            Timer[] pair = timers.computeIfAbsent(method, this::timersFor);
+            long start = System.nanoTime();
+            try {
+                Object result = method.invoke(target, args);
+                pair[0].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (InvocationTargetException e) {
+                pair[1].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e.getTargetException();
+            }
+        }
+
+        private Timer[] timersFor(Method method) {
+            return new Timer[]{timer(method, "success"), timer(method, "error")};
+        }
+
+        private Timer timer(Method method, String outcome) {
+            return Timer.builder("bank.repository")
+                    .description("Repository call latency")
+                    .tag("entity", entity)
+                    .tag("operation", method.getName())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(100_000))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(REGISTRY);
+        }
+    }
+}
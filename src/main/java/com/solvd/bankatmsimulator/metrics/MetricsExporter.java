@@ -0,0 +1,99 @@
+package com.solvd.bankatmsimulator.metrics;
+
+import com.solvd.bankatmsimulator.persistence.Config;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes {@link Metrics#scrape()} as a file rewritten every {@code metricsIntervalSeconds}
+ * ({@code metricsFile}) and/or as an HTTP endpoint at {@code http://host:<metricsPort>/metrics}.
+ * With neither setting configured it does nothing.
+ */
+public final class MetricsExporter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricsExporter.class);
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final Path file;
+    private final ScheduledExecutorService scheduler;
+    private final HttpServer server;
+
+    private MetricsExporter(Path file, long intervalSeconds, int port) throws IOException {
+        this.file = file;
+        if (file != null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "metrics-exporter");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::writeQuietly, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+            log.info("Writing metrics to {} every {} s", file, intervalSeconds);
+        } else {
+            scheduler = null;
+        }
+        if (port > 0) {
+            server = HttpServer.create(new InetSocketAddress(port), 0);
+            server.createContext("/metrics", exchange -> {
+                byte[] body = Metrics.scrape().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            log.info("Serving metrics on http://localhost:{}/metrics", port);
+        } else {
+            server = null;
+        }
+    }
+
+    /**
+     * Starts whatever {@code config.properties} asks for.
+     */
+    public static MetricsExporter start() {
+        try {
+            return new MetricsExporter(Config.METRICS_FILE != null ? Paths.get(Config.METRICS_FILE) : null,
+                    Config.METRICS_INTERVAL_SECONDS, Config.METRICS_PORT);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start metrics exporter", e);
+        }
+    }
+
+    /**
+     * Writes the file once more, so it reflects the whole run, and stops the endpoint.
+     */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            writeQuietly();
+        }
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    private void writeQuietly() {
+        try {
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(tmp, Metrics.scrape(), StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write metrics to {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -8,6 +8,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
 
+/**
+ * Settings from {@code config.properties}. Any key can be overridden with a {@code -Dbank.<key>=...}
+ * system property. Selecting a profile ({@code -Dbank.profile=embedded}) layers
+ * {@code config-<profile>.properties} on top of the defaults.
+ */
 public final class Config {
 
     private static final Logger log = LoggerFactory.getLogger(Config.class);
@@ -17,6 +22,22 @@ public final class Config {
     public static String USERNAME;
     public static String PASSWORD;
     public static Integer POOL_SIZE;
+    public static Boolean REWRITE_BATCHED_STATEMENTS;
+    public static Long CONNECTION_TIMEOUT_MS;
+    public static Integer ASYNC_MAX_IN_FLIGHT;
+    public static String METRICS_FILE;
+    public static Integer METRICS_PORT;
+    public static Long METRICS_INTERVAL_SECONDS;
+    public static Boolean SQL_PROFILING;
+    public static Long SLOW_QUERY_MS;
+    public static String BIN_TABLE;
+    public static Integer PIN_HASH_ITERATIONS;
+    public static Integer PIN_MAX_ATTEMPTS;
+    public static Integer PIN_THREADS;
+    public static Integer PIN_QUEUE_CAPACITY;
+    public static Integer EXPIRY_SWEEP_CHUNK;
+    public static String PROFILE;
+    public static String SCHEMA;
 
     static {
         try {
@@ -35,10 +56,29 @@ public final class Config {
             if (input == null)
                 throw new ConfigurationException("global.properties file not found in resources");
             PROPS.load(input);
+            PROFILE = optional("profile", null);
+            if (PROFILE != null) {
+                loadProfile(PROFILE);
+            }
             URL = require("url");
             USERNAME = require("username");
             PASSWORD = require("password");
             POOL_SIZE = Integer.parseInt(require("poolSize"));
+            REWRITE_BATCHED_STATEMENTS = Boolean.parseBoolean(optional("rewriteBatchedStatements", "true"));
+            SCHEMA = optional("schema", null);
+            CONNECTION_TIMEOUT_MS = Long.parseLong(optional("connectionTimeoutMs", "30000"));
+            ASYNC_MAX_IN_FLIGHT = Integer.parseInt(optional("asyncMaxInFlight", "10000"));
+            METRICS_FILE = optional("metricsFile", null);
+            METRICS_PORT = Integer.parseInt(optional("metricsPort", "0"));
+            METRICS_INTERVAL_SECONDS = Long.parseLong(optional("metricsIntervalSeconds", "10"));
+            SQL_PROFILING = Boolean.parseBoolean(optional("sqlProfiling", "true"));
+            SLOW_QUERY_MS = Long.parseLong(optional("slowQueryMs", "200"));
+            BIN_TABLE = optional("binTable", null);
+            PIN_HASH_ITERATIONS = Integer.parseInt(optional("pinHashIterations", "210000"));
+            PIN_MAX_ATTEMPTS = Integer.parseInt(optional("pinMaxAttempts", "3"));
+            PIN_THREADS = Integer.parseInt(optional("pinThreads", "0"));
+            PIN_QUEUE_CAPACITY = Integer.parseInt(optional("pinQueueCapacity", "256"));
+            EXPIRY_SWEEP_CHUNK = Integer.parseInt(optional("expirySweepChunk", "1000"));
         } catch (IOException e) {
             throw new ConfigurationException("Failed to read global.properties");
         } catch (IllegalArgumentException e) {
@@ -46,10 +86,24 @@ public final class Config {
         }
     }
 
+    private static void loadProfile(String profile) throws IOException, ConfigurationException {
+        String file = "config-" + profile + ".properties";
+        try (InputStream input = Config.class.getClassLoader().getResourceAsStream(file)) {
+            if (input == null)
+                throw new ConfigurationException(file + " file not found in resources");
+            PROPS.load(input);
+        }
+        log.info("Using configuration profile '{}'", profile);
+    }
+
     private static String require(String key) throws ConfigurationException {
-        String value = PROPS.getProperty(key);
+        String value = optional(key, null);
         if (value == null)
             throw new ConfigurationException("Missing required property: " + key);
         return value;
     }
+
+    private static String optional(String key, String defaultValue) {
+        return System.getProperty("bank." + key, PROPS.getProperty(key, defaultValue));
+    }
 }
@@ -1,40 +1,56 @@
 package com.solvd.bankatmsimulator.persistence;
 
+import com.solvd.bankatmsimulator.metrics.Metrics;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 
 import javax.sql.DataSource;
+import java.time.Duration;
 
 import static com.solvd.bankatmsimulator.persistence.Config.*;
 
 public final class ConnectionPool {
 
     private static volatile HikariDataSource ds;
+    private static volatile DataSource transactionAware;
 
     private ConnectionPool() {
         throw new IllegalStateException("Utility class, do not instantiate!");
     }
 
     public static DataSource getDataSource() {
-        if (ds == null) {
+        if (transactionAware == null) {
             synchronized (ConnectionPool.class) {
-                if (ds == null) {
+                if (transactionAware == null) {
                     HikariConfig cfg = new HikariConfig();
                     cfg.setJdbcUrl(URL);
                     cfg.setUsername(USERNAME);
                     cfg.setPassword(PASSWORD);
                     cfg.setMaximumPoolSize(POOL_SIZE);
                     cfg.setMinimumIdle(2);
+                    cfg.setConnectionTimeout(CONNECTION_TIMEOUT_MS);
                     cfg.setPoolName("bank-atm-simulator-hikari-pool");
-                    cfg.addDataSourceProperty("cachePrepStmts", "true");
-                    cfg.addDataSourceProperty("prepStmtCacheSize", "250");
-                    cfg.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+                    if (URL.startsWith("jdbc:mysql:")) {
+                        // Connector/J settings; other drivers (e.g. H2) reject unknown connection properties.
+                        cfg.addDataSourceProperty("cachePrepStmts", "true");
+                        cfg.addDataSourceProperty("prepStmtCacheSize", "250");
+                        cfg.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+                        cfg.addDataSourceProperty("rewriteBatchedStatements", REWRITE_BATCHED_STATEMENTS.toString());
+                    }
                     cfg.setAutoCommit(false);
+                    cfg.setMetricRegistry(Metrics.registry());
                     ds = new HikariDataSource(cfg);
+                    if (SCHEMA != null) {
+                        SchemaInitializer.apply(ds, SCHEMA);
+                    }
+                    DataSource pooled = SQL_PROFILING
+                            ? new ProfilingDataSource(ds, Duration.ofMillis(SLOW_QUERY_MS))
+                            : ds;
+                    transactionAware = new TransactionAwareDataSource(pooled);
                 }
             }
         }
-        return ds;
+        return transactionAware;
     }
 
     public static void close() {
@@ -3,11 +3,24 @@ package com.solvd.bankatmsimulator.persistence;
 import com.solvd.bankatmsimulator.domain.ATMBanknote;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public interface IATMBanknoteRepository extends IRepository<ATMBanknote> {
 
     List<ATMBanknote> findByAtmId(Long atmId);
 
     List<ATMBanknote> findByAtmIdAndCurrency(Long atmId, String currency);
+
+    /**
+     * Streams every cassette row ordered by ATM id.
+     */
+    Stream<ATMBanknote> streamOrderedByAtmId();
+
+    /**
+     * Subtracts each value from its row ({@code quantity = quantity - ?}) in a single batch and commit;
+     * negative values add notes back.
+     */
+    void applyQuantityDeltas(Map<Long, Integer> takenById);
 }
 
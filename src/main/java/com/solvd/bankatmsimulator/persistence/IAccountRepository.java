@@ -1,8 +1,10 @@
 package com.solvd.bankatmsimulator.persistence;
 
 import com.solvd.bankatmsimulator.domain.Account;
+import com.solvd.bankatmsimulator.domain.Money;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface IAccountRepository extends IRepository<Account> {
@@ -12,5 +14,18 @@ public interface IAccountRepository extends IRepository<Account> {
     List<Account> findByCurrency(String currency);
 
     List<Account> findByPersonId(Long personId);
+
+    /**
+     * Adds each delta to the stored balance ({@code balance = balance + ?}) in a single batch and commit.
+     * Returns {@code false} (and changes nothing) when any account is missing or held in a currency other
+     * than its delta's.
+     */
+    boolean adjustBalances(Map<Long, Money> deltas);
+
+    /**
+     * Subtracts {@code amount} only if the account is held in its currency and the balance covers it; returns
+     * {@code false} (and changes nothing) otherwise.
+     */
+    boolean debit(long accountId, Money amount);
 }
 
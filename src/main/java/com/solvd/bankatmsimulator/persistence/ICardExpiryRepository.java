@@ -0,0 +1,31 @@
+package com.solvd.bankatmsimulator.persistence;
+
+import com.solvd.bankatmsimulator.expiry.ExpiryCursor;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Chunked expiry of payment cards in {@code (expiry_date, id)} order, plus the sweeper's high-water mark.
+ */
+public interface ICardExpiryRepository {
+
+    /**
+     * Where the sweeper stopped last time, or {@link ExpiryCursor#START} if it never ran.
+     */
+    ExpiryCursor findHighWaterMark(String sweeper);
+
+    /**
+     * Last key of the next chunk: the {@code limit}-th card after {@code after} that expires before
+     * {@code before}, or the last such card if there are fewer. Empty when there are none.
+     */
+    Optional<ExpiryCursor> findChunkEnd(ExpiryCursor after, LocalDate before, int limit);
+
+    /**
+     * Marks active and blocked cards in {@code (after, upTo]} as {@code EXPIRED} with one statement and saves
+     * {@code upTo} as the high-water mark, in the same transaction.
+     *
+     * @return how many cards changed status
+     */
+    int expireRange(String sweeper, ExpiryCursor after, ExpiryCursor upTo);
+}
@@ -0,0 +1,12 @@
+package com.solvd.bankatmsimulator.persistence;
+
+/**
+ * Highest journal sequence whose postings are already applied to the accounts and transactions tables.
+ * Saved in the same unit of work as the postings it covers, so replay after a crash applies each posting once.
+ */
+public interface ILedgerCheckpointRepository {
+
+    long findAppliedSequence(String journal);
+
+    void saveAppliedSequence(String journal, long sequence);
+}
@@ -2,6 +2,7 @@ package com.solvd.bankatmsimulator.persistence;
 
 import com.solvd.bankatmsimulator.domain.PaymentCard;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,10 +10,20 @@ public interface IPaymentCardRepository extends IRepository<PaymentCard> {
 
     Optional<PaymentCard> findByCardNumber(String cardNumber);
 
+    /**
+     * Ids of the accounts the card is linked to; empty for an unknown card.
+     */
+    List<Long> findAccountIdsByCardNumber(String cardNumber);
+
     List<PaymentCard> findByAccountId(Long accountId);
 
     List<PaymentCard> findByStatus(PaymentCard.CardStatus status);
 
     List<PaymentCard> findExpiredCards();
+
+    /**
+     * Sets the status of every listed card in one batch.
+     */
+    void updateStatus(Collection<Long> ids, PaymentCard.CardStatus status);
 }
 
@@ -1,16 +1,36 @@
 package com.solvd.bankatmsimulator.persistence;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface IRepository<T> {
 
     T create(T entity);
 
+    /**
+     * Inserts all entities as one JDBC batch and commit, back-filling their generated ids.
+     */
+    List<T> createAll(Collection<T> entities);
+
     Optional<T> findById(Long id);
 
     List<T> findAll();
 
+    /**
+     * Streams every row without loading the whole table into memory.
+     * The stream holds a database connection until it is closed.
+     */
+    Stream<T> streamAll();
+
+    default void forEach(Consumer<? super T> action) {
+        try (Stream<T> rows = streamAll()) {
+            rows.forEach(action);
+        }
+    }
+
     T update(T entity);
 
     void delete(Long id);
@@ -2,12 +2,22 @@ package com.solvd.bankatmsimulator.persistence;
 
 import com.solvd.bankatmsimulator.domain.Transaction;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ITransactionRepository extends IRepository<Transaction> {
 
     List<Transaction> findByAccountId(Long accountId);
 
+    /**
+     * Keyset page of an account's transactions ordered by (processed_at, id) descending,
+     * starting strictly after the given cursor. A {@code null} cursor returns the first page.
+     */
+    List<Transaction> findByAccountId(Long accountId, LocalDateTime afterProcessedAt, Long afterId, int limit);
+
+    Stream<Transaction> streamByAccountId(Long accountId);
+
     List<Transaction> findByFromAccountId(Long fromAccountId);
 
     List<Transaction> findByToAccountId(Long toAccountId);
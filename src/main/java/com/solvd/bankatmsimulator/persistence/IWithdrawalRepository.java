@@ -1,8 +1,12 @@
 package com.solvd.bankatmsimulator.persistence;
 
+import com.solvd.bankatmsimulator.domain.Transaction;
 import com.solvd.bankatmsimulator.domain.Withdrawal;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface IWithdrawalRepository extends IRepository<Withdrawal> {
 
@@ -11,5 +15,20 @@ public interface IWithdrawalRepository extends IRepository<Withdrawal> {
     List<Withdrawal> findByTransactionId(Long transactionId);
 
     List<Withdrawal> findByAtmId(Long atmId);
+
+    Stream<Withdrawal> streamByAtmId(Long atmId);
+
+    /**
+     * Streams withdrawals processed at or after {@code since}, each with its banknotes,
+     * ordered by ATM id and then processing time.
+     */
+    Stream<Withdrawal> streamWithBanknotesSince(LocalDateTime since);
+
+    /**
+     * Debits the account, inserts the transaction, the withdrawal and its banknotes in one commit.
+     * Returns empty, changing nothing, when the account does not exist, is held in a currency other than the
+     * withdrawal's or its balance does not cover the amount.
+     */
+    Optional<Withdrawal> createWithDebit(Withdrawal withdrawal, Transaction transaction);
 }
 
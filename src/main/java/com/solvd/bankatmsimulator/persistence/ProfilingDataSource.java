@@ -0,0 +1,313 @@
+package com.solvd.bankatmsimulator.persistence;
+
+import com.solvd.bankatmsimulator.metrics.Metrics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Data source that times every statement run through it.
+ * <p>
+ * Per SQL template (the statement text with its {@code ?} placeholders) it records execution latency in
+ * {@code bank.sql{sql}} and rows read or changed in {@code bank.sql.rows{sql}}; the wait for a connection goes to
+ * {@code bank.sql.connection.wait}. Statements slower than the threshold are logged at WARN with their bind
+ * values, masking the ones bound to {@code card_number} / {@code pin_hash} and anything shaped like a card
+ * number. Bind values are only captured when the slow log is on.
+ * <p>
+ * Connections and statements are wrapped in plain dynamic proxies, so the cost is a few reflective calls per
+ * statement. Result sets go through {@link CountingResultSet}, which only adds a virtual call per column read.
+ */
+public final class ProfilingDataSource implements DataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfilingDataSource.class);
+
+    private final DataSource delegate;
+    private final MeterRegistry registry;
+    private final long slowNanos;
+    private final Timer connectionWait;
+    private final ConcurrentHashMap<String, SqlTemplate> templates = new ConcurrentHashMap<>();
+
+    /**
+     * @param slowThreshold statements taking at least this long are logged; zero or negative turns the log off
+     */
+    public ProfilingDataSource(DataSource delegate, MeterRegistry registry, Duration slowThreshold) {
+        this.delegate = delegate;
+        this.registry = registry;
+        this.slowNanos = slowThreshold.isNegative() || slowThreshold.isZero() ? Long.MAX_VALUE : slowThreshold.toNanos();
+        this.connectionWait = Timer.builder("bank.sql.connection.wait")
+                .description("Time spent waiting for a pooled connection")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry);
+    }
+
+    public ProfilingDataSource(DataSource delegate, Duration slowThreshold) {
+        this(delegate, Metrics.registry(), slowThreshold);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = delegate.getConnection();
+        connectionWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return wrap(connection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = delegate.getConnection(username, password);
+        connectionWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return wrap(connection);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(delegate) ? iface.cast(delegate) : delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(delegate) || delegate.isWrapperFor(iface);
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private SqlTemplate template(String sql) {
+        SqlTemplate template = templates.get(sql);
+        return template != null ? template : templates.computeIfAbsent(sql, SqlTemplate::new);
+    }
+
+    private static Object forward(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Meters and masking flags for one SQL text, built the first time the text is seen.
+     */
+    private final class SqlTemplate {
+
+        private final String sql;
+        private final Timer latency;
+        private final DistributionSummary rows;
+        private final boolean[] sensitive;
+
+        private SqlTemplate(String sql) {
+            this.sql = sql.replaceAll("\\s+", " ").trim();
+            this.latency = Timer.builder("bank.sql")
+                    .description("Statement execution latency per SQL template")
+                    .tag("sql", this.sql)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(10_000))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(registry);
+            this.rows = DistributionSummary.builder("bank.sql.rows")
+                    .description("Rows read or changed per statement, per SQL template")
+                    .tag("sql", this.sql)
+                    .register(registry);
+            this.sensitive = SqlMasking.sensitiveParameters(sql);
+        }
+
+        void executed(long nanos, Object[] params, int paramCount, int batched) {
+            latency.record(nanos, TimeUnit.NANOSECONDS);
+            if (nanos >= slowNanos) {
+                String values = params != null ? SqlMasking.describe(params, paramCount, sensitive) : "";
+                if (batched > 0) {
+                    log.warn("Slow SQL ({} ms, batch of {}): {} | last params [{}]",
+                            TimeUnit.NANOSECONDS.toMillis(nanos), batched, sql, values);
+                } else {
+                    log.warn("Slow SQL ({} ms): {} | params [{}]", TimeUnit.NANOSECONDS.toMillis(nanos), sql, values);
+                }
+            }
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        private ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "prepareStatement":
+                    return statement(PreparedStatement.class, forward(method, connection, args),
+                            template((String) args[0]));
+                case "createStatement":
+                    return statement(Statement.class, forward(method, connection, args), null);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return forward(method, connection, args);
+            }
+        }
+
+        private Object statement(Class<? extends Statement> type, Object statement, SqlTemplate template) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler((Statement) statement, template));
+        }
+    }
+
+    /**
+     * Times {@code execute*} calls. A prepared statement has its template up front; a plain statement looks it
+     * up from the SQL passed to each execute.
+     */
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final SqlTemplate template;
+        private Object[] params;
+        private int paramCount;
+        private int batched;
+        private CountingResultSet openResults;
+
+        private StatementHandler(Statement statement, SqlTemplate template) {
+            this.statement = statement;
+            this.template = template;
+            this.params = template != null && slowNanos != Long.MAX_VALUE ? new Object[8] : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (params != null && name.startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer) {
+                bind((Integer) args[0], name.equals("setNull") ? null : args[1]);
+                return forward(method, statement, args);
+            }
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            switch (name) {
+                case "addBatch":
+                    batched++;
+                    break;
+                case "clearBatch":
+                    batched = 0;
+                    break;
+                case "clearParameters":
+                    paramCount = 0;
+                    break;
+                case "getResultSet":
+                    return rows(forward(method, statement, args), template);
+                case "close":
+                    finishResults();
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            return forward(method, statement, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            SqlTemplate target = template;
+            if (target == null) {
+                if (args == null || !(args[0] instanceof String)) {
+                    return forward(method, statement, args);
+                }
+                target = template((String) args[0]);
+            }
+            finishResults();
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = forward(method, statement, args);
+            } finally {
+                target.executed(System.nanoTime() - start, params, paramCount, batched);
+                batched = 0;
+            }
+            if (result instanceof ResultSet) {
+                return rows(result, target);
+            }
+            if (result instanceof Integer || result instanceof Long) {
+                target.rows.record(((Number) result).longValue());
+            } else if (result instanceof int[]) {
+                long affected = 0;
+                for (int count : (int[]) result) {
+                    affected += Math.max(count, 0);
+                }
+                target.rows.record(affected);
+            }
+            return result;
+        }
+
+        private void bind(int index, Object value) {
+            if (index > params.length) {
+                params = Arrays.copyOf(params, Math.max(index, params.length * 2));
+            }
+            params[index - 1] = value;
+            paramCount = Math.max(paramCount, index);
+        }
+
+        private Object rows(Object resultSet, SqlTemplate target) {
+            if (resultSet == null || target == null) {
+                return resultSet;
+            }
+            openResults = new CountingResultSet((ResultSet) resultSet, target.rows);
+            return openResults;
+        }
+
+        private void finishResults() {
+            if (openResults != null) {
+                openResults.finish();
+                openResults = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.solvd.bankatmsimulator.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Runs a bundled SQL script (statements separated by {@code ;}, {@code --} line comments) against a fresh pool.
+ * Used by the embedded profile; the script must be idempotent, since it runs on every start.
+ */
+final class SchemaInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaInitializer.class);
+
+    private SchemaInitializer() {
+        throw new IllegalStateException("Utility class, do not instantiate!");
+    }
+
+    static void apply(DataSource dataSource, String resource) {
+        String script = read(resource);
+        int count = 0;
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : stripComments(script).split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql.trim());
+                    count++;
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to apply schema " + resource, e);
+        }
+        log.info("Applied {} statements from {}", count, resource);
+    }
+
+    private static String read(String resource) {
+        try (InputStream input = SchemaInitializer.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IllegalStateException("Schema " + resource + " not found in resources");
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read schema " + resource, e);
+        }
+    }
+
+    private static String stripComments(String script) {
+        StringBuilder sb = new StringBuilder(script.length());
+        for (String line : script.split("\n")) {
+            if (!line.trim().startsWith("--")) {
+                sb.append(line).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,142 @@
+package com.solvd.bankatmsimulator.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Works out which bind parameters of a SQL template hold sensitive columns, and renders parameter
+ * values for logs with those (and anything that looks like a card number) masked.
+ */
+final class SqlMasking {
+
+    static final Set<String> SENSITIVE_COLUMNS = Set.of("card_number", "pin_hash");
+
+    private static final Pattern INSERT = Pattern.compile(
+            "insert\\s+into\\s+\\w+\\s*\\(([^)]*)\\)\\s*values\\s*\\(([^)]*)\\)", Pattern.CASE_INSENSITIVE);
+    private static final String MASK = "****";
+
+    private SqlMasking() {
+        throw new IllegalStateException("Utility class, do not instantiate!");
+    }
+
+    /**
+     * One flag per {@code ?} in {@code sql}, {@code true} where the parameter is bound to a sensitive column:
+     * by position in an {@code INSERT ... VALUES} list, otherwise by the column compared or assigned to it.
+     */
+    static boolean[] sensitiveParameters(String sql) {
+        List<Integer> marks = new ArrayList<>();
+        for (int i = 0; i < sql.length(); i++) {
+            if (sql.charAt(i) == '?') {
+                marks.add(i);
+            }
+        }
+        boolean[] sensitive = new boolean[marks.size()];
+        Matcher insert = INSERT.matcher(sql);
+        int valuesStart = -1;
+        int valuesEnd = -1;
+        String[] insertColumns = null;
+        if (insert.find()) {
+            insertColumns = insert.group(1).split(",");
+            valuesStart = insert.start(2);
+            valuesEnd = insert.end(2);
+        }
+        for (int k = 0; k < sensitive.length; k++) {
+            int at = marks.get(k);
+            String column;
+            if (insertColumns != null && at >= valuesStart && at < valuesEnd) {
+                int item = countCommas(sql, valuesStart, at);
+                column = item < insertColumns.length ? insertColumns[item] : "";
+            } else {
+                column = columnBefore(sql, at);
+            }
+            sensitive[k] = SENSITIVE_COLUMNS.contains(unqualified(column));
+        }
+        return sensitive;
+    }
+
+    /**
+     * Renders the bound values, masking flagged positions and card-number-like strings.
+     */
+    static String describe(Object[] params, int count, boolean[] sensitive) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            Object value = params[i];
+            if (i < sensitive.length && sensitive[i] && value != null) {
+                sb.append(MASK);
+            } else if (value instanceof CharSequence && looksLikeCardNumber((CharSequence) value)) {
+                CharSequence text = (CharSequence) value;
+                sb.append(MASK).append(text, text.length() - 4, text.length());
+            } else {
+                sb.append(value);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean looksLikeCardNumber(CharSequence value) {
+        int digits = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+            } else if (c != ' ' && c != '-') {
+                return false;
+            }
+        }
+        return digits >= 12 && digits <= 19;
+    }
+
+    private static int countCommas(String sql, int from, int to) {
+        int commas = 0;
+        for (int i = from; i < to; i++) {
+            if (sql.charAt(i) == ',') {
+                commas++;
+            }
+        }
+        return commas;
+    }
+
+    /**
+     * The identifier in front of {@code col = ?}, {@code col >= ?}, {@code col LIKE ?} and the like.
+     */
+    private static String columnBefore(String sql, int mark) {
+        int i = skipSpaces(sql, mark - 1);
+        while (i >= 0 && "=<>!".indexOf(sql.charAt(i)) >= 0) {
+            i--;
+        }
+        i = skipSpaces(sql, i);
+        int end = i + 1;
+        while (i >= 0 && isIdentifierChar(sql.charAt(i))) {
+            i--;
+        }
+        String word = sql.substring(i + 1, end);
+        if (word.equalsIgnoreCase("like")) {
+            return columnBefore(sql, i + 1);
+        }
+        return word;
+    }
+
+    private static int skipSpaces(String sql, int i) {
+        while (i >= 0 && Character.isWhitespace(sql.charAt(i))) {
+            i--;
+        }
+        return i;
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.';
+    }
+
+    private static String unqualified(String column) {
+        String name = column.trim().toLowerCase(Locale.ROOT);
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 ? name.substring(dot + 1) : name;
+    }
+}
@@ -0,0 +1,171 @@
+package com.solvd.bankatmsimulator.persistence;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound database transaction shared by every repository call made inside it.
+ * <p>
+ * While a unit of work is active, connections handed out by {@link ConnectionPool#getDataSource()}
+ * are views of the same physical connection: their {@code commit} and {@code close} are ignored and
+ * {@code rollback} marks the unit rollback-only. The single commit or rollback happens at the boundary.
+ * Nested calls join the outer unit.
+ */
+public final class UnitOfWork {
+
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    private final Connection connection;
+    private final Connection view;
+    private final List<Runnable> completionCallbacks = new ArrayList<>();
+    private final List<Runnable> rollbackCallbacks = new ArrayList<>();
+    private boolean rollbackOnly;
+    private boolean rolledBack;
+
+    private UnitOfWork(Connection connection) {
+        this.connection = connection;
+        this.view = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new JoinedConnectionHandler());
+    }
+
+    public static <T> T execute(Supplier<T> work) {
+        if (CURRENT.get() != null) {
+            return work.get();
+        }
+        UnitOfWork unit = begin();
+        try {
+            T result = work.get();
+            unit.complete();
+            return result;
+        } catch (RuntimeException | Error e) {
+            unit.rollbackQuietly(e);
+            throw e;
+        } finally {
+            unit.end();
+        }
+    }
+
+    public static void run(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Runs the callback once the active unit has committed or rolled back, or immediately when none is active.
+     */
+    public static void afterCompletion(Runnable callback) {
+        UnitOfWork unit = CURRENT.get();
+        if (unit != null) {
+            unit.completionCallbacks.add(callback);
+        } else {
+            callback.run();
+        }
+    }
+
+    /**
+     * Runs the callback only if the active unit rolls back; does nothing when no unit is active,
+     * since the work has then already been committed on its own connection.
+     */
+    public static void afterRollback(Runnable callback) {
+        UnitOfWork unit = CURRENT.get();
+        if (unit != null) {
+            unit.rollbackCallbacks.add(callback);
+        }
+    }
+
+    static Connection currentConnection() {
+        UnitOfWork unit = CURRENT.get();
+        return unit != null ? unit.view : null;
+    }
+
+    private static UnitOfWork begin() {
+        try {
+            UnitOfWork unit = new UnitOfWork(ConnectionPool.getDataSource().getConnection());
+            CURRENT.set(unit);
+            return unit;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to begin unit of work", e);
+        }
+    }
+
+    private void complete() {
+        try {
+            if (rollbackOnly) {
+                rolledBack = true;
+                connection.rollback();
+                throw new RuntimeException("Unit of work was marked rollback-only and has been rolled back");
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to commit unit of work", e);
+        }
+    }
+
+    private void rollbackQuietly(Throwable cause) {
+        rolledBack = true;
+        try {
+            connection.rollback();
+        } catch (SQLException rollbackEx) {
+            cause.addSuppressed(rollbackEx);
+        }
+    }
+
+    private void end() {
+        CURRENT.remove();
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to close connection", e);
+        } finally {
+            completionCallbacks.forEach(Runnable::run);
+            if (rolledBack) {
+                rollbackCallbacks.forEach(Runnable::run);
+            }
+        }
+    }
+
+    private final class JoinedConnectionHandler implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                case "commit":
+                case "setAutoCommit":
+                    return null;
+                case "isClosed":
+                    return false;
+                case "rollback":
+                    if (args == null) {
+                        rollbackOnly = true;
+                        return null;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -1,20 +1,30 @@
 package com.solvd.bankatmsimulator.persistence.impl;
 
 import com.solvd.bankatmsimulator.domain.ATMBanknote;
+import com.solvd.bankatmsimulator.domain.Money;
+import com.solvd.bankatmsimulator.persistence.ConnectionPool;
 import com.solvd.bankatmsimulator.persistence.IATMBanknoteRepository;
 
 import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 public class ATMBanknoteRepositoryImpl implements IATMBanknoteRepository {
 
     private final DataSource dataSource;
 
     public ATMBanknoteRepositoryImpl() {
-        this.dataSource = ConnectionPool.getDataSource();
+        this(ConnectionPool.getDataSource());
+    }
+
+    public ATMBanknoteRepositoryImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     @Override
@@ -26,7 +36,7 @@ public class ATMBanknoteRepositoryImpl implements IATMBanknoteRepository {
             PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
             ps.setLong(1, banknote.getAtmId());
             ps.setString(2, banknote.getCurrency());
-            ps.setBigDecimal(3, banknote.getDenomination());
+            ps.setBigDecimal(3, banknote.getDenomination().toBigDecimal());
             ps.setInt(4, banknote.getQuantity());
             ps.executeUpdate();
             try (ResultSet rs = ps.getGeneratedKeys()) {
@@ -56,6 +66,17 @@ public class ATMBanknoteRepositoryImpl implements IATMBanknoteRepository {
         }
     }
 
+    @Override
+    public List<ATMBanknote> createAll(Collection<ATMBanknote> banknotes) {
+        String sql = "INSERT INTO atm_banknotes (atm_id, currency, denomination, quantity) VALUES (?, ?, ?, ?)";
+        return JdbcBatch.insertAll(dataSource, sql, banknotes, (ps, banknote) -> {
+            ps.setLong(1, banknote.getAtmId());
+            ps.setString(2, banknote.getCurrency());
+            ps.setBigDecimal(3, banknote.getDenomination().toBigDecimal());
+            ps.setInt(4, banknote.getQuantity());
+        }, ATMBanknote::setId, "Failed to create ATM banknotes");
+    }
+
     @Override
     public Optional<ATMBanknote> findById(Long id) {
         String sql = "SELECT id, atm_id, currency, denomination, quantity FROM atm_banknotes WHERE id = ?";
@@ -89,6 +110,12 @@ public class ATMBanknoteRepositoryImpl implements IATMBanknoteRepository {
         }
     }
 
+    @Override
+    public Stream<ATMBanknote> streamAll() {
+        String sql = "SELECT id, atm_id, currency, denomination, quantity FROM atm_banknotes";
+        return JdbcStream.query(dataSource, sql, this::mapResultSetToATMBanknote, "Failed to stream all ATM banknotes");
+    }
+
     @Override
     public ATMBanknote update(ATMBanknote banknote) {
         String sql = "UPDATE atm_banknotes SET atm_id = ?, currency = ?, denomination = ?, quantity = ? WHERE id = ?";
@@ -98,7 +125,7 @@ public class ATMBanknoteRepositoryImpl implements IATMBanknoteRepository {
             PreparedStatement ps = connection.prepareStatement(sql);
             ps.setLong(1, banknote.getAtmId());
             ps.setString(2, banknote.getCurrency());
-            ps.setBigDecimal(3, banknote.getDenomination());
+            ps.setBigDecimal(3, banknote.getDenomination().toBigDecimal());
             ps.setInt(4, banknote.getQuantity());
             ps.setLong(5, banknote.getId());
             ps.executeUpdate();
@@ -191,12 +218,59 @@ public class ATMBanknoteRepositoryImpl implements IATMBanknoteRepository {
         }
     }
 
+    @Override
+    public Stream<ATMBanknote> streamOrderedByAtmId() {
+        String sql = "SELECT id, atm_id, currency, denomination, quantity FROM atm_banknotes ORDER BY atm_id";
+        return JdbcStream.query(dataSource, sql, this::mapResultSetToATMBanknote,
+                "Failed to stream ATM banknotes by ATM id");
+    }
+
+    @Override
+    public void applyQuantityDeltas(Map<Long, Integer> takenById) {
+        if (takenById.isEmpty()) {
+            return;
+        }
+        String sql = "UPDATE atm_banknotes SET quantity = quantity - ? WHERE id = ?";
+        // Rows are touched in id order so concurrent writers lock them in the same order.
+        Map<Long, Integer> ordered = new TreeMap<>(takenById);
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                for (Map.Entry<Long, Integer> entry : ordered.entrySet()) {
+                    ps.setInt(1, entry.getValue());
+                    ps.setLong(2, entry.getKey());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            if (connection != null) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackEx) {
+                    throw new RuntimeException("Failed to rollback transaction", rollbackEx);
+                }
+            }
+            throw new RuntimeException("Failed to apply ATM banknote quantity deltas", e);
+        } finally {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    throw new RuntimeException("Failed to close connection", e);
+                }
+            }
+        }
+    }
+
     private ATMBanknote mapResultSetToATMBanknote(ResultSet rs) throws SQLException {
         ATMBanknote banknote = new ATMBanknote();
         banknote.setId(rs.getLong("id"));
         banknote.setAtmId(rs.getLong("atm_id"));
         banknote.setCurrency(rs.getString("currency"));
-        banknote.setDenomination(rs.getBigDecimal("denomination"));
+        banknote.setDenomination(Money.of(rs.getBigDecimal("denomination"), banknote.getCurrency()));
         banknote.setQuantity(rs.getInt("quantity"));
         return banknote;
     }
@@ -1,20 +1,27 @@
 package com.solvd.bankatmsimulator.persistence.impl;
 
 import com.solvd.bankatmsimulator.domain.ATM;
+import com.solvd.bankatmsimulator.persistence.ConnectionPool;
 import com.solvd.bankatmsimulator.persistence.IATMRepository;
 
 import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class ATMRepositoryImpl implements IATMRepository {
 
     private final DataSource dataSource;
 
     public ATMRepositoryImpl() {
-        this.dataSource = ConnectionPool.getDataSource();
+        this(ConnectionPool.getDataSource());
+    }
+
+    public ATMRepositoryImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     @Override
@@ -55,6 +62,16 @@ public class ATMRepositoryImpl implements IATMRepository {
         }
     }
 
+    @Override
+    public List<ATM> createAll(Collection<ATM> atms) {
+        String sql = "INSERT INTO atms (location, name, is_active) VALUES (?, ?, ?)";
+        return JdbcBatch.insertAll(dataSource, sql, atms, (ps, atm) -> {
+            ps.setString(1, atm.getLocation());
+            ps.setString(2, atm.getName());
+            ps.setBoolean(3, atm.isActive());
+        }, ATM::setId, "Failed to create ATMs");
+    }
+
     @Override
     public Optional<ATM> findById(Long id) {
         String sql = "SELECT id, location, name, is_active FROM atms WHERE id = ?";
@@ -88,6 +105,12 @@ public class ATMRepositoryImpl implements IATMRepository {
         }
     }
 
+    @Override
+    public Stream<ATM> streamAll() {
+        String sql = "SELECT id, location, name, is_active FROM atms";
+        return JdbcStream.query(dataSource, sql, this::mapResultSetToATM, "Failed to stream all ATMs");
+    }
+
     @Override
     public ATM update(ATM atm) {
         String sql = "UPDATE atms SET location = ?, name = ?, is_active = ? WHERE id = ?";
@@ -1,21 +1,30 @@
 package com.solvd.bankatmsimulator.persistence.impl;
 
 import com.solvd.bankatmsimulator.domain.Account;
+import com.solvd.bankatmsimulator.domain.Money;
+import com.solvd.bankatmsimulator.persistence.ConnectionPool;
 import com.solvd.bankatmsimulator.persistence.IAccountRepository;
 
 import javax.sql.DataSource;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class AccountRepositoryImpl implements IAccountRepository {
 
     private final DataSource dataSource;
 
     public AccountRepositoryImpl() {
-        this.dataSource = ConnectionPool.getDataSource();
+        this(ConnectionPool.getDataSource());
+    }
+
+    public AccountRepositoryImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     @Override
@@ -27,7 +36,7 @@ public class AccountRepositoryImpl implements IAccountRepository {
             PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
             LocalDateTime now = LocalDateTime.now();
             ps.setString(1, account.getAccountNumber());
-            ps.setBigDecimal(2, account.getBalance());
+            ps.setBigDecimal(2, account.getBalance().toBigDecimal());
             ps.setString(3, account.getCurrency());
             ps.setTimestamp(4, Timestamp.valueOf(now));
             ps.setTimestamp(5, Timestamp.valueOf(now));
@@ -63,6 +72,21 @@ public class AccountRepositoryImpl implements IAccountRepository {
         }
     }
 
+    @Override
+    public List<Account> createAll(Collection<Account> accounts) {
+        String sql = "INSERT INTO accounts (account_number, balance, currency, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+        return JdbcBatch.insertAll(dataSource, sql, accounts, (ps, account) -> {
+            LocalDateTime now = LocalDateTime.now();
+            account.setCreatedAt(now);
+            account.setUpdatedAt(now);
+            ps.setString(1, account.getAccountNumber());
+            ps.setBigDecimal(2, account.getBalance().toBigDecimal());
+            ps.setString(3, account.getCurrency());
+            ps.setTimestamp(4, Timestamp.valueOf(now));
+            ps.setTimestamp(5, Timestamp.valueOf(now));
+        }, Account::setId, "Failed to create accounts");
+    }
+
     @Override
     public Optional<Account> findById(Long id) {
         String sql = "SELECT id, account_number, balance, currency, created_at, updated_at FROM accounts WHERE id = ?";
@@ -96,6 +120,12 @@ public class AccountRepositoryImpl implements IAccountRepository {
         }
     }
 
+    @Override
+    public Stream<Account> streamAll() {
+        String sql = "SELECT id, account_number, balance, currency, created_at, updated_at FROM accounts";
+        return JdbcStream.query(dataSource, sql, this::mapResultSetToAccount, "Failed to stream all accounts");
+    }
+
     @Override
     public Account update(Account account) {
         String sql = "UPDATE accounts SET account_number = ?, balance = ?, currency = ?, updated_at = ? WHERE id = ?";
@@ -105,7 +135,7 @@ public class AccountRepositoryImpl implements IAccountRepository {
             PreparedStatement ps = connection.prepareStatement(sql);
             LocalDateTime now = LocalDateTime.now();
             ps.setString(1, account.getAccountNumber());
-            ps.setBigDecimal(2, account.getBalance());
+            ps.setBigDecimal(2, account.getBalance().toBigDecimal());
             ps.setString(3, account.getCurrency());
             ps.setTimestamp(4, Timestamp.valueOf(now));
             ps.setLong(5, account.getId());
@@ -217,10 +247,97 @@ public class AccountRepositoryImpl implements IAccountRepository {
         }
     }
 
+    @Override
+    public boolean adjustBalances(Map<Long, Money> deltas) {
+        if (deltas.isEmpty()) {
+            return true;
+        }
+        String sql = "UPDATE accounts SET balance = balance + ?, updated_at = ? WHERE id = ? AND currency = ?";
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            int[] updated;
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                for (Map.Entry<Long, Money> delta : deltas.entrySet()) {
+                    ps.setBigDecimal(1, delta.getValue().toBigDecimal());
+                    ps.setTimestamp(2, now);
+                    ps.setLong(3, delta.getKey());
+                    ps.setString(4, delta.getValue().getCurrency());
+                    ps.addBatch();
+                }
+                updated = ps.executeBatch();
+            }
+            for (int count : updated) {
+                if (count == 0) {
+                    connection.rollback();
+                    return false;
+                }
+            }
+            connection.commit();
+            return true;
+        } catch (SQLException e) {
+            if (connection != null) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackEx) {
+                    throw new RuntimeException("Failed to rollback transaction", rollbackEx);
+                }
+            }
+            throw new RuntimeException("Failed to adjust account balances", e);
+        } finally {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    throw new RuntimeException("Failed to close connection", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean debit(long accountId, Money amount) {
+        String sql = "UPDATE accounts SET balance = balance - ?, updated_at = ? " +
+                "WHERE id = ? AND currency = ? AND balance >= ?";
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            int updated;
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                ps.setBigDecimal(1, amount.toBigDecimal());
+                ps.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                ps.setLong(3, accountId);
+                ps.setString(4, amount.getCurrency());
+                ps.setBigDecimal(5, amount.toBigDecimal());
+                updated = ps.executeUpdate();
+            }
+            connection.commit();
+            return updated > 0;
+        } catch (SQLException e) {
+            if (connection != null) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackEx) {
+                    throw new RuntimeException("Failed to rollback transaction", rollbackEx);
+                }
+            }
+            throw new RuntimeException("Failed to debit account", e);
+        } finally {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    throw new RuntimeException("Failed to close connection", e);
+                }
+            }
+        }
+    }
+
     private Account mapResultSetToAccount(ResultSet rs) throws SQLException {
         Account account = new Account(rs.getLong("id"), rs.getString("account_number"));
-        account.setBalance(rs.getBigDecimal("balance"));
         account.setCurrency(rs.getString("currency"));
+        account.setBalance(Money.of(rs.getBigDecimal("balance"), account.getCurrency()));
         Timestamp createdAt = rs.getTimestamp("created_at");
         if (createdAt != null) {
             account.setCreatedAt(createdAt.toLocalDateTime());
@@ -0,0 +1,123 @@
+package com.solvd.bankatmsimulator.persistence.impl;
+
+import com.solvd.bankatmsimulator.expiry.ExpiryCursor;
+import com.solvd.bankatmsimulator.persistence.ConnectionPool;
+import com.solvd.bankatmsimulator.persistence.ICardExpiryRepository;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public class CardExpiryRepositoryImpl implements ICardExpiryRepository {
+
+    private final DataSource dataSource;
+
+    public CardExpiryRepositoryImpl() {
+        this(ConnectionPool.getDataSource());
+    }
+
+    public CardExpiryRepositoryImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public ExpiryCursor findHighWaterMark(String sweeper) {
+        String sql = "SELECT expiry_date, card_id FROM card_expiry_checkpoints WHERE sweeper = ?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, sweeper);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next()
+                        ? new ExpiryCursor(rs.getDate("expiry_date").toLocalDate(), rs.getLong("card_id"))
+                        : ExpiryCursor.START;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find card expiry checkpoint", e);
+        }
+    }
+
+    @Override
+    public Optional<ExpiryCursor> findChunkEnd(ExpiryCursor after, LocalDate before, int limit) {
+        // Reads (expiry_date, id) pairs only, which the expiry_date index covers, so no table rows are touched.
+        // The plain "expiry_date >= ?" repeats the keyset condition in a form the planner turns into a range scan.
+        String sql = "SELECT expiry_date, id FROM payment_cards " +
+                "WHERE expiry_date >= ? AND expiry_date < ? AND (expiry_date > ? OR (expiry_date = ? AND id > ?)) " +
+                "ORDER BY expiry_date, id LIMIT ?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            Date afterDate = Date.valueOf(after.getExpiryDate());
+            ps.setDate(1, afterDate);
+            ps.setDate(2, Date.valueOf(before));
+            ps.setDate(3, afterDate);
+            ps.setDate(4, afterDate);
+            ps.setLong(5, after.getCardId());
+            ps.setInt(6, limit);
+            ExpiryCursor last = null;
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    last = new ExpiryCursor(rs.getDate("expiry_date").toLocalDate(), rs.getLong("id"));
+                }
+            }
+            return Optional.ofNullable(last);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find card expiry chunk", e);
+        }
+    }
+
+    @Override
+    public int expireRange(String sweeper, ExpiryCursor after, ExpiryCursor upTo) {
+        String sql = "UPDATE payment_cards SET status = 'EXPIRED', updated_at = ? " +
+                "WHERE expiry_date BETWEEN ? AND ? " +
+                "AND (expiry_date > ? OR (expiry_date = ? AND id > ?)) " +
+                "AND (expiry_date < ? OR (expiry_date = ? AND id <= ?)) " +
+                "AND status IN ('ACTIVE', 'BLOCKED')";
+        String checkpointSql = "INSERT INTO card_expiry_checkpoints (sweeper, expiry_date, card_id) VALUES (?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE expiry_date = VALUES(expiry_date), card_id = VALUES(card_id)";
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            int expired;
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                Date afterDate = Date.valueOf(after.getExpiryDate());
+                Date upToDate = Date.valueOf(upTo.getExpiryDate());
+                ps.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+                ps.setDate(2, afterDate);
+                ps.setDate(3, upToDate);
+                ps.setDate(4, afterDate);
+                ps.setDate(5, afterDate);
+                ps.setLong(6, after.getCardId());
+                ps.setDate(7, upToDate);
+                ps.setDate(8, upToDate);
+                ps.setLong(9, upTo.getCardId());
+                expired = ps.executeUpdate();
+            }
+            try (PreparedStatement ps = connection.prepareStatement(checkpointSql)) {
+                ps.setString(1, sweeper);
+                ps.setDate(2, Date.valueOf(upTo.getExpiryDate()));
+                ps.setLong(3, upTo.getCardId());
+                ps.executeUpdate();
+            }
+            connection.commit();
+            return expired;
+        } catch (SQLException e) {
+            if (connection != null) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackEx) {
+                    throw new RuntimeException("Failed to rollback transaction", rollbackEx);
+                }
+            }
+            throw new RuntimeException("Failed to expire payment cards", e);
+        } finally {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    throw new RuntimeException("Failed to close connection", e);
+                }
+            }
+        }
+    }
+}
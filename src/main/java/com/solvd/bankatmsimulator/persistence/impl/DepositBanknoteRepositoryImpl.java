@@ -1,21 +1,28 @@
 package com.solvd.bankatmsimulator.persistence.impl;
 
 import com.solvd.bankatmsimulator.domain.DepositBanknote;
+import com.solvd.bankatmsimulator.domain.Money;
 import com.solvd.bankatmsimulator.persistence.ConnectionPool;
 import com.solvd.bankatmsimulator.persistence.IDepositBanknoteRepository;
 
 import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class DepositBanknoteRepositoryImpl implements IDepositBanknoteRepository {
 
     private final DataSource dataSource;
 
     public DepositBanknoteRepositoryImpl() {
-        this.dataSource = ConnectionPool.getDataSource();
+        this(ConnectionPool.getDataSource());
+    }
+
+    public DepositBanknoteRepositoryImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     @Override
@@ -26,7 +33,7 @@ public class DepositBanknoteRepositoryImpl implements IDepositBanknoteRepository
             connection = dataSource.getConnection();
             PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
             ps.setLong(1, banknote.getDepositId());
-            ps.setBigDecimal(2, banknote.getDenomination());
+            ps.setBigDecimal(2, banknote.getDenomination().toBigDecimal());
             ps.setInt(3, banknote.getQuantity());
             ps.executeUpdate();
             try (ResultSet rs = ps.getGeneratedKeys()) {
@@ -56,6 +63,16 @@ public class DepositBanknoteRepositoryImpl implements IDepositBanknoteRepository
         }
     }
 
+    @Override
+    public List<DepositBanknote> createAll(Collection<DepositBanknote> banknotes) {
+        String sql = "INSERT INTO deposit_banknotes (deposit_id, denomination, quantity) VALUES (?, ?, ?)";
+        return JdbcBatch.insertAll(dataSource, sql, banknotes, (ps, banknote) -> {
+            ps.setLong(1, banknote.getDepositId());
+            ps.setBigDecimal(2, banknote.getDenomination().toBigDecimal());
+            ps.setInt(3, banknote.getQuantity());
+        }, DepositBanknote::setId, "Failed to create deposit banknotes");
+    }
+
     @Override
     public Optional<DepositBanknote> findById(Long id) {
         String sql = "SELECT id, deposit_id, denomination, quantity FROM deposit_banknotes WHERE id = ?";
@@ -89,6 +106,12 @@ public class DepositBanknoteRepositoryImpl implements IDepositBanknoteRepository
         }
     }
 
+    @Override
+    public Stream<DepositBanknote> streamAll() {
+        String sql = "SELECT id, deposit_id, denomination, quantity FROM deposit_banknotes";
+        return JdbcStream.query(dataSource, sql, this::mapResultSetToDepositBanknote, "Failed to stream all deposit banknotes");
+    }
+
     @Override
     public DepositBanknote update(DepositBanknote banknote) {
         String sql = "UPDATE deposit_banknotes SET deposit_id = ?, denomination = ?, quantity = ? WHERE id = ?";
@@ -97,7 +120,7 @@ public class DepositBanknoteRepositoryImpl implements IDepositBanknoteRepository
             connection = dataSource.getConnection();
             PreparedStatement ps = connection.prepareStatement(sql);
             ps.setLong(1, banknote.getDepositId());
-            ps.setBigDecimal(2, banknote.getDenomination());
+            ps.setBigDecimal(2, banknote.getDenomination().toBigDecimal());
             ps.setInt(3, banknote.getQuantity());
             ps.setLong(4, banknote.getId());
             ps.executeUpdate();
@@ -175,7 +198,7 @@ public class DepositBanknoteRepositoryImpl implements IDepositBanknoteRepository
         DepositBanknote banknote = new DepositBanknote();
         banknote.setId(rs.getLong("id"));
         banknote.setDepositId(rs.getLong("deposit_id"));
-        banknote.setDenomination(rs.getBigDecimal("denomination"));
+        banknote.setDenomination(Money.of(rs.getBigDecimal("denomination"), null));
         banknote.setQuantity(rs.getInt("quantity"));
         return banknote;
     }
@@ -1,21 +1,30 @@
 package com.solvd.bankatmsimulator.persistence.impl;
 
 import com.solvd.bankatmsimulator.domain.Deposit;
+import com.solvd.bankatmsimulator.domain.DepositBanknote;
+import com.solvd.bankatmsimulator.domain.Money;
+import com.solvd.bankatmsimulator.persistence.ConnectionPool;
 import com.solvd.bankatmsimulator.persistence.IDepositRepository;
 
 import javax.sql.DataSource;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class DepositRepositoryImpl implements IDepositRepository {
 
     private final DataSource dataSource;
 
     public DepositRepositoryImpl() {
-        this.dataSource = ConnectionPool.getDataSource();
+        this(ConnectionPool.getDataSource());
+    }
+
+    public DepositRepositoryImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     @Override
@@ -28,7 +37,7 @@ public class DepositRepositoryImpl implements IDepositRepository {
             ps.setLong(1, deposit.getTransactionId());
             ps.setLong(2, deposit.getAtmId());
             ps.setString(3, deposit.getCurrency());
-            ps.setBigDecimal(4, deposit.getTotalAmount());
+            ps.setBigDecimal(4, deposit.getTotalAmount().toBigDecimal());
             LocalDateTime processedAt = deposit.getProcessedAt() != null ? deposit.getProcessedAt() : LocalDateTime.now();
             ps.setTimestamp(5, Timestamp.valueOf(processedAt));
             ps.executeUpdate();
@@ -38,6 +47,7 @@ public class DepositRepositoryImpl implements IDepositRepository {
                     deposit.setProcessedAt(processedAt);
                 }
             }
+            insertBanknotes(connection, List.of(deposit));
             connection.commit();
             return deposit;
         } catch (SQLException e) {
@@ -60,6 +70,21 @@ public class DepositRepositoryImpl implements IDepositRepository {
         }
     }
 
+    @Override
+    public List<Deposit> createAll(Collection<Deposit> deposits) {
+        String sql = "INSERT INTO deposits (transaction_id, atm_id, currency, total_amount, processed_at) VALUES (?, ?, ?, ?, ?)";
+        return JdbcBatch.insertAll(dataSource, sql, deposits, (ps, deposit) -> {
+            if (deposit.getProcessedAt() == null) {
+                deposit.setProcessedAt(LocalDateTime.now());
+            }
+            ps.setLong(1, deposit.getTransactionId());
+            ps.setLong(2, deposit.getAtmId());
+            ps.setString(3, deposit.getCurrency());
+            ps.setBigDecimal(4, deposit.getTotalAmount().toBigDecimal());
+            ps.setTimestamp(5, Timestamp.valueOf(deposit.getProcessedAt()));
+        }, Deposit::setId, this::insertBanknotes, "Failed to create deposits");
+    }
+
     @Override
     public Optional<Deposit> findById(Long id) {
         String sql = "SELECT id, transaction_id, atm_id, currency, total_amount, processed_at FROM deposits WHERE id = ?";
@@ -93,6 +118,12 @@ public class DepositRepositoryImpl implements IDepositRepository {
         }
     }
 
+    @Override
+    public Stream<Deposit> streamAll() {
+        String sql = "SELECT id, transaction_id, atm_id, currency, total_amount, processed_at FROM deposits";
+        return JdbcStream.query(dataSource, sql, this::mapResultSetToDeposit, "Failed to stream all deposits");
+    }
+
     @Override
     public Deposit update(Deposit deposit) {
         String sql = "UPDATE deposits SET transaction_id = ?, atm_id = ?, currency = ?, total_amount = ?, processed_at = ? WHERE id = ?";
@@ -103,7 +134,7 @@ public class DepositRepositoryImpl implements IDepositRepository {
             ps.setLong(1, deposit.getTransactionId());
             ps.setLong(2, deposit.getAtmId());
             ps.setString(3, deposit.getCurrency());
-            ps.setBigDecimal(4, deposit.getTotalAmount());
+            ps.setBigDecimal(4, deposit.getTotalAmount().toBigDecimal());
             ps.setTimestamp(5, Timestamp.valueOf(deposit.getProcessedAt()));
             ps.setLong(6, deposit.getId());
             ps.executeUpdate();
@@ -195,13 +226,29 @@ public class DepositRepositoryImpl implements IDepositRepository {
         }
     }
 
+    private void insertBanknotes(Connection connection, List<Deposit> deposits) throws SQLException {
+        String sql = "INSERT INTO deposit_banknotes (deposit_id, denomination, quantity) VALUES (?, ?, ?)";
+        List<DepositBanknote> banknotes = new ArrayList<>();
+        for (Deposit deposit : deposits) {
+            for (DepositBanknote banknote : deposit.getBanknotes()) {
+                banknote.setDepositId(deposit.getId());
+                banknotes.add(banknote);
+            }
+        }
+        JdbcBatch.insertAll(connection, sql, banknotes, (ps, banknote) -> {
+            ps.setLong(1, banknote.getDepositId());
+            ps.setBigDecimal(2, banknote.getDenomination().toBigDecimal());
+            ps.setInt(3, banknote.getQuantity());
+        }, DepositBanknote::setId);
+    }
+
     private Deposit mapResultSetToDeposit(ResultSet rs) throws SQLException {
         Deposit deposit = new Deposit();
         deposit.setId(rs.getLong("id"));
         deposit.setTransactionId(rs.getLong("transaction_id"));
         deposit.setAtmId(rs.getLong("atm_id"));
         deposit.setCurrency(rs.getString("currency"));
-        deposit.setTotalAmount(rs.getBigDecimal("total_amount"));
+        deposit.setTotalAmount(Money.of(rs.getBigDecimal("total_amount"), deposit.getCurrency()));
         Timestamp processedAt = rs.getTimestamp("processed_at");
         if (processedAt != null) {
             deposit.setProcessedAt(processedAt.toLocalDateTime());
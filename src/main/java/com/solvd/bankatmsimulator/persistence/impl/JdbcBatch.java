@@ -0,0 +1,101 @@
+package com.solvd.bankatmsimulator.persistence.impl;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Batched INSERT support shared by the repositories. Rows are sent with addBatch/executeBatch in chunks
+ * of {@link #BATCH_SIZE} and the generated keys are written back onto the entities in insert order.
+ */
+final class JdbcBatch {
+
+    static final int BATCH_SIZE = 500;
+
+    private JdbcBatch() {
+        throw new IllegalStateException("Utility class, do not instantiate!");
+    }
+
+    @FunctionalInterface
+    interface Binder<T> {
+        void bind(PreparedStatement ps, T entity) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface Cascade<T> {
+        void insertChildren(Connection connection, List<T> parents) throws SQLException;
+    }
+
+    static <T> List<T> insertAll(DataSource dataSource, String sql, Collection<T> entities,
+                                 Binder<T> binder, BiConsumer<T, Long> idSetter, String errorMessage) {
+        return insertAll(dataSource, sql, entities, binder, idSetter, (connection, parents) -> {
+        }, errorMessage);
+    }
+
+    /**
+     * Same as above, then lets {@code cascade} insert dependent rows on the same connection before the commit.
+     */
+    static <T> List<T> insertAll(DataSource dataSource, String sql, Collection<T> entities,
+                                 Binder<T> binder, BiConsumer<T, Long> idSetter, Cascade<T> cascade,
+                                 String errorMessage) {
+        List<T> rows = new ArrayList<>(entities);
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            insertAll(connection, sql, rows, binder, idSetter);
+            cascade.insertChildren(connection, rows);
+            connection.commit();
+            return rows;
+        } catch (SQLException e) {
+            if (connection != null) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackEx) {
+                    throw new RuntimeException("Failed to rollback transaction", rollbackEx);
+                }
+            }
+            throw new RuntimeException(errorMessage, e);
+        } finally {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    throw new RuntimeException("Failed to close connection", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts the rows on the given connection without committing.
+     */
+    static <T> void insertAll(Connection connection, String sql, List<T> rows,
+                              Binder<T> binder, BiConsumer<T, Long> idSetter) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            int from = 0;
+            while (from < rows.size()) {
+                int to = Math.min(from + BATCH_SIZE, rows.size());
+                for (int i = from; i < to; i++) {
+                    binder.bind(ps, rows.get(i));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    for (int i = from; i < to && rs.next(); i++) {
+                        idSetter.accept(rows.get(i), rs.getLong(1));
+                    }
+                }
+                from = to;
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.solvd.bankatmsimulator.persistence.impl;
+
+import com.mysql.cj.jdbc.JdbcConnection;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily mapped query results. On MySQL the statement uses server-side row streaming
+ * (fetch size {@link Integer#MIN_VALUE}), so memory stays flat regardless of table size.
+ * The connection is held until the returned stream is closed, so always use it in try-with-resources.
+ */
+final class JdbcStream {
+
+    static final int FETCH_SIZE = 1000;
+
+    private JdbcStream() {
+        throw new IllegalStateException("Utility class, do not instantiate!");
+    }
+
+    @FunctionalInterface
+    interface Parameters {
+        void set(PreparedStatement ps) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    static <T> Stream<T> query(DataSource dataSource, String sql, RowMapper<T> mapper, String errorMessage) {
+        return query(dataSource, sql, ps -> {
+        }, mapper, errorMessage);
+    }
+
+    static <T> Stream<T> query(DataSource dataSource, String sql, Parameters params,
+                               RowMapper<T> mapper, String errorMessage) {
+        Connection connection = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            connection = dataSource.getConnection();
+            ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(connection.isWrapperFor(JdbcConnection.class) ? Integer.MIN_VALUE : FETCH_SIZE);
+            params.set(ps);
+            rs = ps.executeQuery();
+        } catch (SQLException e) {
+            closeQuietly(rs, ps, connection);
+            throw new RuntimeException(errorMessage, e);
+        }
+        ResultSet resultSet = rs;
+        PreparedStatement statement = ps;
+        Connection conn = connection;
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!resultSet.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.map(resultSet));
+                    return true;
+                } catch (SQLException e) {
+                    throw new RuntimeException(errorMessage, e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> close(resultSet, statement, conn));
+    }
+
+    /**
+     * Folds consecutive rows of the same parent into one element, e.g. a one-to-many join ordered by parent id.
+     * Only one parent is held in memory at a time.
+     */
+    static <T> Stream<T> groupAdjacent(Stream<T> rows, BiPredicate<T, T> sameParent, BiConsumer<T, T> merge) {
+        Iterator<T> it = rows.iterator();
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private T pending;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                T current = pending != null ? pending : (it.hasNext() ? it.next() : null);
+                pending = null;
+                if (current == null) {
+                    return false;
+                }
+                while (it.hasNext()) {
+                    T next = it.next();
+                    if (!sameParent.test(current, next)) {
+                        pending = next;
+                        break;
+                    }
+                    merge.accept(current, next);
+                }
+                action.accept(current);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(rows::close);
+    }
+
+    private static void close(ResultSet rs, PreparedStatement ps, Connection connection) {
+        try {
+            try {
+                rs.close();
+            } finally {
+                try {
+                    ps.close();
+                } finally {
+                    connection.close();
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to close connection", e);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource != null) {
+                try {
+                    resource.close();
+                } catch (Exception ignored) {
+                    // already failing, keep the original exception
+                }
+            }
+        }
+    }
+}
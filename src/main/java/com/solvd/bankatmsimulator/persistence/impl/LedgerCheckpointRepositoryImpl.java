@@ -0,0 +1,69 @@
+package com.solvd.bankatmsimulator.persistence.impl;
+
+import com.solvd.bankatmsimulator.persistence.ConnectionPool;
+import com.solvd.bankatmsimulator.persistence.ILedgerCheckpointRepository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class LedgerCheckpointRepositoryImpl implements ILedgerCheckpointRepository {
+
+    private final DataSource dataSource;
+
+    public LedgerCheckpointRepositoryImpl() {
+        this(ConnectionPool.getDataSource());
+    }
+
+    public LedgerCheckpointRepositoryImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public long findAppliedSequence(String journal) {
+        String sql = "SELECT applied_sequence FROM ledger_checkpoints WHERE journal = ?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, journal);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong("applied_sequence") : 0L;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find ledger checkpoint", e);
+        }
+    }
+
+    @Override
+    public void saveAppliedSequence(String journal, long sequence) {
+        String sql = "INSERT INTO ledger_checkpoints (journal, applied_sequence) VALUES (?, ?) " +
+                "ON DUPLICATE KEY UPDATE applied_sequence = VALUES(applied_sequence)";
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setString(1, journal);
+            ps.setLong(2, sequence);
+            ps.executeUpdate();
+            connection.commit();
+        } catch (SQLException e) {
+            if (connection != null) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackEx) {
+                    throw new RuntimeException("Failed to rollback transaction", rollbackEx);
+                }
+            }
+            throw new RuntimeException("Failed to save ledger checkpoint", e);
+        } finally {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    throw new RuntimeException("Failed to close connection", e);
+                }
+            }
+        }
+    }
+}
@@ -1,23 +1,34 @@
 package com.solvd.bankatmsimulator.persistence.impl;
 
+import com.solvd.bankatmsimulator.cache.CardCache;
 import com.solvd.bankatmsimulator.domain.PaymentCard;
 import com.solvd.bankatmsimulator.persistence.ConnectionPool;
 import com.solvd.bankatmsimulator.persistence.IPaymentCardRepository;
+import com.solvd.bankatmsimulator.persistence.UnitOfWork;
 
 import javax.sql.DataSource;
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.TreeSet;
+import java.util.stream.Stream;
 
 public class PaymentCardRepositoryImpl implements IPaymentCardRepository {
 
     private final DataSource dataSource;
+    private final CardCache cache;
 
     public PaymentCardRepositoryImpl() {
-        this.dataSource = ConnectionPool.getDataSource();
+        this(ConnectionPool.getDataSource());
+    }
+
+    public PaymentCardRepositoryImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.cache = CardCache.getInstance();
     }
 
     @Override
@@ -44,6 +55,7 @@ public class PaymentCardRepositoryImpl implements IPaymentCardRepository {
                 }
             }
             connection.commit();
+            cache.evict(card.getCardNumber());
             return card;
         } catch (SQLException e) {
             if (connection != null) {
@@ -65,6 +77,26 @@ public class PaymentCardRepositoryImpl implements IPaymentCardRepository {
         }
     }
 
+    @Override
+    public List<PaymentCard> createAll(Collection<PaymentCard> cards) {
+        String sql = "INSERT INTO payment_cards (card_number, card_type, status, pin_hash, expiry_date, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        List<PaymentCard> created = JdbcBatch.insertAll(dataSource, sql, cards, (ps, card) -> {
+            LocalDateTime now = LocalDateTime.now();
+            card.setCreatedAt(now);
+            card.setUpdatedAt(now);
+            ps.setString(1, card.getCardNumber());
+            ps.setString(2, card.getCardType().name());
+            ps.setString(3, card.getStatus().name());
+            ps.setString(4, card.getPinHash());
+            ps.setDate(5, Date.valueOf(card.getExpiryDate()));
+            ps.setTimestamp(6, Timestamp.valueOf(now));
+            ps.setTimestamp(7, Timestamp.valueOf(now));
+        }, PaymentCard::setId, "Failed to create payment cards");
+        // Any of these may be cached as unknown.
+        created.forEach(card -> cache.evict(card.getCardNumber()));
+        return created;
+    }
+
     @Override
     public Optional<PaymentCard> findById(Long id) {
         String sql = "SELECT id, card_number, card_type, status, pin_hash, expiry_date, created_at, updated_at FROM payment_cards WHERE id = ?";
@@ -98,6 +130,12 @@ public class PaymentCardRepositoryImpl implements IPaymentCardRepository {
         }
     }
 
+    @Override
+    public Stream<PaymentCard> streamAll() {
+        String sql = "SELECT id, card_number, card_type, status, pin_hash, expiry_date, created_at, updated_at FROM payment_cards";
+        return JdbcStream.query(dataSource, sql, this::mapResultSetToPaymentCard, "Failed to stream all payment cards");
+    }
+
     @Override
     public PaymentCard update(PaymentCard card) {
         String sql = "UPDATE payment_cards SET card_number = ?, card_type = ?, status = ?, pin_hash = ?, expiry_date = ?, updated_at = ? WHERE id = ?";
@@ -116,6 +154,8 @@ public class PaymentCardRepositoryImpl implements IPaymentCardRepository {
             ps.executeUpdate();
             card.setUpdatedAt(now);
             connection.commit();
+            cache.evict(card.getId());
+            cache.evict(card.getCardNumber());
             return card;
         } catch (SQLException e) {
             if (connection != null) {
@@ -147,6 +187,7 @@ public class PaymentCardRepositoryImpl implements IPaymentCardRepository {
             ps.setLong(1, id);
             ps.executeUpdate();
             connection.commit();
+            cache.evict(id);
         } catch (SQLException e) {
             if (connection != null) {
                 try {
@@ -167,21 +208,17 @@ public class PaymentCardRepositoryImpl implements IPaymentCardRepository {
         }
     }
 
+    /**
+     * Served from {@link CardCache} when possible; a miss loads the card and its account ids in one query.
+     */
     @Override
     public Optional<PaymentCard> findByCardNumber(String cardNumber) {
-        String sql = "SELECT id, card_number, card_type, status, pin_hash, expiry_date, created_at, updated_at FROM payment_cards WHERE card_number = ?";
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setString(1, cardNumber);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    return Optional.of(mapResultSetToPaymentCard(rs));
-                }
-            }
-            return Optional.empty();
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to find payment card by card number", e);
-        }
+        return Optional.ofNullable(lookup(cardNumber).getCard());
+    }
+
+    @Override
+    public List<Long> findAccountIdsByCardNumber(String cardNumber) {
+        return lookup(cardNumber).getAccountIds();
     }
 
     @Override
@@ -239,6 +276,89 @@ public class PaymentCardRepositoryImpl implements IPaymentCardRepository {
         }
     }
 
+    @Override
+    public void updateStatus(Collection<Long> ids, PaymentCard.CardStatus status) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String sql = "UPDATE payment_cards SET status = ?, updated_at = ? WHERE id = ?";
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                // Rows are touched in id order so concurrent writers lock them in the same order.
+                for (Long id : new TreeSet<>(ids)) {
+                    ps.setString(1, status.name());
+                    ps.setTimestamp(2, now);
+                    ps.setLong(3, id);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            connection.commit();
+            ids.forEach(cache::evict);
+        } catch (SQLException e) {
+            if (connection != null) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackEx) {
+                    throw new RuntimeException("Failed to rollback transaction", rollbackEx);
+                }
+            }
+            throw new RuntimeException("Failed to update payment card statuses", e);
+        } finally {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    throw new RuntimeException("Failed to close connection", e);
+                }
+            }
+        }
+    }
+
+    private CardCache.CachedCard lookup(String cardNumber) {
+        // Inside a unit of work reads must see its own uncommitted writes, so skip the cache.
+        if (UnitOfWork.isActive()) {
+            return load(cardNumber);
+        }
+        CardCache.CardKey key = cache.keyOf(cardNumber);
+        CardCache.CachedCard cached = cache.get(key, cardNumber);
+        if (cached != null) {
+            return cached;
+        }
+        long version = cache.version();
+        CardCache.CachedCard loaded = load(cardNumber);
+        cache.put(key, loaded.getCard(), loaded.getAccountIds(), version);
+        return loaded;
+    }
+
+    private CardCache.CachedCard load(String cardNumber) {
+        String sql = "SELECT pc.id, pc.card_number, pc.card_type, pc.status, pc.pin_hash, pc.expiry_date, pc.created_at, pc.updated_at, ac.account_id " +
+                "FROM payment_cards pc LEFT JOIN account_cards ac ON pc.id = ac.card_id WHERE pc.card_number = ?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, cardNumber);
+            try (ResultSet rs = ps.executeQuery()) {
+                PaymentCard card = null;
+                List<Long> accountIds = new ArrayList<>();
+                while (rs.next()) {
+                    if (card == null) {
+                        card = mapResultSetToPaymentCard(rs);
+                    }
+                    long accountId = rs.getLong("account_id");
+                    if (!rs.wasNull()) {
+                        accountIds.add(accountId);
+                    }
+                }
+                return card != null ? CardCache.CachedCard.of(card, accountIds) : CardCache.CachedCard.UNKNOWN;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find payment card by card number", e);
+        }
+    }
+
     private PaymentCard mapResultSetToPaymentCard(ResultSet rs) throws SQLException {
         PaymentCard card = new PaymentCard();
         card.setId(rs.getLong("id"));
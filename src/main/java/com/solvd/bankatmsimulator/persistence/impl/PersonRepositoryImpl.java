@@ -1,20 +1,27 @@
 package com.solvd.bankatmsimulator.persistence.impl;
 
 import com.solvd.bankatmsimulator.domain.Person;
+import com.solvd.bankatmsimulator.persistence.ConnectionPool;
 import com.solvd.bankatmsimulator.persistence.IPersonRepository;
 
 import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class PersonRepositoryImpl implements IPersonRepository {
 
     private final DataSource dataSource;
 
     public PersonRepositoryImpl() {
-        this.dataSource = ConnectionPool.getDataSource();
+        this(ConnectionPool.getDataSource());
+    }
+
+    public PersonRepositoryImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     @Override
@@ -55,6 +62,16 @@ public class PersonRepositoryImpl implements IPersonRepository {
         }
     }
 
+    @Override
+    public List<Person> createAll(Collection<Person> persons) {
+        String sql = "INSERT INTO persons (full_name, email, phone_number) VALUES (?, ?, ?)";
+        return JdbcBatch.insertAll(dataSource, sql, persons, (ps, person) -> {
+            ps.setString(1, person.getFullName());
+            ps.setString(2, person.getEmail());
+            ps.setString(3, person.getPhoneNumber());
+        }, Person::setId, "Failed to create persons");
+    }
+
     @Override
     public Optional<Person> findById(Long id) {
         String sql = "SELECT id, full_name, email, phone_number FROM persons WHERE id = ?";
@@ -88,6 +105,12 @@ public class PersonRepositoryImpl implements IPersonRepository {
         }
     }
 
+    @Override
+    public Stream<Person> streamAll() {
+        String sql = "SELECT id, full_name, email, phone_number FROM persons";
+        return JdbcStream.query(dataSource, sql, this::mapResultSetToPerson, "Failed to stream all persons");
+    }
+
     @Override
     public Person update(Person person) {
         String sql = "UPDATE persons SET full_name = ?, email = ?, phone_number = ? WHERE id = ?";
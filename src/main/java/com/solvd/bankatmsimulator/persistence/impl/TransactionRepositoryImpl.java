@@ -1,21 +1,29 @@
 package com.solvd.bankatmsimulator.persistence.impl;
 
+import com.solvd.bankatmsimulator.domain.Money;
 import com.solvd.bankatmsimulator.domain.Transaction;
+import com.solvd.bankatmsimulator.persistence.ConnectionPool;
 import com.solvd.bankatmsimulator.persistence.ITransactionRepository;
 
 import javax.sql.DataSource;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class TransactionRepositoryImpl implements ITransactionRepository {
 
     private final DataSource dataSource;
 
     public TransactionRepositoryImpl() {
-        this.dataSource = ConnectionPool.getDataSource();
+        this(ConnectionPool.getDataSource());
+    }
+
+    public TransactionRepositoryImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     @Override
@@ -27,7 +35,7 @@ public class TransactionRepositoryImpl implements ITransactionRepository {
             PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
             ps.setObject(1, transaction.getFromAccountId(), Types.BIGINT);
             ps.setObject(2, transaction.getToAccountId(), Types.BIGINT);
-            ps.setBigDecimal(3, transaction.getAmount());
+            ps.setBigDecimal(3, transaction.getAmount().toBigDecimal());
             ps.setString(4, transaction.getCurrency());
             ps.setString(5, transaction.getTransactionType().name());
             ps.setString(6, transaction.getStatus().name());
@@ -62,6 +70,23 @@ public class TransactionRepositoryImpl implements ITransactionRepository {
         }
     }
 
+    @Override
+    public List<Transaction> createAll(Collection<Transaction> transactions) {
+        String sql = "INSERT INTO transactions (from_account_id, to_account_id, amount, currency, transaction_type, status, processed_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        return JdbcBatch.insertAll(dataSource, sql, transactions, (ps, transaction) -> {
+            if (transaction.getProcessedAt() == null) {
+                transaction.setProcessedAt(LocalDateTime.now());
+            }
+            ps.setObject(1, transaction.getFromAccountId(), Types.BIGINT);
+            ps.setObject(2, transaction.getToAccountId(), Types.BIGINT);
+            ps.setBigDecimal(3, transaction.getAmount().toBigDecimal());
+            ps.setString(4, transaction.getCurrency());
+            ps.setString(5, transaction.getTransactionType().name());
+            ps.setString(6, transaction.getStatus().name());
+            ps.setTimestamp(7, Timestamp.valueOf(transaction.getProcessedAt()));
+        }, Transaction::setId, "Failed to create transactions");
+    }
+
     @Override
     public Optional<Transaction> findById(Long id) {
         String sql = "SELECT id, from_account_id, to_account_id, amount, currency, transaction_type, status, processed_at FROM transactions WHERE id = ?";
@@ -95,6 +120,12 @@ public class TransactionRepositoryImpl implements ITransactionRepository {
         }
     }
 
+    @Override
+    public Stream<Transaction> streamAll() {
+        String sql = "SELECT id, from_account_id, to_account_id, amount, currency, transaction_type, status, processed_at FROM transactions";
+        return JdbcStream.query(dataSource, sql, this::mapResultSetToTransaction, "Failed to stream all transactions");
+    }
+
     @Override
     public Transaction update(Transaction transaction) {
         String sql = "UPDATE transactions SET from_account_id = ?, to_account_id = ?, amount = ?, currency = ?, transaction_type = ?, status = ?, processed_at = ? WHERE id = ?";
@@ -104,7 +135,7 @@ public class TransactionRepositoryImpl implements ITransactionRepository {
             PreparedStatement ps = connection.prepareStatement(sql);
             ps.setObject(1, transaction.getFromAccountId(), Types.BIGINT);
             ps.setObject(2, transaction.getToAccountId(), Types.BIGINT);
-            ps.setBigDecimal(3, transaction.getAmount());
+            ps.setBigDecimal(3, transaction.getAmount().toBigDecimal());
             ps.setString(4, transaction.getCurrency());
             ps.setString(5, transaction.getTransactionType().name());
             ps.setString(6, transaction.getStatus().name());
@@ -183,6 +214,50 @@ public class TransactionRepositoryImpl implements ITransactionRepository {
         }
     }
 
+    @Override
+    public List<Transaction> findByAccountId(Long accountId, LocalDateTime afterProcessedAt, Long afterId, int limit) {
+        // Each branch can seek its own (account, processed_at, id) index; an OR across both columns cannot.
+        String columns = "SELECT id, from_account_id, to_account_id, amount, currency, transaction_type, status, processed_at FROM transactions ";
+        String seek = afterProcessedAt != null ? " AND (processed_at < ? OR (processed_at = ? AND id < ?))" : "";
+        String branchOrder = " ORDER BY processed_at DESC, id DESC LIMIT ?";
+        String sql = "(" + columns + "WHERE from_account_id = ?" + seek + branchOrder + ") UNION ALL (" +
+                columns + "WHERE to_account_id = ?" + seek + branchOrder + ") ORDER BY processed_at DESC, id DESC LIMIT ?";
+        List<Transaction> transactions = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = 1;
+            for (int branch = 0; branch < 2; branch++) {
+                ps.setLong(index++, accountId);
+                if (afterProcessedAt != null) {
+                    Timestamp cursor = Timestamp.valueOf(afterProcessedAt);
+                    ps.setTimestamp(index++, cursor);
+                    ps.setTimestamp(index++, cursor);
+                    ps.setLong(index++, afterId);
+                }
+                ps.setInt(index++, limit);
+            }
+            ps.setInt(index, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    transactions.add(mapResultSetToTransaction(rs));
+                }
+            }
+            return transactions;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find transaction page by account id", e);
+        }
+    }
+
+    @Override
+    public Stream<Transaction> streamByAccountId(Long accountId) {
+        String sql = "SELECT id, from_account_id, to_account_id, amount, currency, transaction_type, status, processed_at " +
+                "FROM transactions WHERE from_account_id = ? OR to_account_id = ?";
+        return JdbcStream.query(dataSource, sql, ps -> {
+            ps.setLong(1, accountId);
+            ps.setLong(2, accountId);
+        }, this::mapResultSetToTransaction, "Failed to stream transactions by account id");
+    }
+
     @Override
     public List<Transaction> findByFromAccountId(Long fromAccountId) {
         String sql = "SELECT id, from_account_id, to_account_id, amount, currency, transaction_type, status, processed_at FROM transactions WHERE from_account_id = ?";
@@ -258,8 +333,8 @@ public class TransactionRepositoryImpl implements ITransactionRepository {
         if (!rs.wasNull()) {
             transaction.setToAccountId(toAccountId);
         }
-        transaction.setAmount(rs.getBigDecimal("amount"));
         transaction.setCurrency(rs.getString("currency"));
+        transaction.setAmount(Money.of(rs.getBigDecimal("amount"), transaction.getCurrency()));
         transaction.setTransactionType(Transaction.TransactionType.valueOf(rs.getString("transaction_type")));
         transaction.setStatus(Transaction.TransactionStatus.valueOf(rs.getString("status")));
         Timestamp processedAt = rs.getTimestamp("processed_at");
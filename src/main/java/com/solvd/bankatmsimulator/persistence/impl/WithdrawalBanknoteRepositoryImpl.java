@@ -1,20 +1,28 @@
 package com.solvd.bankatmsimulator.persistence.impl;
 
+import com.solvd.bankatmsimulator.domain.Money;
 import com.solvd.bankatmsimulator.domain.WithdrawalBanknote;
+import com.solvd.bankatmsimulator.persistence.ConnectionPool;
 import com.solvd.bankatmsimulator.persistence.IWithdrawalBanknoteRepository;
 
 import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class WithdrawalBanknoteRepositoryImpl implements IWithdrawalBanknoteRepository {
 
     private final DataSource dataSource;
 
     public WithdrawalBanknoteRepositoryImpl() {
-        this.dataSource = ConnectionPool.getDataSource();
+        this(ConnectionPool.getDataSource());
+    }
+
+    public WithdrawalBanknoteRepositoryImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     @Override
@@ -25,7 +33,7 @@ public class WithdrawalBanknoteRepositoryImpl implements IWithdrawalBanknoteRepo
             connection = dataSource.getConnection();
             PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
             ps.setLong(1, banknote.getWithdrawalId());
-            ps.setBigDecimal(2, banknote.getDenomination());
+            ps.setBigDecimal(2, banknote.getDenomination().toBigDecimal());
             ps.setInt(3, banknote.getQuantity());
             ps.executeUpdate();
             try (ResultSet rs = ps.getGeneratedKeys()) {
@@ -55,6 +63,16 @@ public class WithdrawalBanknoteRepositoryImpl implements IWithdrawalBanknoteRepo
         }
     }
 
+    @Override
+    public List<WithdrawalBanknote> createAll(Collection<WithdrawalBanknote> banknotes) {
+        String sql = "INSERT INTO withdrawal_banknotes (withdrawal_id, denomination, quantity) VALUES (?, ?, ?)";
+        return JdbcBatch.insertAll(dataSource, sql, banknotes, (ps, banknote) -> {
+            ps.setLong(1, banknote.getWithdrawalId());
+            ps.setBigDecimal(2, banknote.getDenomination().toBigDecimal());
+            ps.setInt(3, banknote.getQuantity());
+        }, WithdrawalBanknote::setId, "Failed to create withdrawal banknotes");
+    }
+
     @Override
     public Optional<WithdrawalBanknote> findById(Long id) {
         String sql = "SELECT id, withdrawal_id, denomination, quantity FROM withdrawal_banknotes WHERE id = ?";
@@ -88,6 +106,12 @@ public class WithdrawalBanknoteRepositoryImpl implements IWithdrawalBanknoteRepo
         }
     }
 
+    @Override
+    public Stream<WithdrawalBanknote> streamAll() {
+        String sql = "SELECT id, withdrawal_id, denomination, quantity FROM withdrawal_banknotes";
+        return JdbcStream.query(dataSource, sql, this::mapResultSetToWithdrawalBanknote, "Failed to stream all withdrawal banknotes");
+    }
+
     @Override
     public WithdrawalBanknote update(WithdrawalBanknote banknote) {
         String sql = "UPDATE withdrawal_banknotes SET withdrawal_id = ?, denomination = ?, quantity = ? WHERE id = ?";
@@ -96,7 +120,7 @@ public class WithdrawalBanknoteRepositoryImpl implements IWithdrawalBanknoteRepo
             connection = dataSource.getConnection();
             PreparedStatement ps = connection.prepareStatement(sql);
             ps.setLong(1, banknote.getWithdrawalId());
-            ps.setBigDecimal(2, banknote.getDenomination());
+            ps.setBigDecimal(2, banknote.getDenomination().toBigDecimal());
             ps.setInt(3, banknote.getQuantity());
             ps.setLong(4, banknote.getId());
             ps.executeUpdate();
@@ -174,7 +198,7 @@ public class WithdrawalBanknoteRepositoryImpl implements IWithdrawalBanknoteRepo
         WithdrawalBanknote banknote = new WithdrawalBanknote();
         banknote.setId(rs.getLong("id"));
         banknote.setWithdrawalId(rs.getLong("withdrawal_id"));
-        banknote.setDenomination(rs.getBigDecimal("denomination"));
+        banknote.setDenomination(Money.of(rs.getBigDecimal("denomination"), null));
         banknote.setQuantity(rs.getInt("quantity"));
         return banknote;
     }
@@ -1,6 +1,9 @@
 package com.solvd.bankatmsimulator.persistence.impl;
 
+import com.solvd.bankatmsimulator.domain.Money;
+import com.solvd.bankatmsimulator.domain.Transaction;
 import com.solvd.bankatmsimulator.domain.Withdrawal;
+import com.solvd.bankatmsimulator.domain.WithdrawalBanknote;
 import com.solvd.bankatmsimulator.persistence.ConnectionPool;
 import com.solvd.bankatmsimulator.persistence.IWithdrawalRepository;
 
@@ -8,15 +11,21 @@ import javax.sql.DataSource;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class WithdrawalRepositoryImpl implements IWithdrawalRepository {
 
     private final DataSource dataSource;
 
     public WithdrawalRepositoryImpl() {
-        this.dataSource = ConnectionPool.getDataSource();
+        this(ConnectionPool.getDataSource());
+    }
+
+    public WithdrawalRepositoryImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     @Override
@@ -30,7 +39,7 @@ public class WithdrawalRepositoryImpl implements IWithdrawalRepository {
             ps.setLong(2, withdrawal.getTransactionId());
             ps.setLong(3, withdrawal.getAtmId());
             ps.setString(4, withdrawal.getCurrency());
-            ps.setBigDecimal(5, withdrawal.getTotalAmount());
+            ps.setBigDecimal(5, withdrawal.getTotalAmount().toBigDecimal());
             LocalDateTime processedAt = withdrawal.getProcessedAt() != null ? withdrawal.getProcessedAt() : LocalDateTime.now();
             ps.setTimestamp(6, Timestamp.valueOf(processedAt));
             ps.executeUpdate();
@@ -40,6 +49,7 @@ public class WithdrawalRepositoryImpl implements IWithdrawalRepository {
                     withdrawal.setProcessedAt(processedAt);
                 }
             }
+            insertBanknotes(connection, List.of(withdrawal));
             connection.commit();
             return withdrawal;
         } catch (SQLException e) {
@@ -62,6 +72,22 @@ public class WithdrawalRepositoryImpl implements IWithdrawalRepository {
         }
     }
 
+    @Override
+    public List<Withdrawal> createAll(Collection<Withdrawal> withdrawals) {
+        String sql = "INSERT INTO withdrawals (account_id, transaction_id, atm_id, currency, total_amount, processed_at) VALUES (?, ?, ?, ?, ?, ?)";
+        return JdbcBatch.insertAll(dataSource, sql, withdrawals, (ps, withdrawal) -> {
+            if (withdrawal.getProcessedAt() == null) {
+                withdrawal.setProcessedAt(LocalDateTime.now());
+            }
+            ps.setLong(1, withdrawal.getAccountId());
+            ps.setLong(2, withdrawal.getTransactionId());
+            ps.setLong(3, withdrawal.getAtmId());
+            ps.setString(4, withdrawal.getCurrency());
+            ps.setBigDecimal(5, withdrawal.getTotalAmount().toBigDecimal());
+            ps.setTimestamp(6, Timestamp.valueOf(withdrawal.getProcessedAt()));
+        }, Withdrawal::setId, this::insertBanknotes, "Failed to create withdrawals");
+    }
+
     @Override
     public Optional<Withdrawal> findById(Long id) {
         String sql = "SELECT id, account_id, transaction_id, atm_id, currency, total_amount, processed_at FROM withdrawals WHERE id = ?";
@@ -95,6 +121,12 @@ public class WithdrawalRepositoryImpl implements IWithdrawalRepository {
         }
     }
 
+    @Override
+    public Stream<Withdrawal> streamAll() {
+        String sql = "SELECT id, account_id, transaction_id, atm_id, currency, total_amount, processed_at FROM withdrawals";
+        return JdbcStream.query(dataSource, sql, this::mapResultSetToWithdrawal, "Failed to stream all withdrawals");
+    }
+
     @Override
     public Withdrawal update(Withdrawal withdrawal) {
         String sql = "UPDATE withdrawals SET account_id = ?, transaction_id = ?, atm_id = ?, currency = ?, total_amount = ?, processed_at = ? WHERE id = ?";
@@ -106,7 +138,7 @@ public class WithdrawalRepositoryImpl implements IWithdrawalRepository {
             ps.setLong(2, withdrawal.getTransactionId());
             ps.setLong(3, withdrawal.getAtmId());
             ps.setString(4, withdrawal.getCurrency());
-            ps.setBigDecimal(5, withdrawal.getTotalAmount());
+            ps.setBigDecimal(5, withdrawal.getTotalAmount().toBigDecimal());
             ps.setTimestamp(6, Timestamp.valueOf(withdrawal.getProcessedAt()));
             ps.setLong(7, withdrawal.getId());
             ps.executeUpdate();
@@ -216,6 +248,129 @@ public class WithdrawalRepositoryImpl implements IWithdrawalRepository {
         }
     }
 
+    @Override
+    public Stream<Withdrawal> streamByAtmId(Long atmId) {
+        String sql = "SELECT id, account_id, transaction_id, atm_id, currency, total_amount, processed_at FROM withdrawals WHERE atm_id = ?";
+        return JdbcStream.query(dataSource, sql, ps -> ps.setLong(1, atmId),
+                this::mapResultSetToWithdrawal, "Failed to stream withdrawals by ATM id");
+    }
+
+    @Override
+    public Stream<Withdrawal> streamWithBanknotesSince(LocalDateTime since) {
+        String sql = "SELECT w.id, w.account_id, w.transaction_id, w.atm_id, w.currency, w.total_amount, w.processed_at, " +
+                "wb.id AS banknote_id, wb.denomination, wb.quantity " +
+                "FROM withdrawals w JOIN withdrawal_banknotes wb ON wb.withdrawal_id = w.id " +
+                "WHERE w.processed_at >= ? ORDER BY w.atm_id, w.processed_at, w.id";
+        Stream<Withdrawal> rows = JdbcStream.query(dataSource, sql, ps -> ps.setTimestamp(1, Timestamp.valueOf(since)),
+                rs -> {
+                    Withdrawal withdrawal = mapResultSetToWithdrawal(rs);
+                    WithdrawalBanknote banknote = new WithdrawalBanknote();
+                    banknote.setId(rs.getLong("banknote_id"));
+                    banknote.setWithdrawalId(withdrawal.getId());
+                    banknote.setDenomination(Money.of(rs.getBigDecimal("denomination"), null));
+                    banknote.setQuantity(rs.getInt("quantity"));
+                    withdrawal.addBanknote(banknote);
+                    return withdrawal;
+                }, "Failed to stream withdrawals with banknotes");
+        return JdbcStream.groupAdjacent(rows, (a, b) -> a.getId().equals(b.getId()),
+                (into, row) -> into.getBanknotes().addAll(row.getBanknotes()));
+    }
+
+    @Override
+    public Optional<Withdrawal> createWithDebit(Withdrawal withdrawal, Transaction transaction) {
+        String debitSql = "UPDATE accounts SET balance = balance - ?, updated_at = ? " +
+                "WHERE id = ? AND currency = ? AND balance >= ?";
+        String transactionSql = "INSERT INTO transactions (from_account_id, to_account_id, amount, currency, transaction_type, status, processed_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String withdrawalSql = "INSERT INTO withdrawals (account_id, transaction_id, atm_id, currency, total_amount, processed_at) VALUES (?, ?, ?, ?, ?, ?)";
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            LocalDateTime processedAt = withdrawal.getProcessedAt() != null ? withdrawal.getProcessedAt() : LocalDateTime.now();
+
+            try (PreparedStatement ps = connection.prepareStatement(debitSql)) {
+                ps.setBigDecimal(1, withdrawal.getTotalAmount().toBigDecimal());
+                ps.setTimestamp(2, Timestamp.valueOf(processedAt));
+                ps.setLong(3, withdrawal.getAccountId());
+                ps.setString(4, withdrawal.getCurrency());
+                ps.setBigDecimal(5, withdrawal.getTotalAmount().toBigDecimal());
+                if (ps.executeUpdate() == 0) {
+                    return Optional.empty();
+                }
+            }
+
+            try (PreparedStatement ps = connection.prepareStatement(transactionSql, Statement.RETURN_GENERATED_KEYS)) {
+                ps.setObject(1, transaction.getFromAccountId(), Types.BIGINT);
+                ps.setObject(2, transaction.getToAccountId(), Types.BIGINT);
+                ps.setBigDecimal(3, transaction.getAmount().toBigDecimal());
+                ps.setString(4, transaction.getCurrency());
+                ps.setString(5, transaction.getTransactionType().name());
+                ps.setString(6, transaction.getStatus().name());
+                ps.setTimestamp(7, Timestamp.valueOf(processedAt));
+                ps.executeUpdate();
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    if (rs.next()) {
+                        transaction.setId(rs.getLong(1));
+                        transaction.setProcessedAt(processedAt);
+                    }
+                }
+            }
+
+            try (PreparedStatement ps = connection.prepareStatement(withdrawalSql, Statement.RETURN_GENERATED_KEYS)) {
+                ps.setLong(1, withdrawal.getAccountId());
+                ps.setLong(2, transaction.getId());
+                ps.setLong(3, withdrawal.getAtmId());
+                ps.setString(4, withdrawal.getCurrency());
+                ps.setBigDecimal(5, withdrawal.getTotalAmount().toBigDecimal());
+                ps.setTimestamp(6, Timestamp.valueOf(processedAt));
+                ps.executeUpdate();
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    if (rs.next()) {
+                        withdrawal.setId(rs.getLong(1));
+                        withdrawal.setTransactionId(transaction.getId());
+                        withdrawal.setProcessedAt(processedAt);
+                    }
+                }
+            }
+
+            insertBanknotes(connection, List.of(withdrawal));
+            connection.commit();
+            return Optional.of(withdrawal);
+        } catch (SQLException e) {
+            if (connection != null) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackEx) {
+                    throw new RuntimeException("Failed to rollback transaction", rollbackEx);
+                }
+            }
+            throw new RuntimeException("Failed to process withdrawal", e);
+        } finally {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    throw new RuntimeException("Failed to close connection", e);
+                }
+            }
+        }
+    }
+
+    private void insertBanknotes(Connection connection, List<Withdrawal> withdrawals) throws SQLException {
+        String sql = "INSERT INTO withdrawal_banknotes (withdrawal_id, denomination, quantity) VALUES (?, ?, ?)";
+        List<WithdrawalBanknote> banknotes = new ArrayList<>();
+        for (Withdrawal withdrawal : withdrawals) {
+            for (WithdrawalBanknote banknote : withdrawal.getBanknotes()) {
+                banknote.setWithdrawalId(withdrawal.getId());
+                banknotes.add(banknote);
+            }
+        }
+        JdbcBatch.insertAll(connection, sql, banknotes, (ps, banknote) -> {
+            ps.setLong(1, banknote.getWithdrawalId());
+            ps.setBigDecimal(2, banknote.getDenomination().toBigDecimal());
+            ps.setInt(3, banknote.getQuantity());
+        }, WithdrawalBanknote::setId);
+    }
+
     private Withdrawal mapResultSetToWithdrawal(ResultSet rs) throws SQLException {
         Withdrawal withdrawal = new Withdrawal();
         withdrawal.setId(rs.getLong("id"));
@@ -223,7 +378,7 @@ public class WithdrawalRepositoryImpl implements IWithdrawalRepository {
         withdrawal.setTransactionId(rs.getLong("transaction_id"));
         withdrawal.setAtmId(rs.getLong("atm_id"));
         withdrawal.setCurrency(rs.getString("currency"));
-        withdrawal.setTotalAmount(rs.getBigDecimal("total_amount"));
+        withdrawal.setTotalAmount(Money.of(rs.getBigDecimal("total_amount"), withdrawal.getCurrency()));
         Timestamp processedAt = rs.getTimestamp("processed_at");
         if (processedAt != null) {
             withdrawal.setProcessedAt(processedAt.toLocalDateTime());
@@ -1,8 +1,10 @@
 package com.solvd.bankatmsimulator.service;
 
 import com.solvd.bankatmsimulator.domain.ATMBanknote;
+import com.solvd.bankatmsimulator.domain.Money;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface IATMBanknoteService {
 
@@ -12,11 +14,29 @@ public interface IATMBanknoteService {
 
     ATMBanknote getById(long id);
 
+    Optional<ATMBanknote> findById(long id);
+
     List<ATMBanknote> getAll();
 
+    List<ATMBanknote> findAll();
+
     void delete(long id);
 
     List<ATMBanknote> getByAtmId(long atmId);
 
+    List<ATMBanknote> findByAtmId(long atmId);
+
     List<ATMBanknote> getByAtmIdAndCurrency(long atmId, String currency);
+
+    List<ATMBanknote> findByAtmIdAndCurrency(long atmId, String currency);
+
+    /**
+     * Notes of one denomination in the ATM, read from the in-memory inventory.
+     */
+    int getAvailable(long atmId, String currency, Money denomination);
+
+    /**
+     * Adds or removes notes of one denomination without a read-modify-write of the row.
+     */
+    void adjustQuantity(long atmId, String currency, Money denomination, int delta);
 }
@@ -3,6 +3,7 @@ package com.solvd.bankatmsimulator.service;
 import com.solvd.bankatmsimulator.domain.ATM;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface IATMService {
 
@@ -12,11 +13,19 @@ public interface IATMService {
 
     ATM getById(long id);
 
+    Optional<ATM> findById(long id);
+
     List<ATM> getAll();
 
+    List<ATM> findAll();
+
     void delete(long id);
 
     List<ATM> getActiveATMs();
 
+    List<ATM> findActiveATMs();
+
     List<ATM> getByLocation(String location);
+
+    List<ATM> findByLocation(String location);
 }
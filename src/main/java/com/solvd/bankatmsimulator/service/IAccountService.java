@@ -3,6 +3,7 @@ package com.solvd.bankatmsimulator.service;
 import com.solvd.bankatmsimulator.domain.Account;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface IAccountService {
 
@@ -12,13 +13,21 @@ public interface IAccountService {
 
     Account getById(long id);
 
+    Optional<Account> findById(long id);
+
     List<Account> getAll();
 
+    List<Account> findAll();
+
     void delete(long id);
 
     Account getByAccountNumber(String accountNumber);
 
     List<Account> getByCurrency(String currency);
 
+    List<Account> findByCurrency(String currency);
+
     List<Account> getByPersonId(long personId);
+
+    List<Account> findByPersonId(long personId);
 }
@@ -3,6 +3,7 @@ package com.solvd.bankatmsimulator.service;
 import com.solvd.bankatmsimulator.domain.DepositBanknote;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface IDepositBanknoteService {
 
@@ -12,9 +13,15 @@ public interface IDepositBanknoteService {
 
     DepositBanknote getById(long id);
 
+    Optional<DepositBanknote> findById(long id);
+
     List<DepositBanknote> getAll();
 
+    List<DepositBanknote> findAll();
+
     void delete(long id);
 
     List<DepositBanknote> getByDepositId(long depositId);
+
+    List<DepositBanknote> findByDepositId(long depositId);
 }
@@ -0,0 +1,15 @@
+package com.solvd.bankatmsimulator.service;
+
+import com.solvd.bankatmsimulator.domain.Deposit;
+import com.solvd.bankatmsimulator.domain.DepositBanknote;
+import com.solvd.bankatmsimulator.domain.Money;
+
+import java.util.List;
+
+public interface IDepositProcessor {
+
+    /**
+     * Credits {@code amount} (in its own currency) and records the deposit and its banknotes atomically.
+     */
+    Deposit process(long accountId, long atmId, Money amount, List<DepositBanknote> banknotes);
+}
@@ -3,6 +3,7 @@ package com.solvd.bankatmsimulator.service;
 import com.solvd.bankatmsimulator.domain.Deposit;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface IDepositService {
 
@@ -12,11 +13,19 @@ public interface IDepositService {
 
     Deposit getById(long id);
 
+    Optional<Deposit> findById(long id);
+
     List<Deposit> getAll();
 
+    List<Deposit> findAll();
+
     void delete(long id);
 
     List<Deposit> getByTransactionId(long transactionId);
 
+    List<Deposit> findByTransactionId(long transactionId);
+
     List<Deposit> getByAtmId(long atmId);
+
+    List<Deposit> findByAtmId(long atmId);
 }
@@ -3,6 +3,7 @@ package com.solvd.bankatmsimulator.service;
 import com.solvd.bankatmsimulator.domain.PaymentCard;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface IPaymentCardService {
 
@@ -12,15 +13,27 @@ public interface IPaymentCardService {
 
     PaymentCard getById(long id);
 
+    Optional<PaymentCard> findById(long id);
+
     List<PaymentCard> getAll();
 
+    List<PaymentCard> findAll();
+
     void delete(long id);
 
     PaymentCard getByCardNumber(String cardNumber);
 
+    List<Long> findAccountIdsByCardNumber(String cardNumber);
+
     List<PaymentCard> getByAccountId(long accountId);
 
+    List<PaymentCard> findByAccountId(long accountId);
+
     List<PaymentCard> getByStatus(PaymentCard.CardStatus status);
 
+    List<PaymentCard> findByStatus(PaymentCard.CardStatus status);
+
     List<PaymentCard> getExpiredCards();
+
+    List<PaymentCard> findExpiredCards();
 }
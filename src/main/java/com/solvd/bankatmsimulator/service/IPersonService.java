@@ -3,6 +3,7 @@ package com.solvd.bankatmsimulator.service;
 import com.solvd.bankatmsimulator.domain.Person;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface IPersonService {
 
@@ -12,8 +13,12 @@ public interface IPersonService {
 
     Person getById(long id);
 
+    Optional<Person> findById(long id);
+
     List<Person> getAll();
 
+    List<Person> findAll();
+
     void delete(long id);
 
     Person getByEmail(String email);
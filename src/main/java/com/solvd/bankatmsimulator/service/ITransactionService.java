@@ -2,7 +2,9 @@ package com.solvd.bankatmsimulator.service;
 
 import com.solvd.bankatmsimulator.domain.Transaction;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface ITransactionService {
 
@@ -12,17 +14,43 @@ public interface ITransactionService {
 
     Transaction getById(long id);
 
+    Optional<Transaction> findById(long id);
+
     List<Transaction> getAll();
 
+    List<Transaction> findAll();
+
     void delete(long id);
 
     List<Transaction> getByAccountId(long accountId);
 
+    List<Transaction> findByAccountId(long accountId);
+
+    /**
+     * Largest page {@link #getByAccountId(long, LocalDateTime, Long, int)} accepts.
+     */
+    int MAX_PAGE_SIZE = 1_000;
+
+    /**
+     * One page of an account's history, newest first. Pass {@code null} cursor values for the first page,
+     * then the processedAt and id of the last transaction of the previous page. {@code limit} must be between
+     * 1 and {@link #MAX_PAGE_SIZE}.
+     */
+    List<Transaction> getByAccountId(long accountId, LocalDateTime afterProcessedAt, Long afterId, int limit);
+
     List<Transaction> getByFromAccountId(long accountId);
 
+    List<Transaction> findByFromAccountId(long accountId);
+
     List<Transaction> getByToAccountId(long accountId);
 
+    List<Transaction> findByToAccountId(long accountId);
+
     List<Transaction> getByType(Transaction.TransactionType type);
 
+    List<Transaction> findByType(Transaction.TransactionType type);
+
     List<Transaction> getByStatus(Transaction.TransactionStatus status);
+
+    List<Transaction> findByStatus(Transaction.TransactionStatus status);
 }
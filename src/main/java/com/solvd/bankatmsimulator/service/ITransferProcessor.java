@@ -0,0 +1,13 @@
+package com.solvd.bankatmsimulator.service;
+
+import com.solvd.bankatmsimulator.domain.Money;
+import com.solvd.bankatmsimulator.domain.Transaction;
+
+public interface ITransferProcessor {
+
+    /**
+     * Moves {@code amount} between two accounts and records the transfer atomically;
+     * nothing changes if the source account cannot cover it.
+     */
+    Transaction process(long fromAccountId, long toAccountId, Money amount);
+}
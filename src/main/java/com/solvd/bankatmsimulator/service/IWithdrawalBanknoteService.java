@@ -3,6 +3,7 @@ package com.solvd.bankatmsimulator.service;
 import com.solvd.bankatmsimulator.domain.WithdrawalBanknote;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface IWithdrawalBanknoteService {
 
@@ -12,9 +13,15 @@ public interface IWithdrawalBanknoteService {
 
     WithdrawalBanknote getById(long id);
 
+    Optional<WithdrawalBanknote> findById(long id);
+
     List<WithdrawalBanknote> getAll();
 
+    List<WithdrawalBanknote> findAll();
+
     void delete(long id);
 
     List<WithdrawalBanknote> getByWithdrawalId(long withdrawalId);
+
+    List<WithdrawalBanknote> findByWithdrawalId(long withdrawalId);
 }
@@ -0,0 +1,16 @@
+package com.solvd.bankatmsimulator.service;
+
+import com.solvd.bankatmsimulator.domain.Money;
+import com.solvd.bankatmsimulator.domain.Withdrawal;
+import com.solvd.bankatmsimulator.domain.WithdrawalBanknote;
+
+import java.util.List;
+
+public interface IWithdrawalProcessor {
+
+    /**
+     * Debits {@code amount} (in its own currency) and records the withdrawal atomically. Pass {@code null} or an
+     * empty list to let the ATM pick the notes; otherwise {@code banknotes} must add up to {@code amount}.
+     */
+    Withdrawal process(long accountId, long atmId, Money amount, List<WithdrawalBanknote> banknotes);
+}
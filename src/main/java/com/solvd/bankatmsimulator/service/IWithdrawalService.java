@@ -3,6 +3,7 @@ package com.solvd.bankatmsimulator.service;
 import com.solvd.bankatmsimulator.domain.Withdrawal;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface IWithdrawalService {
 
@@ -12,13 +13,23 @@ public interface IWithdrawalService {
 
     Withdrawal getById(long id);
 
+    Optional<Withdrawal> findById(long id);
+
     List<Withdrawal> getAll();
 
+    List<Withdrawal> findAll();
+
     void delete(long id);
 
     List<Withdrawal> getByAccountId(long accountId);
 
+    List<Withdrawal> findByAccountId(long accountId);
+
     List<Withdrawal> getByTransactionId(long transactionId);
 
+    List<Withdrawal> findByTransactionId(long transactionId);
+
     List<Withdrawal> getByAtmId(long atmId);
+
+    List<Withdrawal> findByAtmId(long atmId);
 }
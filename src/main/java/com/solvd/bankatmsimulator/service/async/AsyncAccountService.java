@@ -0,0 +1,75 @@
+package com.solvd.bankatmsimulator.service.async;
+
+import com.solvd.bankatmsimulator.domain.Account;
+import com.solvd.bankatmsimulator.service.IAccountService;
+import com.solvd.bankatmsimulator.service.impl.AccountServiceImpl;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking view of {@link IAccountService}: each call runs on the {@link ServiceExecutor}.
+ */
+public class AsyncAccountService {
+
+    private final IAccountService service;
+    private final ServiceExecutor executor;
+
+    public AsyncAccountService() {
+        this(new AccountServiceImpl(), ServiceExecutor.getInstance());
+    }
+
+    public AsyncAccountService(IAccountService service, ServiceExecutor executor) {
+        this.service = service;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<Account> register(Account account) {
+        return executor.submit(() -> service.register(account));
+    }
+
+    public CompletableFuture<Account> update(Account account) {
+        return executor.submit(() -> service.update(account));
+    }
+
+    public CompletableFuture<Account> getById(long id) {
+        return executor.submit(() -> service.getById(id));
+    }
+
+    public CompletableFuture<Optional<Account>> findById(long id) {
+        return executor.submit(() -> service.findById(id));
+    }
+
+    public CompletableFuture<List<Account>> getAll() {
+        return executor.submit(() -> service.getAll());
+    }
+
+    public CompletableFuture<List<Account>> findAll() {
+        return executor.submit(() -> service.findAll());
+    }
+
+    public CompletableFuture<Void> delete(long id) {
+        return executor.run(() -> service.delete(id));
+    }
+
+    public CompletableFuture<Account> getByAccountNumber(String accountNumber) {
+        return executor.submit(() -> service.getByAccountNumber(accountNumber));
+    }
+
+    public CompletableFuture<List<Account>> getByCurrency(String currency) {
+        return executor.submit(() -> service.getByCurrency(currency));
+    }
+
+    public CompletableFuture<List<Account>> findByCurrency(String currency) {
+        return executor.submit(() -> service.findByCurrency(currency));
+    }
+
+    public CompletableFuture<List<Account>> getByPersonId(long personId) {
+        return executor.submit(() -> service.getByPersonId(personId));
+    }
+
+    public CompletableFuture<List<Account>> findByPersonId(long personId) {
+        return executor.submit(() -> service.findByPersonId(personId));
+    }
+}
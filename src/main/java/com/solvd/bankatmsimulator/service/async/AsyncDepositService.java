@@ -0,0 +1,71 @@
+package com.solvd.bankatmsimulator.service.async;
+
+import com.solvd.bankatmsimulator.domain.Deposit;
+import com.solvd.bankatmsimulator.service.IDepositService;
+import com.solvd.bankatmsimulator.service.impl.DepositServiceImpl;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking view of {@link IDepositService}: each call runs on the {@link ServiceExecutor}.
+ */
+public class AsyncDepositService {
+
+    private final IDepositService service;
+    private final ServiceExecutor executor;
+
+    public AsyncDepositService() {
+        this(new DepositServiceImpl(), ServiceExecutor.getInstance());
+    }
+
+    public AsyncDepositService(IDepositService service, ServiceExecutor executor) {
+        this.service = service;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<Deposit> register(Deposit deposit) {
+        return executor.submit(() -> service.register(deposit));
+    }
+
+    public CompletableFuture<Deposit> update(Deposit deposit) {
+        return executor.submit(() -> service.update(deposit));
+    }
+
+    public CompletableFuture<Deposit> getById(long id) {
+        return executor.submit(() -> service.getById(id));
+    }
+
+    public CompletableFuture<Optional<Deposit>> findById(long id) {
+        return executor.submit(() -> service.findById(id));
+    }
+
+    public CompletableFuture<List<Deposit>> getAll() {
+        return executor.submit(() -> service.getAll());
+    }
+
+    public CompletableFuture<List<Deposit>> findAll() {
+        return executor.submit(() -> service.findAll());
+    }
+
+    public CompletableFuture<Void> delete(long id) {
+        return executor.run(() -> service.delete(id));
+    }
+
+    public CompletableFuture<List<Deposit>> getByTransactionId(long transactionId) {
+        return executor.submit(() -> service.getByTransactionId(transactionId));
+    }
+
+    public CompletableFuture<List<Deposit>> findByTransactionId(long transactionId) {
+        return executor.submit(() -> service.findByTransactionId(transactionId));
+    }
+
+    public CompletableFuture<List<Deposit>> getByAtmId(long atmId) {
+        return executor.submit(() -> service.getByAtmId(atmId));
+    }
+
+    public CompletableFuture<List<Deposit>> findByAtmId(long atmId) {
+        return executor.submit(() -> service.findByAtmId(atmId));
+    }
+}
@@ -0,0 +1,105 @@
+package com.solvd.bankatmsimulator.service.async;
+
+import com.solvd.bankatmsimulator.domain.Transaction;
+import com.solvd.bankatmsimulator.service.ITransactionService;
+import com.solvd.bankatmsimulator.service.impl.TransactionServiceImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking view of {@link ITransactionService}: each call runs on the {@link ServiceExecutor}.
+ */
+public class AsyncTransactionService {
+
+    private final ITransactionService service;
+    private final ServiceExecutor executor;
+
+    public AsyncTransactionService() {
+        this(new TransactionServiceImpl(), ServiceExecutor.getInstance());
+    }
+
+    public AsyncTransactionService(ITransactionService service, ServiceExecutor executor) {
+        this.service = service;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<Transaction> register(Transaction transaction) {
+        return executor.submit(() -> service.register(transaction));
+    }
+
+    public CompletableFuture<Transaction> update(Transaction transaction) {
+        return executor.submit(() -> service.update(transaction));
+    }
+
+    public CompletableFuture<Transaction> getById(long id) {
+        return executor.submit(() -> service.getById(id));
+    }
+
+    public CompletableFuture<Optional<Transaction>> findById(long id) {
+        return executor.submit(() -> service.findById(id));
+    }
+
+    public CompletableFuture<List<Transaction>> getAll() {
+        return executor.submit(() -> service.getAll());
+    }
+
+    public CompletableFuture<List<Transaction>> findAll() {
+        return executor.submit(() -> service.findAll());
+    }
+
+    public CompletableFuture<Void> delete(long id) {
+        return executor.run(() -> service.delete(id));
+    }
+
+    public CompletableFuture<List<Transaction>> getByAccountId(long accountId) {
+        return executor.submit(() -> service.getByAccountId(accountId));
+    }
+
+    public CompletableFuture<List<Transaction>> findByAccountId(long accountId) {
+        return executor.submit(() -> service.findByAccountId(accountId));
+    }
+
+    /**
+     * One page of an account's history, newest first. Pass {@code null} cursor values for the first page,
+     * then the processedAt and id of the last transaction of the previous page.
+     */
+    public CompletableFuture<List<Transaction>> getByAccountId(long accountId, LocalDateTime afterProcessedAt,
+                                                              Long afterId, int limit) {
+        return executor.submit(() -> service.getByAccountId(accountId, afterProcessedAt, afterId, limit));
+    }
+
+    public CompletableFuture<List<Transaction>> getByFromAccountId(long accountId) {
+        return executor.submit(() -> service.getByFromAccountId(accountId));
+    }
+
+    public CompletableFuture<List<Transaction>> findByFromAccountId(long accountId) {
+        return executor.submit(() -> service.findByFromAccountId(accountId));
+    }
+
+    public CompletableFuture<List<Transaction>> getByToAccountId(long accountId) {
+        return executor.submit(() -> service.getByToAccountId(accountId));
+    }
+
+    public CompletableFuture<List<Transaction>> findByToAccountId(long accountId) {
+        return executor.submit(() -> service.findByToAccountId(accountId));
+    }
+
+    public CompletableFuture<List<Transaction>> getByType(Transaction.TransactionType type) {
+        return executor.submit(() -> service.getByType(type));
+    }
+
+    public CompletableFuture<List<Transaction>> findByType(Transaction.TransactionType type) {
+        return executor.submit(() -> service.findByType(type));
+    }
+
+    public CompletableFuture<List<Transaction>> getByStatus(Transaction.TransactionStatus status) {
+        return executor.submit(() -> service.getByStatus(status));
+    }
+
+    public CompletableFuture<List<Transaction>> findByStatus(Transaction.TransactionStatus status) {
+        return executor.submit(() -> service.findByStatus(status));
+    }
+}
@@ -0,0 +1,79 @@
+package com.solvd.bankatmsimulator.service.async;
+
+import com.solvd.bankatmsimulator.domain.Withdrawal;
+import com.solvd.bankatmsimulator.service.IWithdrawalService;
+import com.solvd.bankatmsimulator.service.impl.WithdrawalServiceImpl;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking view of {@link IWithdrawalService}: each call runs on the {@link ServiceExecutor}.
+ */
+public class AsyncWithdrawalService {
+
+    private final IWithdrawalService service;
+    private final ServiceExecutor executor;
+
+    public AsyncWithdrawalService() {
+        this(new WithdrawalServiceImpl(), ServiceExecutor.getInstance());
+    }
+
+    public AsyncWithdrawalService(IWithdrawalService service, ServiceExecutor executor) {
+        this.service = service;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<Withdrawal> register(Withdrawal withdrawal) {
+        return executor.submit(() -> service.register(withdrawal));
+    }
+
+    public CompletableFuture<Withdrawal> update(Withdrawal withdrawal) {
+        return executor.submit(() -> service.update(withdrawal));
+    }
+
+    public CompletableFuture<Withdrawal> getById(long id) {
+        return executor.submit(() -> service.getById(id));
+    }
+
+    public CompletableFuture<Optional<Withdrawal>> findById(long id) {
+        return executor.submit(() -> service.findById(id));
+    }
+
+    public CompletableFuture<List<Withdrawal>> getAll() {
+        return executor.submit(() -> service.getAll());
+    }
+
+    public CompletableFuture<List<Withdrawal>> findAll() {
+        return executor.submit(() -> service.findAll());
+    }
+
+    public CompletableFuture<Void> delete(long id) {
+        return executor.run(() -> service.delete(id));
+    }
+
+    public CompletableFuture<List<Withdrawal>> getByAccountId(long accountId) {
+        return executor.submit(() -> service.getByAccountId(accountId));
+    }
+
+    public CompletableFuture<List<Withdrawal>> findByAccountId(long accountId) {
+        return executor.submit(() -> service.findByAccountId(accountId));
+    }
+
+    public CompletableFuture<List<Withdrawal>> getByTransactionId(long transactionId) {
+        return executor.submit(() -> service.getByTransactionId(transactionId));
+    }
+
+    public CompletableFuture<List<Withdrawal>> findByTransactionId(long transactionId) {
+        return executor.submit(() -> service.findByTransactionId(transactionId));
+    }
+
+    public CompletableFuture<List<Withdrawal>> getByAtmId(long atmId) {
+        return executor.submit(() -> service.getByAtmId(atmId));
+    }
+
+    public CompletableFuture<List<Withdrawal>> findByAtmId(long atmId) {
+        return executor.submit(() -> service.findByAtmId(atmId));
+    }
+}
@@ -0,0 +1,160 @@
+package com.solvd.bankatmsimulator.service.async;
+
+import com.solvd.bankatmsimulator.persistence.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking service calls off the caller's thread on a bounded pool and hands back a {@link CompletableFuture}.
+ * <p>
+ * The build targets Java 17, so this is a bounded executor rather than a virtual thread per task: on 17 the
+ * pool is a few platform threads, enough to keep the connection pool busy, and admitted calls queue for them.
+ * Only when the same jar runs on Java 21+ are the pool's threads virtual, one per admitted call. Either way at
+ * most {@code maxInFlight} calls are admitted; past that, {@link #submit} returns a future already failed with
+ * {@link RejectedExecutionException} without blocking the caller. Concurrency is deliberately independent of
+ * the connection pool size: running calls simply queue inside Hikari for one of its connections.
+ */
+public final class ServiceExecutor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceExecutor.class);
+
+    private final ThreadPoolExecutor executor;
+    private final boolean virtualThreads;
+    private final Semaphore admission;
+    private final int maxInFlight;
+    private final LongAdder rejected = new LongAdder();
+
+    public ServiceExecutor(int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+        ThreadFactory virtual = virtualThreads("service-executor-");
+        this.virtualThreads = virtual != null;
+        // Platform threads beyond the connection pool would only wait for a connection.
+        int threads = virtual != null ? maxInFlight : Math.min(maxInFlight, Config.POOL_SIZE * 2);
+        // The queue never holds more than maxInFlight - threads calls: admission bounds it.
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                virtual != null ? virtual : platformThreads("service-executor-"));
+        this.executor.allowCoreThreadTimeOut(true);
+        this.maxInFlight = maxInFlight;
+        this.admission = new Semaphore(maxInFlight);
+        log.info("Service executor started: up to {} {} threads, at most {} calls in flight",
+                threads, virtualThreads ? "virtual" : "platform", maxInFlight);
+    }
+
+    public static ServiceExecutor getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        if (!admission.tryAcquire()) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "More than " + maxInFlight + " service calls in flight"));
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(work.get());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    admission.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            admission.release();
+            rejected.increment();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    public CompletableFuture<Void> run(Runnable work) {
+        return submit(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public int getInFlight() {
+        return maxInFlight - admission.availablePermits();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Stops accepting calls and waits briefly for the admitted ones to finish.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("{} service calls still running after shutdown", getInFlight());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Virtual threads when running on Java 21+, otherwise daemon platform threads; names are {@code prefix}
+     * plus a counter. Shared with anything else that wants a thread per task, like the load generator.
+     */
+    public static ThreadFactory threadFactory(String prefix) {
+        ThreadFactory virtual = virtualThreads(prefix);
+        return virtual != null ? virtual : platformThreads(prefix);
+    }
+
+    /**
+     * {@code Thread.ofVirtual().name(prefix, 1).factory()} when running on Java 21+, otherwise {@code null}.
+     * Looked up reflectively so the build itself can stay on Java 17.
+     */
+    private static ThreadFactory virtualThreads(String prefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 1L);
+            Method factory = builderType.getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            log.warn("Virtual threads unavailable, using platform threads: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static ThreadFactory platformThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Holder {
+        private static final ServiceExecutor INSTANCE = new ServiceExecutor(Config.ASYNC_MAX_IN_FLIGHT);
+    }
+}
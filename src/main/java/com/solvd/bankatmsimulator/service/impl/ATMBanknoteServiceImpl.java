@@ -1,70 +1,101 @@
 package com.solvd.bankatmsimulator.service.impl;
 
 import com.mysql.cj.util.StringUtils;
+import com.solvd.bankatmsimulator.dispense.ATMInventoryManager;
 import com.solvd.bankatmsimulator.domain.ATMBanknote;
+import com.solvd.bankatmsimulator.domain.Money;
 import com.solvd.bankatmsimulator.exception.ATMBanknoteException;
+import com.solvd.bankatmsimulator.metrics.Metrics;
 import com.solvd.bankatmsimulator.persistence.IATMBanknoteRepository;
 import com.solvd.bankatmsimulator.persistence.impl.ATMBanknoteRepositoryImpl;
 import com.solvd.bankatmsimulator.service.IATMBanknoteService;
 
-import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 public class ATMBanknoteServiceImpl implements IATMBanknoteService {
 
     private final IATMBanknoteRepository repository;
+    private final ATMInventoryManager inventory;
 
     public ATMBanknoteServiceImpl() {
-        this.repository = new ATMBanknoteRepositoryImpl();
+        this.repository = Metrics.instrument(IATMBanknoteRepository.class, new ATMBanknoteRepositoryImpl());
+        this.inventory = ATMInventoryManager.getInstance();
     }
 
     @Override
     public ATMBanknote register(ATMBanknote banknote) {
         validateForCreate(banknote);
-        return repository.create(banknote);
+        return inventory.overwrite(banknote.getAtmId(), () -> repository.create(banknote));
     }
 
     @Override
     public ATMBanknote update(ATMBanknote banknote) {
         validateForUpdate(banknote);
-        return repository.update(banknote);
+        return inventory.overwrite(banknote.getAtmId(), () -> repository.update(banknote));
     }
 
     @Override
     public ATMBanknote getById(long id) {
+        return findById(id)
+                .orElseThrow(() -> ATMBanknoteException.notFound(id));
+    }
+
+    @Override
+    public Optional<ATMBanknote> findById(long id) {
         if (id <= 0) {
             throw ATMBanknoteException.invalidId();
         }
-        return repository.findById(id)
-                .orElseThrow(() -> ATMBanknoteException.notFound(id));
+        return repository.findById(id);
     }
 
     @Override
     public List<ATMBanknote> getAll() {
-        List<ATMBanknote> banknotes = repository.findAll();
-        if (banknotes == null || banknotes.isEmpty()) {
+        List<ATMBanknote> banknotes = findAll();
+        if (banknotes.isEmpty()) {
             throw ATMBanknoteException.emptyList();
         }
         return banknotes;
     }
 
+    @Override
+    public List<ATMBanknote> findAll() {
+        return repository.findAll();
+    }
+
     @Override
     public void delete(long id) {
         if (id <= 0) {
             throw ATMBanknoteException.invalidId();
         }
-        if (repository.findById(id).isEmpty()) {
-            throw ATMBanknoteException.notFound(id);
-        }
-        repository.delete(id);
+        ATMBanknote existing = repository.findById(id)
+                .orElseThrow(() -> ATMBanknoteException.notFound(id));
+        inventory.overwrite(existing.getAtmId(), () -> {
+            repository.delete(id);
+            return null;
+        });
     }
 
     @Override
     public List<ATMBanknote> getByAtmId(long atmId) {
+        List<ATMBanknote> banknotes = findByAtmId(atmId);
+        if (banknotes.isEmpty()) {
+            throw ATMBanknoteException.emptyList();
+        }
+        return banknotes;
+    }
+
+    @Override
+    public List<ATMBanknote> findByAtmId(long atmId) {
         if (atmId <= 0) {
             throw ATMBanknoteException.invalidAtmId();
         }
-        List<ATMBanknote> banknotes = repository.findByAtmId(atmId);
+        return repository.findByAtmId(atmId);
+    }
+
+    @Override
+    public List<ATMBanknote> getByAtmIdAndCurrency(long atmId, String currency) {
+        List<ATMBanknote> banknotes = findByAtmIdAndCurrency(atmId, currency);
         if (banknotes.isEmpty()) {
             throw ATMBanknoteException.emptyList();
         }
@@ -72,18 +103,40 @@ public class ATMBanknoteServiceImpl implements IATMBanknoteService {
     }
 
     @Override
-    public List<ATMBanknote> getByAtmIdAndCurrency(long atmId, String currency) {
+    public List<ATMBanknote> findByAtmIdAndCurrency(long atmId, String currency) {
         if (atmId <= 0) {
             throw ATMBanknoteException.invalidAtmId();
         }
         if (StringUtils.isNullOrEmpty(currency)) {
             throw ATMBanknoteException.invalidCurrency();
         }
-        List<ATMBanknote> banknotes = repository.findByAtmIdAndCurrency(atmId, currency);
-        if (banknotes.isEmpty()) {
-            throw ATMBanknoteException.emptyList();
+        return repository.findByAtmIdAndCurrency(atmId, currency);
+    }
+
+    @Override
+    public int getAvailable(long atmId, String currency, Money denomination) {
+        validateCassette(atmId, currency, denomination);
+        return inventory.available(atmId, currency, denomination);
+    }
+
+    @Override
+    public void adjustQuantity(long atmId, String currency, Money denomination, int delta) {
+        validateCassette(atmId, currency, denomination);
+        if (!inventory.adjust(atmId, currency, denomination, delta)) {
+            throw ATMBanknoteException.invalidQuantity();
+        }
+    }
+
+    private void validateCassette(long atmId, String currency, Money denomination) {
+        if (atmId <= 0) {
+            throw ATMBanknoteException.invalidAtmId();
+        }
+        if (StringUtils.isNullOrEmpty(currency)) {
+            throw ATMBanknoteException.invalidCurrency();
+        }
+        if (denomination == null || !denomination.isPositive()) {
+            throw ATMBanknoteException.invalidDenomination();
         }
-        return banknotes;
     }
 
     private void validateForCreate(ATMBanknote banknote) {
@@ -99,7 +152,7 @@ public class ATMBanknoteServiceImpl implements IATMBanknoteService {
         if (StringUtils.isNullOrEmpty(banknote.getCurrency())) {
             throw ATMBanknoteException.invalidCurrency();
         }
-        if (banknote.getDenomination() == null || banknote.getDenomination().compareTo(BigDecimal.ZERO) <= 0) {
+        if (banknote.getDenomination() == null || !banknote.getDenomination().isPositive()) {
             throw ATMBanknoteException.invalidDenomination();
         }
         if (banknote.getQuantity() == null || banknote.getQuantity() < 0) {
@@ -120,7 +173,7 @@ public class ATMBanknoteServiceImpl implements IATMBanknoteService {
         if (StringUtils.isNullOrEmpty(banknote.getCurrency())) {
             throw ATMBanknoteException.invalidCurrency();
         }
-        if (banknote.getDenomination() == null || banknote.getDenomination().compareTo(BigDecimal.ZERO) <= 0) {
+        if (banknote.getDenomination() == null || !banknote.getDenomination().isPositive()) {
             throw ATMBanknoteException.invalidDenomination();
         }
         if (banknote.getQuantity() == null || banknote.getQuantity() < 0) {
@@ -3,18 +3,20 @@ package com.solvd.bankatmsimulator.service.impl;
 import com.mysql.cj.util.StringUtils;
 import com.solvd.bankatmsimulator.domain.ATM;
 import com.solvd.bankatmsimulator.exception.ATMException;
+import com.solvd.bankatmsimulator.metrics.Metrics;
 import com.solvd.bankatmsimulator.persistence.IATMRepository;
 import com.solvd.bankatmsimulator.persistence.impl.ATMRepositoryImpl;
 import com.solvd.bankatmsimulator.service.IATMService;
 
 import java.util.List;
+import java.util.Optional;
 
 public class ATMServiceImpl implements IATMService {
 
     private final IATMRepository repository;
 
     public ATMServiceImpl() {
-        this.repository = new ATMRepositoryImpl();
+        this.repository = Metrics.instrument(IATMRepository.class, new ATMRepositoryImpl());
     }
 
     @Override
@@ -31,22 +33,32 @@ public class ATMServiceImpl implements IATMService {
 
     @Override
     public ATM getById(long id) {
+        return findById(id)
+                .orElseThrow(() -> ATMException.notFound(id));
+    }
+
+    @Override
+    public Optional<ATM> findById(long id) {
         if (id <= 0) {
             throw ATMException.invalidId();
         }
-        return repository.findById(id)
-                .orElseThrow(() -> ATMException.notFound(id));
+        return repository.findById(id);
     }
 
     @Override
     public List<ATM> getAll() {
-        List<ATM> atms = repository.findAll();
-        if (atms == null || atms.isEmpty()) {
+        List<ATM> atms = findAll();
+        if (atms.isEmpty()) {
             throw ATMException.emptyList();
         }
         return atms;
     }
 
+    @Override
+    public List<ATM> findAll() {
+        return repository.findAll();
+    }
+
     @Override
     public void delete(long id) {
         if (id <= 0) {
@@ -60,25 +72,35 @@ public class ATMServiceImpl implements IATMService {
 
     @Override
     public List<ATM> getActiveATMs() {
-        List<ATM> atms = repository.findActiveATMs();
+        List<ATM> atms = findActiveATMs();
         if (atms.isEmpty()) {
             throw ATMException.emptyList();
         }
         return atms;
     }
 
+    @Override
+    public List<ATM> findActiveATMs() {
+        return repository.findActiveATMs();
+    }
+
     @Override
     public List<ATM> getByLocation(String location) {
-        if (StringUtils.isNullOrEmpty(location)) {
-            throw ATMException.invalidLocation();
-        }
-        List<ATM> atms = repository.findByLocation(location);
+        List<ATM> atms = findByLocation(location);
         if (atms.isEmpty()) {
             throw ATMException.emptyList();
         }
         return atms;
     }
 
+    @Override
+    public List<ATM> findByLocation(String location) {
+        if (StringUtils.isNullOrEmpty(location)) {
+            throw ATMException.invalidLocation();
+        }
+        return repository.findByLocation(location);
+    }
+
     private void validateForCreate(ATM atm) {
         if (atm == null) {
             throw ATMException.atmIsNull();
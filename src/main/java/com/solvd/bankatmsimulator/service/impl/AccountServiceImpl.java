@@ -1,20 +1,26 @@
 package com.solvd.bankatmsimulator.service.impl;
 
 import com.mysql.cj.util.StringUtils;
+import com.solvd.bankatmsimulator.cache.AccountCache;
 import com.solvd.bankatmsimulator.domain.Account;
 import com.solvd.bankatmsimulator.exception.AccountException;
+import com.solvd.bankatmsimulator.metrics.Metrics;
 import com.solvd.bankatmsimulator.persistence.IAccountRepository;
+import com.solvd.bankatmsimulator.persistence.UnitOfWork;
 import com.solvd.bankatmsimulator.persistence.impl.AccountRepositoryImpl;
 import com.solvd.bankatmsimulator.service.IAccountService;
 
 import java.util.List;
+import java.util.Optional;
 
 public class AccountServiceImpl implements IAccountService {
 
     private final IAccountRepository repository;
+    private final AccountCache cache;
 
     public AccountServiceImpl() {
-        this.repository = new AccountRepositoryImpl();
+        this.repository = Metrics.instrument(IAccountRepository.class, new AccountRepositoryImpl());
+        this.cache = AccountCache.getInstance();
     }
 
     @Override
@@ -26,27 +32,50 @@ public class AccountServiceImpl implements IAccountService {
     @Override
     public Account update(Account account) {
         validateForUpdate(account);
-        return repository.update(account);
+        Account updated = repository.update(account);
+        cache.evict(updated.getId());
+        return updated;
     }
 
     @Override
     public Account getById(long id) {
+        return findById(id)
+                .orElseThrow(() -> AccountException.notFound(id));
+    }
+
+    @Override
+    public Optional<Account> findById(long id) {
         if (id <= 0) {
             throw AccountException.invalidId();
         }
-        return repository.findById(id)
-                .orElseThrow(() -> AccountException.notFound(id));
+        // Inside a unit of work reads must see its own uncommitted writes, so skip the cache.
+        if (UnitOfWork.isActive()) {
+            return repository.findById(id);
+        }
+        Account cached = cache.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long version = cache.version();
+        Optional<Account> account = repository.findById(id);
+        account.ifPresent(loaded -> cache.put(loaded, version));
+        return account;
     }
 
     @Override
     public List<Account> getAll() {
-        List<Account> accounts = repository.findAll();
-        if (accounts == null || accounts.isEmpty()) {
+        List<Account> accounts = findAll();
+        if (accounts.isEmpty()) {
             throw AccountException.emptyList();
         }
         return accounts;
     }
 
+    @Override
+    public List<Account> findAll() {
+        return repository.findAll();
+    }
+
     @Override
     public void delete(long id) {
         if (id <= 0) {
@@ -56,6 +85,7 @@ public class AccountServiceImpl implements IAccountService {
             throw AccountException.notFound(id);
         }
         repository.delete(id);
+        cache.evict(id);
     }
 
     @Override
@@ -63,16 +93,41 @@ public class AccountServiceImpl implements IAccountService {
         if (StringUtils.isNullOrEmpty(accountNumber)) {
             throw AccountException.invalidNumber();
         }
-        return repository.findByAccountNumber(accountNumber)
+        if (UnitOfWork.isActive()) {
+            return repository.findByAccountNumber(accountNumber)
+                    .orElseThrow(AccountException::accountIsNull);
+        }
+        Account cached = cache.getByAccountNumber(accountNumber);
+        if (cached != null) {
+            return cached;
+        }
+        long version = cache.version();
+        Account account = repository.findByAccountNumber(accountNumber)
                 .orElseThrow(AccountException::accountIsNull);
+        cache.put(account, version);
+        return account;
     }
 
     @Override
     public List<Account> getByCurrency(String currency) {
+        List<Account> accounts = findByCurrency(currency);
+        if (accounts.isEmpty()) {
+            throw AccountException.emptyList();
+        }
+        return accounts;
+    }
+
+    @Override
+    public List<Account> findByCurrency(String currency) {
         if (StringUtils.isNullOrEmpty(currency)) {
             throw AccountException.invalidCurrency();
         }
-        List<Account> accounts = repository.findByCurrency(currency);
+        return repository.findByCurrency(currency);
+    }
+
+    @Override
+    public List<Account> getByPersonId(long personId) {
+        List<Account> accounts = findByPersonId(personId);
         if (accounts.isEmpty()) {
             throw AccountException.emptyList();
         }
@@ -80,15 +135,11 @@ public class AccountServiceImpl implements IAccountService {
     }
 
     @Override
-    public List<Account> getByPersonId(long personId) {
+    public List<Account> findByPersonId(long personId) {
         if (personId <= 0) {
             throw AccountException.invalidId();
         }
-        List<Account> accounts = repository.findByPersonId(personId);
-        if (accounts.isEmpty()) {
-            throw AccountException.emptyList();
-        }
-        return accounts;
+        return repository.findByPersonId(personId);
     }
 
     private void validateForCreate(Account account) {
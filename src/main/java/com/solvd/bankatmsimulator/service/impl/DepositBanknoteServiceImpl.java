@@ -2,19 +2,20 @@ package com.solvd.bankatmsimulator.service.impl;
 
 import com.solvd.bankatmsimulator.domain.DepositBanknote;
 import com.solvd.bankatmsimulator.exception.DepositBanknoteException;
+import com.solvd.bankatmsimulator.metrics.Metrics;
 import com.solvd.bankatmsimulator.persistence.IDepositBanknoteRepository;
 import com.solvd.bankatmsimulator.persistence.impl.DepositBanknoteRepositoryImpl;
 import com.solvd.bankatmsimulator.service.IDepositBanknoteService;
 
-import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 public class DepositBanknoteServiceImpl implements IDepositBanknoteService {
 
     private final IDepositBanknoteRepository repository;
 
     public DepositBanknoteServiceImpl() {
-        this.repository = new DepositBanknoteRepositoryImpl();
+        this.repository = Metrics.instrument(IDepositBanknoteRepository.class, new DepositBanknoteRepositoryImpl());
     }
 
     @Override
@@ -31,22 +32,32 @@ public class DepositBanknoteServiceImpl implements IDepositBanknoteService {
 
     @Override
     public DepositBanknote getById(long id) {
+        return findById(id)
+                .orElseThrow(() -> DepositBanknoteException.notFound(id));
+    }
+
+    @Override
+    public Optional<DepositBanknote> findById(long id) {
         if (id <= 0) {
             throw DepositBanknoteException.invalidId();
         }
-        return repository.findById(id)
-                .orElseThrow(() -> DepositBanknoteException.notFound(id));
+        return repository.findById(id);
     }
 
     @Override
     public List<DepositBanknote> getAll() {
-        List<DepositBanknote> banknotes = repository.findAll();
-        if (banknotes == null || banknotes.isEmpty()) {
+        List<DepositBanknote> banknotes = findAll();
+        if (banknotes.isEmpty()) {
             throw DepositBanknoteException.emptyList();
         }
         return banknotes;
     }
 
+    @Override
+    public List<DepositBanknote> findAll() {
+        return repository.findAll();
+    }
+
     @Override
     public void delete(long id) {
         if (id <= 0) {
@@ -60,16 +71,21 @@ public class DepositBanknoteServiceImpl implements IDepositBanknoteService {
 
     @Override
     public List<DepositBanknote> getByDepositId(long depositId) {
-        if (depositId <= 0) {
-            throw DepositBanknoteException.invalidDepositId();
-        }
-        List<DepositBanknote> banknotes = repository.findByDepositId(depositId);
+        List<DepositBanknote> banknotes = findByDepositId(depositId);
         if (banknotes.isEmpty()) {
             throw DepositBanknoteException.emptyList();
         }
         return banknotes;
     }
 
+    @Override
+    public List<DepositBanknote> findByDepositId(long depositId) {
+        if (depositId <= 0) {
+            throw DepositBanknoteException.invalidDepositId();
+        }
+        return repository.findByDepositId(depositId);
+    }
+
     private void validateForCreate(DepositBanknote banknote) {
         if (banknote == null) {
             throw DepositBanknoteException.banknoteIsNull();
@@ -80,7 +96,7 @@ public class DepositBanknoteServiceImpl implements IDepositBanknoteService {
         if (banknote.getDepositId() == null || banknote.getDepositId() <= 0) {
             throw DepositBanknoteException.invalidDepositId();
         }
-        if (banknote.getDenomination() == null || banknote.getDenomination().compareTo(BigDecimal.ZERO) <= 0) {
+        if (banknote.getDenomination() == null || !banknote.getDenomination().isPositive()) {
             throw DepositBanknoteException.invalidDenomination();
         }
         if (banknote.getQuantity() == null || banknote.getQuantity() < 0) {
@@ -98,7 +114,7 @@ public class DepositBanknoteServiceImpl implements IDepositBanknoteService {
         if (banknote.getDepositId() == null || banknote.getDepositId() <= 0) {
             throw DepositBanknoteException.invalidDepositId();
         }
-        if (banknote.getDenomination() == null || banknote.getDenomination().compareTo(BigDecimal.ZERO) <= 0) {
+        if (banknote.getDenomination() == null || !banknote.getDenomination().isPositive()) {
             throw DepositBanknoteException.invalidDenomination();
         }
         if (banknote.getQuantity() == null || banknote.getQuantity() < 0) {
@@ -0,0 +1,92 @@
+package com.solvd.bankatmsimulator.service.impl;
+
+import com.mysql.cj.util.StringUtils;
+import com.solvd.bankatmsimulator.cache.AccountCache;
+import com.solvd.bankatmsimulator.domain.Deposit;
+import com.solvd.bankatmsimulator.domain.DepositBanknote;
+import com.solvd.bankatmsimulator.domain.Money;
+import com.solvd.bankatmsimulator.domain.Transaction;
+import com.solvd.bankatmsimulator.exception.DepositException;
+import com.solvd.bankatmsimulator.metrics.Metrics;
+import com.solvd.bankatmsimulator.persistence.IAccountRepository;
+import com.solvd.bankatmsimulator.persistence.IDepositRepository;
+import com.solvd.bankatmsimulator.persistence.ITransactionRepository;
+import com.solvd.bankatmsimulator.persistence.UnitOfWork;
+import com.solvd.bankatmsimulator.persistence.impl.AccountRepositoryImpl;
+import com.solvd.bankatmsimulator.persistence.impl.DepositRepositoryImpl;
+import com.solvd.bankatmsimulator.persistence.impl.TransactionRepositoryImpl;
+import com.solvd.bankatmsimulator.service.IDepositProcessor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs a whole cash-in (transaction, deposit, banknotes and credit) as a single database transaction.
+ * The credit is a relative {@code balance = balance + ?}, so concurrent deposits to one account never lose updates.
+ */
+public class DepositProcessorImpl implements IDepositProcessor {
+
+    private final IAccountRepository accountRepository;
+    private final ITransactionRepository transactionRepository;
+    private final IDepositRepository depositRepository;
+
+    public DepositProcessorImpl() {
+        this.accountRepository = Metrics.instrument(IAccountRepository.class, new AccountRepositoryImpl());
+        this.transactionRepository = Metrics.instrument(ITransactionRepository.class, new TransactionRepositoryImpl());
+        this.depositRepository = Metrics.instrument(IDepositRepository.class, new DepositRepositoryImpl());
+    }
+
+    @Override
+    public Deposit process(long accountId, long atmId, Money amount, List<DepositBanknote> banknotes) {
+        validate(accountId, atmId, amount);
+        String currency = amount.getCurrency();
+        LocalDateTime now = LocalDateTime.now();
+
+        Transaction transaction = new Transaction();
+        transaction.setToAccountId(accountId);
+        transaction.setAmount(amount);
+        transaction.setCurrency(currency);
+        transaction.setTransactionType(Transaction.TransactionType.DEPOSIT);
+        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+        transaction.setProcessedAt(now);
+
+        Deposit deposit = new Deposit();
+        deposit.setAtmId(atmId);
+        deposit.setCurrency(currency);
+        deposit.setTotalAmount(amount);
+        deposit.setProcessedAt(now);
+        if (banknotes != null) {
+            for (DepositBanknote banknote : banknotes) {
+                banknote.setDepositId(null);
+                deposit.addBanknote(banknote);
+            }
+        }
+
+        return UnitOfWork.execute(() -> {
+            transactionRepository.create(transaction);
+            deposit.setTransactionId(transaction.getId());
+            Deposit created = depositRepository.create(deposit);
+            if (!accountRepository.adjustBalances(Map.of(accountId, amount))) {
+                throw DepositException.currencyMismatch(accountId, currency);
+            }
+            AccountCache.getInstance().evict(accountId);
+            return created;
+        });
+    }
+
+    private void validate(long accountId, long atmId, Money amount) {
+        if (accountId <= 0) {
+            throw DepositException.invalidAccountId();
+        }
+        if (atmId <= 0) {
+            throw DepositException.invalidAtmId();
+        }
+        if (amount == null || amount.isLessThan(Deposit.MIN_AMOUNT)) {
+            throw DepositException.invalidAmount();
+        }
+        if (StringUtils.isNullOrEmpty(amount.getCurrency())) {
+            throw DepositException.invalidCurrency();
+        }
+    }
+}
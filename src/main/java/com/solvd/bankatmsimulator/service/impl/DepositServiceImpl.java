@@ -3,19 +3,20 @@ package com.solvd.bankatmsimulator.service.impl;
 import com.mysql.cj.util.StringUtils;
 import com.solvd.bankatmsimulator.domain.Deposit;
 import com.solvd.bankatmsimulator.exception.DepositException;
+import com.solvd.bankatmsimulator.metrics.Metrics;
 import com.solvd.bankatmsimulator.persistence.IDepositRepository;
 import com.solvd.bankatmsimulator.persistence.impl.DepositRepositoryImpl;
 import com.solvd.bankatmsimulator.service.IDepositService;
 
-import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 public class DepositServiceImpl implements IDepositService {
 
     private final IDepositRepository repository;
 
     public DepositServiceImpl() {
-        this.repository = new DepositRepositoryImpl();
+        this.repository = Metrics.instrument(IDepositRepository.class, new DepositRepositoryImpl());
     }
 
     @Override
@@ -32,22 +33,32 @@ public class DepositServiceImpl implements IDepositService {
 
     @Override
     public Deposit getById(long id) {
+        return findById(id)
+                .orElseThrow(() -> DepositException.notFound(id));
+    }
+
+    @Override
+    public Optional<Deposit> findById(long id) {
         if (id <= 0) {
             throw DepositException.invalidId();
         }
-        return repository.findById(id)
-                .orElseThrow(() -> DepositException.notFound(id));
+        return repository.findById(id);
     }
 
     @Override
     public List<Deposit> getAll() {
-        List<Deposit> deposits = repository.findAll();
-        if (deposits == null || deposits.isEmpty()) {
+        List<Deposit> deposits = findAll();
+        if (deposits.isEmpty()) {
             throw DepositException.emptyList();
         }
         return deposits;
     }
 
+    @Override
+    public List<Deposit> findAll() {
+        return repository.findAll();
+    }
+
     @Override
     public void delete(long id) {
         if (id <= 0) {
@@ -61,10 +72,24 @@ public class DepositServiceImpl implements IDepositService {
 
     @Override
     public List<Deposit> getByTransactionId(long transactionId) {
+        List<Deposit> deposits = findByTransactionId(transactionId);
+        if (deposits.isEmpty()) {
+            throw DepositException.emptyList();
+        }
+        return deposits;
+    }
+
+    @Override
+    public List<Deposit> findByTransactionId(long transactionId) {
         if (transactionId <= 0) {
             throw DepositException.invalidTransactionId();
         }
-        List<Deposit> deposits = repository.findByTransactionId(transactionId);
+        return repository.findByTransactionId(transactionId);
+    }
+
+    @Override
+    public List<Deposit> getByAtmId(long atmId) {
+        List<Deposit> deposits = findByAtmId(atmId);
         if (deposits.isEmpty()) {
             throw DepositException.emptyList();
         }
@@ -72,15 +97,11 @@ public class DepositServiceImpl implements IDepositService {
     }
 
     @Override
-    public List<Deposit> getByAtmId(long atmId) {
+    public List<Deposit> findByAtmId(long atmId) {
         if (atmId <= 0) {
             throw DepositException.invalidAtmId();
         }
-        List<Deposit> deposits = repository.findByAtmId(atmId);
-        if (deposits.isEmpty()) {
-            throw DepositException.emptyList();
-        }
-        return deposits;
+        return repository.findByAtmId(atmId);
     }
 
     private void validateForCreate(Deposit deposit) {
@@ -99,7 +120,7 @@ public class DepositServiceImpl implements IDepositService {
         if (StringUtils.isNullOrEmpty(deposit.getCurrency())) {
             throw DepositException.invalidCurrency();
         }
-        if (deposit.getTotalAmount() == null || deposit.getTotalAmount().compareTo(BigDecimal.ONE) < 0) {
+        if (deposit.getTotalAmount() == null || deposit.getTotalAmount().isLessThan(Deposit.MIN_AMOUNT)) {
             throw DepositException.invalidAmount();
         }
         if (deposit.getProcessedAt() == null) {
@@ -123,7 +144,7 @@ public class DepositServiceImpl implements IDepositService {
         if (StringUtils.isNullOrEmpty(deposit.getCurrency())) {
             throw DepositException.invalidCurrency();
         }
-        if (deposit.getTotalAmount() == null || deposit.getTotalAmount().compareTo(BigDecimal.ONE) < 0) {
+        if (deposit.getTotalAmount() == null || deposit.getTotalAmount().isLessThan(Deposit.MIN_AMOUNT)) {
             throw DepositException.invalidAmount();
         }
         if (deposit.getProcessedAt() == null) {
@@ -1,8 +1,11 @@
 package com.solvd.bankatmsimulator.service.impl;
 
 import com.mysql.cj.util.StringUtils;
+import com.solvd.bankatmsimulator.bin.BinInfo;
+import com.solvd.bankatmsimulator.bin.BinTable;
 import com.solvd.bankatmsimulator.domain.PaymentCard;
 import com.solvd.bankatmsimulator.exception.PaymentCardException;
+import com.solvd.bankatmsimulator.metrics.Metrics;
 import com.solvd.bankatmsimulator.persistence.IPaymentCardRepository;
 import com.solvd.bankatmsimulator.persistence.impl.PaymentCardRepositoryImpl;
 import com.solvd.bankatmsimulator.service.IPaymentCardService;
@@ -10,13 +13,16 @@ import com.solvd.bankatmsimulator.service.IPaymentCardService;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public class PaymentCardServiceImpl implements IPaymentCardService {
 
     private final IPaymentCardRepository repository;
+    private final BinTable bins;
 
     public PaymentCardServiceImpl() {
-        this.repository = new PaymentCardRepositoryImpl();
+        this.repository = Metrics.instrument(IPaymentCardRepository.class, new PaymentCardRepositoryImpl());
+        this.bins = BinTable.getInstance();
     }
 
     @Override
@@ -33,22 +39,32 @@ public class PaymentCardServiceImpl implements IPaymentCardService {
 
     @Override
     public PaymentCard getById(long id) {
+        return findById(id)
+                .orElseThrow(() -> PaymentCardException.notFound(id));
+    }
+
+    @Override
+    public Optional<PaymentCard> findById(long id) {
         if (id <= 0) {
             throw PaymentCardException.invalidId();
         }
-        return repository.findById(id)
-                .orElseThrow(() -> PaymentCardException.notFound(id));
+        return repository.findById(id);
     }
 
     @Override
     public List<PaymentCard> getAll() {
-        List<PaymentCard> cards = repository.findAll();
-        if (cards == null || cards.isEmpty()) {
+        List<PaymentCard> cards = findAll();
+        if (cards.isEmpty()) {
             throw PaymentCardException.emptyList();
         }
         return cards;
     }
 
+    @Override
+    public List<PaymentCard> findAll() {
+        return repository.findAll();
+    }
+
     @Override
     public void delete(long id) {
         if (id <= 0) {
@@ -69,12 +85,34 @@ public class PaymentCardServiceImpl implements IPaymentCardService {
                 .orElseThrow(PaymentCardException::cardIsNull);
     }
 
+    @Override
+    public List<Long> findAccountIdsByCardNumber(String cardNumber) {
+        if (StringUtils.isNullOrEmpty(cardNumber)) {
+            throw PaymentCardException.invalidCardNumber();
+        }
+        return repository.findAccountIdsByCardNumber(cardNumber);
+    }
+
     @Override
     public List<PaymentCard> getByAccountId(long accountId) {
+        List<PaymentCard> cards = findByAccountId(accountId);
+        if (cards.isEmpty()) {
+            throw PaymentCardException.emptyList();
+        }
+        return cards;
+    }
+
+    @Override
+    public List<PaymentCard> findByAccountId(long accountId) {
         if (accountId <= 0) {
             throw PaymentCardException.invalidId();
         }
-        List<PaymentCard> cards = repository.findByAccountId(accountId);
+        return repository.findByAccountId(accountId);
+    }
+
+    @Override
+    public List<PaymentCard> getByStatus(PaymentCard.CardStatus status) {
+        List<PaymentCard> cards = findByStatus(status);
         if (cards.isEmpty()) {
             throw PaymentCardException.emptyList();
         }
@@ -82,26 +120,27 @@ public class PaymentCardServiceImpl implements IPaymentCardService {
     }
 
     @Override
-    public List<PaymentCard> getByStatus(PaymentCard.CardStatus status) {
+    public List<PaymentCard> findByStatus(PaymentCard.CardStatus status) {
         if (status == null) {
             throw PaymentCardException.invalidStatus();
         }
-        List<PaymentCard> cards = repository.findByStatus(status);
-        if (cards.isEmpty()) {
-            throw PaymentCardException.emptyList();
-        }
-        return cards;
+        return repository.findByStatus(status);
     }
 
     @Override
     public List<PaymentCard> getExpiredCards() {
-        List<PaymentCard> cards = repository.findExpiredCards();
+        List<PaymentCard> cards = findExpiredCards();
         if (cards.isEmpty()) {
             throw PaymentCardException.emptyList();
         }
         return cards;
     }
 
+    @Override
+    public List<PaymentCard> findExpiredCards() {
+        return repository.findExpiredCards();
+    }
+
     private void validateForCreate(PaymentCard card) {
         if (card == null) {
             throw PaymentCardException.cardIsNull();
@@ -112,6 +151,13 @@ public class PaymentCardServiceImpl implements IPaymentCardService {
         if (StringUtils.isNullOrEmpty(card.getCardNumber())) {
             throw PaymentCardException.invalidCardNumber();
         }
+        if (card.getCardType() == null) {
+            // Not given by the caller: take it from the card's BIN range if that says.
+            BinInfo bin = bins.lookup(card.getCardNumber());
+            if (bin != null) {
+                card.setCardType(bin.getCardType());
+            }
+        }
         if (card.getCardType() == null) {
             throw PaymentCardException.invalidCardType();
         }
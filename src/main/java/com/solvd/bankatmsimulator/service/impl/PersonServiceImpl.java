@@ -3,18 +3,20 @@ package com.solvd.bankatmsimulator.service.impl;
 import com.mysql.cj.util.StringUtils;
 import com.solvd.bankatmsimulator.domain.Person;
 import com.solvd.bankatmsimulator.exception.PersonException;
+import com.solvd.bankatmsimulator.metrics.Metrics;
 import com.solvd.bankatmsimulator.persistence.IPersonRepository;
 import com.solvd.bankatmsimulator.persistence.impl.PersonRepositoryImpl;
 import com.solvd.bankatmsimulator.service.IPersonService;
 
 import java.util.List;
+import java.util.Optional;
 
 public class PersonServiceImpl implements IPersonService {
 
     private final IPersonRepository repository;
 
     public PersonServiceImpl() {
-        this.repository = new PersonRepositoryImpl();
+        this.repository = Metrics.instrument(IPersonRepository.class, new PersonRepositoryImpl());
     }
 
     @Override
@@ -31,22 +33,32 @@ public class PersonServiceImpl implements IPersonService {
 
     @Override
     public Person getById(long id) {
+        return findById(id)
+                .orElseThrow(() -> PersonException.notFound(id));
+    }
+
+    @Override
+    public Optional<Person> findById(long id) {
         if (id <= 0) {
             throw PersonException.invalidId();
         }
-        return repository.findById(id)
-                .orElseThrow(() -> PersonException.notFound(id));
+        return repository.findById(id);
     }
 
     @Override
     public List<Person> getAll() {
-        List<Person> persons = repository.findAll();
-        if (persons == null || persons.isEmpty()) {
+        List<Person> persons = findAll();
+        if (persons.isEmpty()) {
             throw PersonException.emptyList();
         }
         return persons;
     }
 
+    @Override
+    public List<Person> findAll() {
+        return repository.findAll();
+    }
+
     @Override
     public void delete(long id) {
         if (id <= 0) {
@@ -3,20 +3,21 @@ package com.solvd.bankatmsimulator.service.impl;
 import com.mysql.cj.util.StringUtils;
 import com.solvd.bankatmsimulator.domain.Transaction;
 import com.solvd.bankatmsimulator.exception.TransactionException;
+import com.solvd.bankatmsimulator.metrics.Metrics;
 import com.solvd.bankatmsimulator.persistence.ITransactionRepository;
 import com.solvd.bankatmsimulator.persistence.impl.TransactionRepositoryImpl;
 import com.solvd.bankatmsimulator.service.ITransactionService;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public class TransactionServiceImpl implements ITransactionService {
 
     private final ITransactionRepository repository;
 
     public TransactionServiceImpl() {
-        this.repository = new TransactionRepositoryImpl();
+        this.repository = Metrics.instrument(ITransactionRepository.class, new TransactionRepositoryImpl());
     }
 
     @Override
@@ -33,22 +34,32 @@ public class TransactionServiceImpl implements ITransactionService {
 
     @Override
     public Transaction getById(long id) {
+        return findById(id)
+                .orElseThrow(() -> TransactionException.notFound(id));
+    }
+
+    @Override
+    public Optional<Transaction> findById(long id) {
         if (id <= 0) {
             throw TransactionException.invalidId();
         }
-        return repository.findById(id)
-                .orElseThrow(() -> TransactionException.notFound(id));
+        return repository.findById(id);
     }
 
     @Override
     public List<Transaction> getAll() {
-        List<Transaction> transactions = repository.findAll();
-        if (transactions == null || transactions.isEmpty()) {
+        List<Transaction> transactions = findAll();
+        if (transactions.isEmpty()) {
             throw TransactionException.emptyList();
         }
         return transactions;
     }
 
+    @Override
+    public List<Transaction> findAll() {
+        return repository.findAll();
+    }
+
     @Override
     public void delete(long id) {
         if (id <= 0) {
@@ -62,10 +73,38 @@ public class TransactionServiceImpl implements ITransactionService {
 
     @Override
     public List<Transaction> getByAccountId(long accountId) {
+        List<Transaction> list = findByAccountId(accountId);
+        if (list.isEmpty()) {
+            throw TransactionException.emptyList();
+        }
+        return list;
+    }
+
+    @Override
+    public List<Transaction> findByAccountId(long accountId) {
+        if (accountId <= 0) {
+            throw TransactionException.invalidId();
+        }
+        return repository.findByAccountId(accountId);
+    }
+
+    @Override
+    public List<Transaction> getByAccountId(long accountId, LocalDateTime afterProcessedAt, Long afterId, int limit) {
         if (accountId <= 0) {
             throw TransactionException.invalidId();
         }
-        List<Transaction> list = repository.findByAccountId(accountId);
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw TransactionException.invalidPageSize();
+        }
+        if ((afterProcessedAt == null) != (afterId == null)) {
+            throw TransactionException.invalidCursor();
+        }
+        return repository.findByAccountId(accountId, afterProcessedAt, afterId, limit);
+    }
+
+    @Override
+    public List<Transaction> getByFromAccountId(long accountId) {
+        List<Transaction> list = findByFromAccountId(accountId);
         if (list.isEmpty()) {
             throw TransactionException.emptyList();
         }
@@ -73,11 +112,16 @@ public class TransactionServiceImpl implements ITransactionService {
     }
 
     @Override
-    public List<Transaction> getByFromAccountId(long accountId) {
+    public List<Transaction> findByFromAccountId(long accountId) {
         if (accountId <= 0) {
             throw TransactionException.invalidId();
         }
-        List<Transaction> list = repository.findByFromAccountId(accountId);
+        return repository.findByFromAccountId(accountId);
+    }
+
+    @Override
+    public List<Transaction> getByToAccountId(long accountId) {
+        List<Transaction> list = findByToAccountId(accountId);
         if (list.isEmpty()) {
             throw TransactionException.emptyList();
         }
@@ -85,11 +129,16 @@ public class TransactionServiceImpl implements ITransactionService {
     }
 
     @Override
-    public List<Transaction> getByToAccountId(long accountId) {
+    public List<Transaction> findByToAccountId(long accountId) {
         if (accountId <= 0) {
             throw TransactionException.invalidId();
         }
-        List<Transaction> list = repository.findByToAccountId(accountId);
+        return repository.findByToAccountId(accountId);
+    }
+
+    @Override
+    public List<Transaction> getByType(Transaction.TransactionType type) {
+        List<Transaction> list = findByType(type);
         if (list.isEmpty()) {
             throw TransactionException.emptyList();
         }
@@ -97,11 +146,16 @@ public class TransactionServiceImpl implements ITransactionService {
     }
 
     @Override
-    public List<Transaction> getByType(Transaction.TransactionType type) {
+    public List<Transaction> findByType(Transaction.TransactionType type) {
         if (type == null) {
             throw TransactionException.invalidType();
         }
-        List<Transaction> list = repository.findByType(type);
+        return repository.findByType(type);
+    }
+
+    @Override
+    public List<Transaction> getByStatus(Transaction.TransactionStatus status) {
+        List<Transaction> list = findByStatus(status);
         if (list.isEmpty()) {
             throw TransactionException.emptyList();
         }
@@ -109,15 +163,11 @@ public class TransactionServiceImpl implements ITransactionService {
     }
 
     @Override
-    public List<Transaction> getByStatus(Transaction.TransactionStatus status) {
+    public List<Transaction> findByStatus(Transaction.TransactionStatus status) {
         if (status == null) {
             throw TransactionException.invalidStatus();
         }
-        List<Transaction> list = repository.findByStatus(status);
-        if (list.isEmpty()) {
-            throw TransactionException.emptyList();
-        }
-        return list;
+        return repository.findByStatus(status);
     }
 
     private void validateForCreate(Transaction t) {
@@ -127,7 +177,7 @@ public class TransactionServiceImpl implements ITransactionService {
         if (t.getId() != null) {
             throw TransactionException.invalidId();
         }
-        if (t.getAmount() == null || t.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+        if (t.getAmount() == null || !t.getAmount().isPositive()) {
             throw TransactionException.invalidAmount();
         }
         if (StringUtils.isNullOrEmpty(t.getCurrency())) {
@@ -151,7 +201,7 @@ public class TransactionServiceImpl implements ITransactionService {
         if (t.getId() == null || t.getId() <= 0) {
             throw TransactionException.invalidId();
         }
-        if (t.getAmount() == null || t.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+        if (t.getAmount() == null || !t.getAmount().isPositive()) {
             throw TransactionException.invalidAmount();
         }
         if (StringUtils.isNullOrEmpty(t.getCurrency())) {
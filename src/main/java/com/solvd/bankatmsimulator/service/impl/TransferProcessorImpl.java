@@ -0,0 +1,89 @@
+package com.solvd.bankatmsimulator.service.impl;
+
+import com.mysql.cj.util.StringUtils;
+import com.solvd.bankatmsimulator.cache.AccountCache;
+import com.solvd.bankatmsimulator.domain.Money;
+import com.solvd.bankatmsimulator.domain.Transaction;
+import com.solvd.bankatmsimulator.exception.TransactionException;
+import com.solvd.bankatmsimulator.metrics.Metrics;
+import com.solvd.bankatmsimulator.persistence.IAccountRepository;
+import com.solvd.bankatmsimulator.persistence.ITransactionRepository;
+import com.solvd.bankatmsimulator.persistence.UnitOfWork;
+import com.solvd.bankatmsimulator.persistence.impl.AccountRepositoryImpl;
+import com.solvd.bankatmsimulator.persistence.impl.TransactionRepositoryImpl;
+import com.solvd.bankatmsimulator.service.ITransferProcessor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Runs a transfer (guarded debit, credit and transaction) as a single database transaction. Both accounts
+ * must be held in the transfer's currency, or nothing is changed.
+ * Both account rows are always touched in ascending id order, so opposite transfers between
+ * the same pair cannot deadlock each other.
+ */
+public class TransferProcessorImpl implements ITransferProcessor {
+
+    private final IAccountRepository accountRepository;
+    private final ITransactionRepository transactionRepository;
+
+    public TransferProcessorImpl() {
+        this.accountRepository = Metrics.instrument(IAccountRepository.class, new AccountRepositoryImpl());
+        this.transactionRepository = Metrics.instrument(ITransactionRepository.class, new TransactionRepositoryImpl());
+    }
+
+    @Override
+    public Transaction process(long fromAccountId, long toAccountId, Money amount) {
+        validate(fromAccountId, toAccountId, amount);
+
+        Transaction transaction = new Transaction();
+        transaction.setFromAccountId(fromAccountId);
+        transaction.setToAccountId(toAccountId);
+        transaction.setAmount(amount);
+        transaction.setCurrency(amount.getCurrency());
+        transaction.setTransactionType(Transaction.TransactionType.TRANSFER);
+        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+        transaction.setProcessedAt(LocalDateTime.now());
+
+        return UnitOfWork.execute(() -> {
+            if (fromAccountId < toAccountId) {
+                debit(fromAccountId, amount);
+                credit(toAccountId, amount);
+            } else {
+                credit(toAccountId, amount);
+                debit(fromAccountId, amount);
+            }
+            Transaction created = transactionRepository.create(transaction);
+            AccountCache.getInstance().evict(fromAccountId);
+            AccountCache.getInstance().evict(toAccountId);
+            return created;
+        });
+    }
+
+    private void debit(long accountId, Money amount) {
+        if (!accountRepository.debit(accountId, amount)) {
+            throw TransactionException.insufficientBalance(accountId);
+        }
+    }
+
+    private void credit(long accountId, Money amount) {
+        if (!accountRepository.adjustBalances(Map.of(accountId, amount))) {
+            throw TransactionException.currencyMismatch(accountId, amount.getCurrency());
+        }
+    }
+
+    private void validate(long fromAccountId, long toAccountId, Money amount) {
+        if (fromAccountId <= 0 || toAccountId <= 0) {
+            throw TransactionException.invalidId();
+        }
+        if (fromAccountId == toAccountId) {
+            throw TransactionException.sameAccount();
+        }
+        if (amount == null || !amount.isPositive()) {
+            throw TransactionException.invalidAmount();
+        }
+        if (StringUtils.isNullOrEmpty(amount.getCurrency())) {
+            throw TransactionException.invalidCurrency();
+        }
+    }
+}
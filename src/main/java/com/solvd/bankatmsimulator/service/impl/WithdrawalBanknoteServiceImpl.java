@@ -2,19 +2,21 @@ package com.solvd.bankatmsimulator.service.impl;
 
 import com.solvd.bankatmsimulator.domain.WithdrawalBanknote;
 import com.solvd.bankatmsimulator.exception.WithdrawalBanknoteException;
+import com.solvd.bankatmsimulator.metrics.Metrics;
 import com.solvd.bankatmsimulator.persistence.IWithdrawalBanknoteRepository;
 import com.solvd.bankatmsimulator.persistence.impl.WithdrawalBanknoteRepositoryImpl;
 import com.solvd.bankatmsimulator.service.IWithdrawalBanknoteService;
 
-import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 public class WithdrawalBanknoteServiceImpl implements IWithdrawalBanknoteService {
 
     private final IWithdrawalBanknoteRepository repository;
 
     public WithdrawalBanknoteServiceImpl() {
-        this.repository = new WithdrawalBanknoteRepositoryImpl();
+        this.repository = Metrics.instrument(IWithdrawalBanknoteRepository.class,
+                new WithdrawalBanknoteRepositoryImpl());
     }
 
     @Override
@@ -31,22 +33,32 @@ public class WithdrawalBanknoteServiceImpl implements IWithdrawalBanknoteService
 
     @Override
     public WithdrawalBanknote getById(long id) {
+        return findById(id)
+                .orElseThrow(() -> WithdrawalBanknoteException.notFound(id));
+    }
+
+    @Override
+    public Optional<WithdrawalBanknote> findById(long id) {
         if (id <= 0) {
             throw WithdrawalBanknoteException.invalidId();
         }
-        return repository.findById(id)
-                .orElseThrow(() -> WithdrawalBanknoteException.notFound(id));
+        return repository.findById(id);
     }
 
     @Override
     public List<WithdrawalBanknote> getAll() {
-        List<WithdrawalBanknote> list = repository.findAll();
-        if (list == null || list.isEmpty()) {
+        List<WithdrawalBanknote> list = findAll();
+        if (list.isEmpty()) {
             throw WithdrawalBanknoteException.emptyList();
         }
         return list;
     }
 
+    @Override
+    public List<WithdrawalBanknote> findAll() {
+        return repository.findAll();
+    }
+
     @Override
     public void delete(long id) {
         if (id <= 0) {
@@ -60,16 +72,21 @@ public class WithdrawalBanknoteServiceImpl implements IWithdrawalBanknoteService
 
     @Override
     public List<WithdrawalBanknote> getByWithdrawalId(long withdrawalId) {
-        if (withdrawalId <= 0) {
-            throw WithdrawalBanknoteException.invalidWithdrawalId();
-        }
-        List<WithdrawalBanknote> list = repository.findByWithdrawalId(withdrawalId);
+        List<WithdrawalBanknote> list = findByWithdrawalId(withdrawalId);
         if (list.isEmpty()) {
             throw WithdrawalBanknoteException.emptyList();
         }
         return list;
     }
 
+    @Override
+    public List<WithdrawalBanknote> findByWithdrawalId(long withdrawalId) {
+        if (withdrawalId <= 0) {
+            throw WithdrawalBanknoteException.invalidWithdrawalId();
+        }
+        return repository.findByWithdrawalId(withdrawalId);
+    }
+
     private void validateForCreate(WithdrawalBanknote banknote) {
         if (banknote == null) {
             throw WithdrawalBanknoteException.entityIsNull();
@@ -95,7 +112,7 @@ public class WithdrawalBanknoteServiceImpl implements IWithdrawalBanknoteService
             throw WithdrawalBanknoteException.invalidWithdrawalId();
         }
         if (banknote.getDenomination() == null ||
-                banknote.getDenomination().compareTo(BigDecimal.ZERO) <= 0) {
+                !banknote.getDenomination().isPositive()) {
             throw WithdrawalBanknoteException.invalidDenomination();
         }
         if (banknote.getQuantity() == null || banknote.getQuantity() <= 0) {
@@ -0,0 +1,109 @@
+package com.solvd.bankatmsimulator.service.impl;
+
+import com.mysql.cj.util.StringUtils;
+import com.solvd.bankatmsimulator.cache.AccountCache;
+import com.solvd.bankatmsimulator.dispense.DispenseEngine;
+import com.solvd.bankatmsimulator.domain.Money;
+import com.solvd.bankatmsimulator.domain.Transaction;
+import com.solvd.bankatmsimulator.domain.Withdrawal;
+import com.solvd.bankatmsimulator.domain.WithdrawalBanknote;
+import com.solvd.bankatmsimulator.exception.WithdrawalException;
+import com.solvd.bankatmsimulator.metrics.Metrics;
+import com.solvd.bankatmsimulator.persistence.IWithdrawalRepository;
+import com.solvd.bankatmsimulator.persistence.UnitOfWork;
+import com.solvd.bankatmsimulator.persistence.impl.WithdrawalRepositoryImpl;
+import com.solvd.bankatmsimulator.service.IWithdrawalProcessor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Runs a whole cash-out (balance check, debit, transaction, withdrawal and banknotes)
+ * as a single database transaction instead of one commit per step.
+ * When the caller does not say which notes were paid out, the {@link DispenseEngine}
+ * picks them; when it does, they must add up to the amount. Either way the notes are taken
+ * from the ATM's cassettes and put back if the debit fails.
+ */
+public class WithdrawalProcessorImpl implements IWithdrawalProcessor {
+
+    private final IWithdrawalRepository repository;
+    private final DispenseEngine dispenseEngine;
+
+    public WithdrawalProcessorImpl() {
+        this.repository = Metrics.instrument(IWithdrawalRepository.class, new WithdrawalRepositoryImpl());
+        this.dispenseEngine = DispenseEngine.getInstance();
+    }
+
+    @Override
+    public Withdrawal process(long accountId, long atmId, Money amount, List<WithdrawalBanknote> banknotes) {
+        validate(accountId, atmId, amount);
+        boolean chosen = banknotes != null && !banknotes.isEmpty();
+        if (chosen) {
+            validate(amount, banknotes);
+        }
+        String currency = amount.getCurrency();
+        LocalDateTime now = LocalDateTime.now();
+
+        Transaction transaction = new Transaction();
+        transaction.setFromAccountId(accountId);
+        transaction.setAmount(amount);
+        transaction.setCurrency(currency);
+        transaction.setTransactionType(Transaction.TransactionType.WITHDRAWAL);
+        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+        transaction.setProcessedAt(now);
+
+        Withdrawal withdrawal = new Withdrawal();
+        withdrawal.setAccountId(accountId);
+        withdrawal.setAtmId(atmId);
+        withdrawal.setCurrency(currency);
+        withdrawal.setTotalAmount(amount);
+        withdrawal.setProcessedAt(now);
+
+        return UnitOfWork.execute(() -> {
+            List<WithdrawalBanknote> paidOut = chosen
+                    ? dispenseEngine.dispense(atmId, amount, banknotes)
+                    : dispenseEngine.dispense(atmId, amount);
+            paidOut.forEach(withdrawal::addBanknote);
+            Withdrawal created = repository.createWithDebit(withdrawal, transaction)
+                    .orElseThrow(() -> WithdrawalException.insufficientBalance(accountId));
+            AccountCache.getInstance().evict(accountId);
+            return created;
+        });
+    }
+
+    private void validate(long accountId, long atmId, Money amount) {
+        if (accountId <= 0) {
+            throw WithdrawalException.invalidAccountId();
+        }
+        if (atmId <= 0) {
+            throw WithdrawalException.invalidAtmId();
+        }
+        if (amount == null || amount.isLessThan(Withdrawal.MIN_AMOUNT)) {
+            throw WithdrawalException.invalidAmount();
+        }
+        if (StringUtils.isNullOrEmpty(amount.getCurrency())) {
+            throw WithdrawalException.invalidCurrency();
+        }
+    }
+
+    private void validate(Money amount, List<WithdrawalBanknote> banknotes) {
+        long total = 0;
+        for (WithdrawalBanknote banknote : banknotes) {
+            Money denomination = banknote.getDenomination();
+            Integer quantity = banknote.getQuantity();
+            if (denomination == null || !denomination.isPositive() || quantity == null || quantity <= 0
+                    || (denomination.getCurrency() != null
+                    && !denomination.getCurrency().equals(amount.getCurrency()))) {
+                throw WithdrawalException.banknotesMismatch();
+            }
+            try {
+                total = Math.addExact(total, Math.multiplyExact(denomination.getMinorUnits(), (long) quantity));
+            } catch (ArithmeticException e) {
+                throw WithdrawalException.banknotesMismatch();
+            }
+        }
+        if (total != amount.getMinorUnits()) {
+            throw WithdrawalException.banknotesMismatch();
+        }
+    }
+}
@@ -3,20 +3,21 @@ package com.solvd.bankatmsimulator.service.impl;
 import com.mysql.cj.util.StringUtils;
 import com.solvd.bankatmsimulator.domain.Withdrawal;
 import com.solvd.bankatmsimulator.exception.WithdrawalException;
+import com.solvd.bankatmsimulator.metrics.Metrics;
 import com.solvd.bankatmsimulator.persistence.IWithdrawalRepository;
 import com.solvd.bankatmsimulator.persistence.impl.WithdrawalRepositoryImpl;
 import com.solvd.bankatmsimulator.service.IWithdrawalService;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public class WithdrawalServiceImpl implements IWithdrawalService {
 
     private final IWithdrawalRepository repository;
 
     public WithdrawalServiceImpl() {
-        this.repository = new WithdrawalRepositoryImpl();
+        this.repository = Metrics.instrument(IWithdrawalRepository.class, new WithdrawalRepositoryImpl());
     }
 
     @Override
@@ -33,22 +34,32 @@ public class WithdrawalServiceImpl implements IWithdrawalService {
 
     @Override
     public Withdrawal getById(long id) {
+        return findById(id)
+                .orElseThrow(() -> WithdrawalException.notFound(id));
+    }
+
+    @Override
+    public Optional<Withdrawal> findById(long id) {
         if (id <= 0) {
             throw WithdrawalException.invalidId();
         }
-        return repository.findById(id)
-                .orElseThrow(() -> WithdrawalException.notFound(id));
+        return repository.findById(id);
     }
 
     @Override
     public List<Withdrawal> getAll() {
-        List<Withdrawal> withdrawals = repository.findAll();
-        if (withdrawals == null || withdrawals.isEmpty()) {
+        List<Withdrawal> withdrawals = findAll();
+        if (withdrawals.isEmpty()) {
             throw WithdrawalException.emptyList();
         }
         return withdrawals;
     }
 
+    @Override
+    public List<Withdrawal> findAll() {
+        return repository.findAll();
+    }
+
     @Override
     public void delete(long id) {
         if (id <= 0) {
@@ -62,10 +73,24 @@ public class WithdrawalServiceImpl implements IWithdrawalService {
 
     @Override
     public List<Withdrawal> getByAccountId(long accountId) {
+        List<Withdrawal> list = findByAccountId(accountId);
+        if (list.isEmpty()) {
+            throw WithdrawalException.emptyList();
+        }
+        return list;
+    }
+
+    @Override
+    public List<Withdrawal> findByAccountId(long accountId) {
         if (accountId <= 0) {
             throw WithdrawalException.invalidAccountId();
         }
-        List<Withdrawal> list = repository.findByAccountId(accountId);
+        return repository.findByAccountId(accountId);
+    }
+
+    @Override
+    public List<Withdrawal> getByTransactionId(long transactionId) {
+        List<Withdrawal> list = findByTransactionId(transactionId);
         if (list.isEmpty()) {
             throw WithdrawalException.emptyList();
         }
@@ -73,11 +98,16 @@ public class WithdrawalServiceImpl implements IWithdrawalService {
     }
 
     @Override
-    public List<Withdrawal> getByTransactionId(long transactionId) {
+    public List<Withdrawal> findByTransactionId(long transactionId) {
         if (transactionId <= 0) {
             throw WithdrawalException.invalidTransactionId();
         }
-        List<Withdrawal> list = repository.findByTransactionId(transactionId);
+        return repository.findByTransactionId(transactionId);
+    }
+
+    @Override
+    public List<Withdrawal> getByAtmId(long atmId) {
+        List<Withdrawal> list = findByAtmId(atmId);
         if (list.isEmpty()) {
             throw WithdrawalException.emptyList();
         }
@@ -85,15 +115,11 @@ public class WithdrawalServiceImpl implements IWithdrawalService {
     }
 
     @Override
-    public List<Withdrawal> getByAtmId(long atmId) {
+    public List<Withdrawal> findByAtmId(long atmId) {
         if (atmId <= 0) {
             throw WithdrawalException.invalidAtmId();
         }
-        List<Withdrawal> list = repository.findByAtmId(atmId);
-        if (list.isEmpty()) {
-            throw WithdrawalException.emptyList();
-        }
-        return list;
+        return repository.findByAtmId(atmId);
     }
 
     private void validateForCreate(Withdrawal w) {
@@ -132,10 +158,10 @@ public class WithdrawalServiceImpl implements IWithdrawalService {
         if (w.getAtmId() == null || w.getAtmId() <= 0) {
             throw WithdrawalException.invalidAtmId();
         }
-        if (w.getTotalAmount() == null || w.getTotalAmount().compareTo(BigDecimal.ZERO) <= 0) {
+        if (w.getTotalAmount() == null || !w.getTotalAmount().isPositive()) {
             throw WithdrawalException.invalidAmount();
         }
-        if (w.getTotalAmount().compareTo(Withdrawal.MIN_AMOUNT) < 0) {
+        if (w.getTotalAmount().isLessThan(Withdrawal.MIN_AMOUNT)) {
             throw WithdrawalException.invalidAmount();
         }
         if (StringUtils.isNullOrEmpty(w.getCurrency())) {
@@ -1,15 +1,15 @@
 package com.solvd.bankatmsimulator.validator;
 
 import com.solvd.bankatmsimulator.domain.Account;
+import com.solvd.bankatmsimulator.domain.Money;
 
-import java.math.BigDecimal;
 import java.util.Set;
 
 public final class AccountValidator {
 
     private static final Set<String> SUPPORTED_CURRENCIES = Set.of("USD", "EUR", "GBP", "GEL");
     private static final int ACCOUNT_NUMBER_LENGTH = 16;
-    private static final BigDecimal MIN_BALANCE = BigDecimal.ZERO;
+    private static final Money MIN_BALANCE = Money.zero(null);
 
     private AccountValidator() {
         throw new IllegalStateException("Utility class, do not instantiate");
@@ -29,7 +29,7 @@ public final class AccountValidator {
                 trimmed.matches("^\\d+$");
     }
 
-    public static boolean isValidBalance(BigDecimal balance) {
+    public static boolean isValidBalance(Money balance) {
         if (balance == null) return false;
         return balance.compareTo(MIN_BALANCE) >= 0;
     }
@@ -1,8 +1,8 @@
 package com.solvd.bankatmsimulator.validator;
 
 import com.solvd.bankatmsimulator.domain.Deposit;
+import com.solvd.bankatmsimulator.domain.Money;
 
-import java.math.BigDecimal;
 import java.util.Set;
 
 public final class DepositValidator {
@@ -21,7 +21,7 @@ public final class DepositValidator {
                 isValidAtmId(deposit.getAtmId());
     }
 
-    public static boolean isValidAmount(BigDecimal amount) {
+    public static boolean isValidAmount(Money amount) {
         if (amount == null) return false;
         return amount.compareTo(Deposit.MIN_AMOUNT) >= 0;
     }
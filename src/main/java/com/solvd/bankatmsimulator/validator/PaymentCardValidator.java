@@ -1,62 +1,159 @@
 package com.solvd.bankatmsimulator.validator;
 
+import com.solvd.bankatmsimulator.bin.BinTable;
 import com.solvd.bankatmsimulator.domain.PaymentCard;
 
+import java.util.List;
+
 import static com.solvd.bankatmsimulator.domain.PaymentCard.CardIssuer.*;
 
+/**
+ * Card number checks. Spaces and dashes are ignored; any other non-digit makes the number invalid.
+ * <p>
+ * Every check is one pass over the characters that computes the Luhn sum and the issuer prefix together,
+ * with no regex and no intermediate strings. The issuer comes from the {@link BinTable} when one of its ranges
+ * covers a number of card length (13 to 19 digits); the built-in network prefix rules are only the fallback.
+ */
 public final class PaymentCardValidator {
 
+    private static final PaymentCard.CardIssuer[] ISSUERS = PaymentCard.CardIssuer.values();
+    private static final int MALFORMED = -1;
+    private static final int LUHN_OK = 1 << 8;
+    private static final int CARD_LENGTH = 1 << 9;
+    private static final int MIN_DIGITS = 13;
+    private static final int MAX_DIGITS = 19;
+
     private PaymentCardValidator() {
         throw new IllegalStateException("Validator class, do not instantiate");
     }
 
-    public static boolean isValid(String cardNumber) {
-        if (cardNumber == null) return false;
-
-        String digits = cardNumber.replaceAll("[ -]", "");
-        if (!digits.matches("\\d+"))
-            return false;
-
-        int sum = 0;
-        boolean doubleDigit = false;
-
-        for (int i = digits.length() - 1; i >= 0; i--) {
-            int digit = digits.charAt(i) - '0';
-            if (doubleDigit) {
-                digit *= 2;
-                if (digit > 9) digit -= 9;
-            }
-            sum += digit;
-            doubleDigit = !doubleDigit;
-        }
-
-        return sum % 10 == 0;
+    public static boolean isValid(CharSequence cardNumber) {
+        int scan = scan(cardNumber);
+        return scan != MALFORMED && (scan & LUHN_OK) != 0;
     }
 
     public static String mask(String cardNumber) {
         if (cardNumber == null || cardNumber.length() < 4)
             return "****";
 
-        String digits = cardNumber.replaceAll("[ -]", "");
-        if (digits.length() < 4)
+        int digits = 0;
+        for (int i = 0; i < cardNumber.length(); i++) {
+            char c = cardNumber.charAt(i);
+            if (c != ' ' && c != '-')
+                digits++;
+        }
+        if (digits < 4)
             return "****";
         String last4 = cardNumber.substring(cardNumber.length() - 4);
         return "**** **** **** " + last4;
     }
 
-    public static PaymentCard.CardIssuer getCardType(String cardNumber) {
+    /**
+     * Issuer by BIN, or by prefix and length when the BIN table doesn't know the number; the Luhn check is
+     * not applied.
+     */
+    public static PaymentCard.CardIssuer getCardType(CharSequence cardNumber) {
+        int scan = scan(cardNumber);
+        return scan == MALFORMED ? UNKNOWN : issuer(cardNumber, scan);
+    }
+
+    /**
+     * Issuer of a number that passes the Luhn check, or {@code null} when it doesn't.
+     */
+    public static PaymentCard.CardIssuer validIssuer(CharSequence cardNumber) {
+        int scan = scan(cardNumber);
+        return scan == MALFORMED || (scan & LUHN_OK) == 0 ? null : issuer(cardNumber, scan);
+    }
+
+    /**
+     * Validates a batch, e.g. a card import file, writing {@link #validIssuer} of each number into the
+     * matching slot of {@code issuers}. Nothing is allocated, so the same array can be reused across batches.
+     *
+     * @return how many numbers passed the Luhn check
+     */
+    public static int validateAll(List<? extends CharSequence> cardNumbers, PaymentCard.CardIssuer[] issuers) {
+        if (issuers.length < cardNumbers.size())
+            throw new IllegalArgumentException("Need " + cardNumbers.size() + " slots, got " + issuers.length);
+
+        int valid = 0;
+        for (int i = 0; i < cardNumbers.size(); i++) {
+            PaymentCard.CardIssuer issuer = validIssuer(cardNumbers.get(i));
+            issuers[i] = issuer;
+            if (issuer != null)
+                valid++;
+        }
+        return valid;
+    }
+
+    /**
+     * Single pass over the number. Returns {@link #MALFORMED} for {@code null}, no digits or a character
+     * other than a digit, space or dash; otherwise the issuer ordinal with {@link #LUHN_OK} set if the
+     * checksum holds and {@link #CARD_LENGTH} set if the number has as many digits as a card can.
+     * <p>
+     * Luhn doubles every second digit counted from the right, which isn't known until the end, so both
+     * alternatives are summed and the one matching the final length is picked.
+     */
+    private static int scan(CharSequence cardNumber) {
         if (cardNumber == null)
+            return MALFORMED;
+
+        int count = 0;
+        int prefix = 0;
+        int sumEvenDoubled = 0;
+        int sumOddDoubled = 0;
+        for (int i = 0; i < cardNumber.length(); i++) {
+            char c = cardNumber.charAt(i);
+            if (c == ' ' || c == '-')
+                continue;
+            int digit = c - '0';
+            if (digit < 0 || digit > 9)
+                return MALFORMED;
+
+            int doubled = digit * 2;
+            if (doubled > 9) doubled -= 9;
+            if ((count & 1) == 0) {
+                sumEvenDoubled += doubled;
+                sumOddDoubled += digit;
+            } else {
+                sumEvenDoubled += digit;
+                sumOddDoubled += doubled;
+            }
+            if (count < 4)
+                prefix = prefix * 10 + digit;
+            count++;
+        }
+        if (count == 0)
+            return MALFORMED;
+
+        // The rightmost digit is never doubled: with an even count it sits at an odd index.
+        int sum = (count & 1) == 0 ? sumEvenDoubled : sumOddDoubled;
+        int result = issuer(prefix, count).ordinal();
+        if (count >= MIN_DIGITS && count <= MAX_DIGITS)
+            result |= CARD_LENGTH;
+        return sum % 10 == 0 ? result | LUHN_OK : result;
+    }
+
+    private static PaymentCard.CardIssuer issuer(CharSequence cardNumber, int scan) {
+        // A BIN only says who issued a whole card number, not that a few digits starting like one are a card.
+        if ((scan & CARD_LENGTH) == 0)
             return UNKNOWN;
+        PaymentCard.CardIssuer issuer = BinTable.getInstance().issuerOf(cardNumber);
+        return issuer != UNKNOWN ? issuer : ISSUERS[scan & 0xFF];
+    }
 
-        String digits = cardNumber.replaceAll("[ -]", "");
+    private static PaymentCard.CardIssuer issuer(int prefix, int length) {
+        if (length < MIN_DIGITS)
+            return UNKNOWN;
 
-        if (digits.matches("^4\\d{12}(\\d{3})?$"))
+        int first = prefix / 1000;
+        int firstTwo = prefix / 100;
+        if (first == 4 && (length == 13 || length == 16))
             return VISA;
-        if (digits.matches("^5[1-5]\\d{14}$"))
+        if (firstTwo >= 51 && firstTwo <= 55 && length == 16)
             return MASTERCARD;
-        if (digits.matches("^3[47]\\d{13}$"))
+        if ((firstTwo == 34 || firstTwo == 37) && length == 15)
             return AMERICAN_EXPRESS;
-        if (digits.matches("^6(?:011|5\\d{2})\\d{12}$"))
+        if ((prefix == 6011 || firstTwo == 65) && length == 16)
             return DISCOVER;
 
         return UNKNOWN;
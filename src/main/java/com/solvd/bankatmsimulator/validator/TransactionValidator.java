@@ -1,14 +1,14 @@
 package com.solvd.bankatmsimulator.validator;
 
+import com.solvd.bankatmsimulator.domain.Money;
 import com.solvd.bankatmsimulator.domain.Transaction;
 
-import java.math.BigDecimal;
 import java.util.Set;
 
 public final class TransactionValidator {
 
     private static final Set<String> SUPPORTED_CURRENCIES = Set.of("USD", "EUR", "GBP", "GEL");
-    private static final BigDecimal MIN_AMOUNT = new BigDecimal("0.01");
+    private static final Money MIN_AMOUNT = Money.ofMinor(1, null);
 
     private TransactionValidator() {
         throw new IllegalStateException("Utility class, do not instantiate");
@@ -23,7 +23,7 @@ public final class TransactionValidator {
                 isValidAccountIds(transaction);
     }
 
-    public static boolean isValidAmount(BigDecimal amount) {
+    public static boolean isValidAmount(Money amount) {
         if (amount == null) return false;
         return amount.compareTo(MIN_AMOUNT) >= 0;
     }
@@ -1,8 +1,8 @@
 package com.solvd.bankatmsimulator.validator;
 
+import com.solvd.bankatmsimulator.domain.Money;
 import com.solvd.bankatmsimulator.domain.Withdrawal;
 
-import java.math.BigDecimal;
 import java.util.Set;
 
 public final class WithdrawalValidator {
@@ -22,9 +22,9 @@ public final class WithdrawalValidator {
                 isValidAtmId(withdrawal.getAtmId());
     }
 
-    public static boolean isValidAmount(BigDecimal amount) {
+    public static boolean isValidAmount(Money amount) {
         if (amount == null) return false;
-        return amount.compareTo(BigDecimal.ZERO) > 0 &&
+        return amount.isPositive() &&
                 amount.compareTo(Withdrawal.MIN_AMOUNT) <= 0;
     }
 
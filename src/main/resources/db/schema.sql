@@ -0,0 +1,141 @@
+-- Tables used by the repositories. Written for MySQL; also runs on H2 in MODE=MySQL.
+-- Applied automatically by the embedded profile (config-embedded.properties), so every statement must be idempotent.
+-- The (account, processed_at, id) indexes back the keyset-paged history queries.
+
+CREATE TABLE IF NOT EXISTS accounts
+(
+    id             BIGINT AUTO_INCREMENT PRIMARY KEY,
+    account_number VARCHAR(64)    NOT NULL UNIQUE,
+    balance        DECIMAL(19, 2) NOT NULL,
+    currency       CHAR(3)        NOT NULL,
+    created_at     DATETIME       NULL,
+    updated_at     DATETIME       NULL
+);
+
+CREATE TABLE IF NOT EXISTS persons
+(
+    id           BIGINT AUTO_INCREMENT PRIMARY KEY,
+    full_name    VARCHAR(255) NOT NULL,
+    email        VARCHAR(255) NULL,
+    phone_number VARCHAR(32)  NULL,
+    account_id   BIGINT       NULL,
+    FOREIGN KEY (account_id) REFERENCES accounts (id)
+);
+
+CREATE TABLE IF NOT EXISTS payment_cards
+(
+    id          BIGINT AUTO_INCREMENT PRIMARY KEY,
+    card_number VARCHAR(19)  NOT NULL UNIQUE,
+    card_type   VARCHAR(16)  NOT NULL,
+    status      VARCHAR(16)  NOT NULL,
+    pin_hash    VARCHAR(255) NULL,
+    expiry_date DATE         NOT NULL,
+    created_at  DATETIME     NULL,
+    updated_at  DATETIME     NULL,
+    INDEX idx_payment_cards_status (status),
+    INDEX idx_payment_cards_expiry (expiry_date)
+);
+
+CREATE TABLE IF NOT EXISTS account_cards
+(
+    account_id BIGINT NOT NULL,
+    card_id    BIGINT NOT NULL,
+    PRIMARY KEY (account_id, card_id),
+    FOREIGN KEY (account_id) REFERENCES accounts (id),
+    FOREIGN KEY (card_id) REFERENCES payment_cards (id)
+);
+
+CREATE TABLE IF NOT EXISTS atms
+(
+    id        BIGINT AUTO_INCREMENT PRIMARY KEY,
+    location  VARCHAR(255) NOT NULL,
+    name      VARCHAR(64)  NOT NULL,
+    is_active BOOLEAN      NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS atm_banknotes
+(
+    id           BIGINT AUTO_INCREMENT PRIMARY KEY,
+    atm_id       BIGINT         NOT NULL,
+    currency     CHAR(3)        NOT NULL,
+    denomination DECIMAL(19, 2) NOT NULL,
+    quantity     INT            NOT NULL,
+    FOREIGN KEY (atm_id) REFERENCES atms (id),
+    INDEX idx_atm_banknotes_atm_currency (atm_id, currency)
+);
+
+CREATE TABLE IF NOT EXISTS transactions
+(
+    id               BIGINT AUTO_INCREMENT PRIMARY KEY,
+    from_account_id  BIGINT         NULL,
+    to_account_id    BIGINT         NULL,
+    amount           DECIMAL(19, 2) NOT NULL,
+    currency         CHAR(3)        NOT NULL,
+    transaction_type VARCHAR(16)    NOT NULL,
+    status           VARCHAR(16)    NOT NULL,
+    processed_at     DATETIME       NULL,
+    FOREIGN KEY (from_account_id) REFERENCES accounts (id),
+    FOREIGN KEY (to_account_id) REFERENCES accounts (id),
+    INDEX idx_transactions_from (from_account_id, processed_at, id),
+    INDEX idx_transactions_to (to_account_id, processed_at, id)
+);
+
+CREATE TABLE IF NOT EXISTS deposits
+(
+    id             BIGINT AUTO_INCREMENT PRIMARY KEY,
+    transaction_id BIGINT         NOT NULL,
+    atm_id         BIGINT         NOT NULL,
+    currency       CHAR(3)        NOT NULL,
+    total_amount   DECIMAL(19, 2) NOT NULL,
+    processed_at   DATETIME       NULL,
+    FOREIGN KEY (transaction_id) REFERENCES transactions (id),
+    FOREIGN KEY (atm_id) REFERENCES atms (id)
+);
+
+CREATE TABLE IF NOT EXISTS deposit_banknotes
+(
+    id           BIGINT AUTO_INCREMENT PRIMARY KEY,
+    deposit_id   BIGINT         NOT NULL,
+    denomination DECIMAL(19, 2) NOT NULL,
+    quantity     INT            NOT NULL,
+    FOREIGN KEY (deposit_id) REFERENCES deposits (id)
+);
+
+CREATE TABLE IF NOT EXISTS withdrawals
+(
+    id             BIGINT AUTO_INCREMENT PRIMARY KEY,
+    account_id     BIGINT         NOT NULL,
+    transaction_id BIGINT         NOT NULL,
+    atm_id         BIGINT         NOT NULL,
+    currency       CHAR(3)        NOT NULL,
+    total_amount   DECIMAL(19, 2) NOT NULL,
+    processed_at   DATETIME       NULL,
+    FOREIGN KEY (account_id) REFERENCES accounts (id),
+    FOREIGN KEY (transaction_id) REFERENCES transactions (id),
+    FOREIGN KEY (atm_id) REFERENCES atms (id),
+    INDEX idx_withdrawals_atm (atm_id, processed_at, id)
+);
+
+CREATE TABLE IF NOT EXISTS withdrawal_banknotes
+(
+    id            BIGINT AUTO_INCREMENT PRIMARY KEY,
+    withdrawal_id BIGINT         NOT NULL,
+    denomination  DECIMAL(19, 2) NOT NULL,
+    quantity      INT            NOT NULL,
+    FOREIGN KEY (withdrawal_id) REFERENCES withdrawals (id)
+);
+
+-- Replay checkpoint for the optional LedgerEngine journal.
+CREATE TABLE IF NOT EXISTS ledger_checkpoints
+(
+    journal          VARCHAR(64) NOT NULL PRIMARY KEY,
+    applied_sequence BIGINT      NOT NULL
+);
+
+-- High-water mark of the CardExpirySweeper: the last (expiry_date, id) it has swept.
+CREATE TABLE IF NOT EXISTS card_expiry_checkpoints
+(
+    sweeper     VARCHAR(64) NOT NULL PRIMARY KEY,
+    expiry_date DATE        NOT NULL,
+    card_id     BIGINT      NOT NULL
+);
@@ -0,0 +1,63 @@
+package com.solvd.bankatmsimulator.bin;
+
+import com.solvd.bankatmsimulator.domain.PaymentCard;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the segment sweep against the obvious lookup: scan every range, keep the narrowest one covering the key,
+ * and on a tie keep the one listed last.
+ */
+class BinTableTest {
+
+    private static final PaymentCard.CardIssuer[] ISSUERS = PaymentCard.CardIssuer.values();
+    private static final int TRIALS = 300;
+    private static final int MAX_RANGES = 40;
+    private static final int LOOKUPS_PER_TRIAL = 3_000;
+
+    @Test
+    void lookupMatchesBruteForce() throws IOException {
+        Random random = new Random(7);
+        for (int trial = 0; trial < TRIALS; trial++) {
+            int count = 1 + random.nextInt(MAX_RANGES);
+            long[] lows = new long[count];
+            long[] highs = new long[count];
+            PaymentCard.CardIssuer[] issuers = new PaymentCard.CardIssuer[count];
+            StringBuilder csv = new StringBuilder();
+            for (int i = 0; i < count; i++) {
+                int digits = 1 + random.nextInt(4);
+                int max = (int) Math.pow(10, digits);
+                int low = random.nextInt(max);
+                int high = low + random.nextInt(Math.min(max - low, max / 3 + 1));
+                long scale = (long) Math.pow(10, BinTable.PREFIX_DIGITS - digits);
+                lows[i] = low * scale;
+                highs[i] = (high + 1) * scale - 1;
+                issuers[i] = ISSUERS[random.nextInt(ISSUERS.length)];
+                String format = "%0" + digits + "d";
+                csv.append(String.format(format, low)).append(',')
+                        .append(String.format(format, high)).append(',')
+                        .append(issuers[i]).append('\n');
+            }
+            BinTable table = BinTable.load(new StringReader(csv.toString()));
+
+            for (int q = 0; q < LOOKUPS_PER_TRIAL; q++) {
+                int key = random.nextInt(100_000_000);
+                int best = -1;
+                for (int i = 0; i < count; i++) {
+                    if (key >= lows[i] && key <= highs[i]
+                            && (best < 0 || highs[i] - lows[i] <= highs[best] - lows[best])) {
+                        best = i;
+                    }
+                }
+                PaymentCard.CardIssuer expected = best < 0 ? PaymentCard.CardIssuer.UNKNOWN : issuers[best];
+                assertEquals(expected, table.issuerOf(String.format("%08d", key)),
+                        () -> "key " + key + " in ranges\n" + csv);
+            }
+        }
+    }
+}
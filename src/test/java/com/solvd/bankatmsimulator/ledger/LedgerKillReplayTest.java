@@ -0,0 +1,163 @@
+package com.solvd.bankatmsimulator.ledger;
+
+import com.solvd.bankatmsimulator.domain.Account;
+import com.solvd.bankatmsimulator.domain.Money;
+import com.solvd.bankatmsimulator.exception.LedgerException;
+import com.solvd.bankatmsimulator.persistence.ConnectionPool;
+import com.solvd.bankatmsimulator.persistence.impl.AccountRepositoryImpl;
+import com.solvd.bankatmsimulator.persistence.impl.LedgerCheckpointRepositoryImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Kills a process in the middle of posting transfers through the ledger, then recovers in this JVM from what it
+ * left behind: the journal directory and an H2 database file.
+ */
+class LedgerKillReplayTest {
+
+    private static final long SEGMENT_SIZE = 256L * JournalRecord.SIZE;
+    private static final int ACCOUNTS = 200;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("10000.00");
+    private static final long KILL_AFTER = 20_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoveryAppliesEveryJournaledPostingExactlyOnce() throws Exception {
+        Path journalDir = directory.resolve("journal");
+        // WRITE_DELAY=0 makes H2 write each commit before returning, as MySQL does; the journal deletes segments
+        // once their checkpoint commits, so a commit lost with the process would lose postings too.
+        String url = "jdbc:h2:file:" + directory.resolve("bank").toAbsolutePath()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;FILE_LOCK=NO;WRITE_DELAY=0";
+
+        long posted = runWriterAndKill(journalDir, url);
+        assertTrue(posted >= KILL_AFTER, "writer stopped after " + posted + " postings, see writer.log");
+
+        System.setProperty("bank.profile", "embedded");
+        System.setProperty("bank.url", url);
+        try (LedgerEngine ledger = new LedgerEngine(new MappedPostingJournal(journalDir, SEGMENT_SIZE))) {
+            long replayed = ledger.replay();
+            assertTrue(replayed > 0, "the writer should have died with postings not yet in the database");
+
+            long applied = new LedgerCheckpointRepositoryImpl().findAppliedSequence(LedgerEngine.JOURNAL_NAME);
+            assertEquals(ledger.lastSequence(), applied);
+            assertTrue(applied >= posted);
+            try (Connection connection = ConnectionPool.getDataSource().getConnection();
+                 Statement statement = connection.createStatement()) {
+                assertEquals(applied, count(statement, "SELECT COUNT(*) FROM transactions"));
+                // Every balance must equal the opening balance plus what the transactions table says moved.
+                assertEquals(0, count(statement, "SELECT COUNT(*) FROM accounts a WHERE a.balance <> " + OPENING_BALANCE
+                        + " + COALESCE((SELECT SUM(amount) FROM transactions WHERE to_account_id = a.id), 0)"
+                        + " - COALESCE((SELECT SUM(amount) FROM transactions WHERE from_account_id = a.id), 0)"));
+                assertEquals(0, OPENING_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS)).compareTo(
+                        sum(statement, "SELECT SUM(balance) FROM accounts")));
+            }
+        } finally {
+            ConnectionPool.close();
+            System.clearProperty("bank.profile");
+            System.clearProperty("bank.url");
+        }
+
+        // Dozens of segments were written; only the one still being written to should be left.
+        try (Stream<Path> segments = Files.list(journalDir)) {
+            assertEquals(1, segments.count());
+        }
+    }
+
+    private long runWriterAndKill(Path journalDir, String url) throws IOException, InterruptedException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process writer = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                "-Dbank.profile=embedded", "-Dbank.url=" + url, "-Dbank.sqlProfiling=false",
+                Writer.class.getName(), journalDir.toString())
+                .redirectError(directory.resolve("writer.log").toFile())
+                .start();
+        long posted = 0;
+        try (BufferedReader out = new BufferedReader(
+                new InputStreamReader(writer.getInputStream(), StandardCharsets.US_ASCII))) {
+            String line;
+            while (posted < KILL_AFTER && (line = out.readLine()) != null) {
+                posted = Long.parseLong(line);
+            }
+        } finally {
+            writer.destroyForcibly();
+            writer.waitFor(30, TimeUnit.SECONDS);
+        }
+        return posted;
+    }
+
+    private static long count(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static BigDecimal sum(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getBigDecimal(1);
+        }
+    }
+
+    /**
+     * Posts random transfers until killed, printing the last journaled sequence every thousand postings.
+     */
+    static final class Writer {
+
+        public static void main(String[] args) throws InterruptedException {
+            List<Account> seed = new ArrayList<>(ACCOUNTS);
+            for (int i = 0; i < ACCOUNTS; i++) {
+                Account account = new Account(null, "KILL-" + i);
+                account.setCurrency("USD");
+                account.setBalance(Money.of(OPENING_BALANCE, "USD"));
+                seed.add(account);
+            }
+            long[] ids = new AccountRepositoryImpl().createAll(seed).stream().mapToLong(Account::getId).toArray();
+
+            LedgerEngine ledger = new LedgerEngine(new MappedPostingJournal(Path.of(args[0]), SEGMENT_SIZE));
+            ledger.load();
+            Random random = new Random();
+            while (true) {
+                if (ledger.pendingPostings() > 5_000) {
+                    Thread.sleep(1);
+                    continue;
+                }
+                long from = ids[random.nextInt(ids.length)];
+                long to = ids[random.nextInt(ids.length)];
+                if (from == to) {
+                    continue;
+                }
+                try {
+                    long sequence = ledger.transfer(from, to, 1 + random.nextInt(5_000), "USD").getSequence();
+                    if (sequence % 1_000 == 0) {
+                        System.out.println(sequence);
+                        System.out.flush();
+                    }
+                } catch (LedgerException e) {
+                    // Short of funds; pick another pair.
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.solvd.bankatmsimulator.ledger;
+
+import com.solvd.bankatmsimulator.domain.Transaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MappedPostingJournalTest {
+
+    private static final int RECORDS_PER_SEGMENT = 1024;
+    private static final long SEGMENT_SIZE = (long) RECORDS_PER_SEGMENT * JournalRecord.SIZE;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void releaseDeletesOnlySegmentsBelowTheCheckpoint() throws IOException {
+        try (MappedPostingJournal journal = new MappedPostingJournal(directory, SEGMENT_SIZE)) {
+            appendRange(journal, 1, 5_000);
+            journal.release(3_000);
+        }
+        // 1..1024 and 1025..2048 are applied in full; 2049..3072 still holds unapplied postings.
+        assertEquals(List.of("0000000000000003.journal", "0000000000000004.journal", "0000000000000005.journal"),
+                segmentNames());
+    }
+
+    @Test
+    void replayStartsAtTheSegmentHoldingTheCheckpoint() {
+        try (MappedPostingJournal journal = new MappedPostingJournal(directory, SEGMENT_SIZE)) {
+            appendRange(journal, 1, 5_000);
+            journal.release(3_000);
+        }
+        try (MappedPostingJournal journal = new MappedPostingJournal(directory, SEGMENT_SIZE)) {
+            assertEquals(5_000, journal.lastSequence());
+            List<Long> replayed = new ArrayList<>();
+            journal.forEachSince(3_000, posting -> replayed.add(posting.getSequence()));
+            assertEquals(2_000, replayed.size());
+            assertEquals(3_001, replayed.get(0));
+            assertEquals(5_000, replayed.get(replayed.size() - 1));
+
+            appendRange(journal, 5_001, 5_001);
+            assertEquals(5_001, journal.lastSequence());
+        }
+    }
+
+    @Test
+    void releaseKeepsTheSegmentBeingWritten() throws IOException {
+        try (MappedPostingJournal journal = new MappedPostingJournal(directory, SEGMENT_SIZE)) {
+            appendRange(journal, 1, RECORDS_PER_SEGMENT + 10);
+            journal.release(RECORDS_PER_SEGMENT + 10);
+        }
+        assertEquals(List.of("0000000000000002.journal"), segmentNames());
+    }
+
+    private static void appendRange(MappedPostingJournal journal, long from, long to) {
+        for (long sequence = from; sequence <= to; sequence++) {
+            journal.append(new Posting(sequence, Transaction.TransactionType.TRANSFER, 1, 2, 100, "USD", 0L));
+        }
+        journal.sync();
+    }
+
+    private List<String> segmentNames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.solvd.bankatmsimulator.persistence;
+
+import com.solvd.bankatmsimulator.domain.Account;
+import com.solvd.bankatmsimulator.domain.Money;
+import com.solvd.bankatmsimulator.persistence.impl.AccountRepositoryImpl;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The embedded profile is what load tests and benchmarks run on, so it has to hand out ids safely under
+ * concurrent inserts. H2 2.2 in MySQL mode did not: parallel AUTO_INCREMENT inserts collided on the primary key.
+ */
+class EmbeddedProfileTest {
+
+    private static final int THREADS = 16;
+    private static final int INSERTS_PER_THREAD = 1_000;
+
+    @Test
+    void concurrentInsertsGetDistinctIds() throws Exception {
+        Properties profile = new Properties();
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream("config-embedded.properties")) {
+            profile.load(input);
+        }
+        HikariConfig cfg = new HikariConfig();
+        // Same mode settings as the profile, in a database of its own.
+        cfg.setJdbcUrl(profile.getProperty("url").replace("bank_atm_db", "embedded_profile_test"));
+        cfg.setUsername(profile.getProperty("username"));
+        cfg.setPassword(profile.getProperty("password"));
+        cfg.setMaximumPoolSize(THREADS);
+        cfg.setAutoCommit(false);
+
+        try (HikariDataSource dataSource = new HikariDataSource(cfg)) {
+            SchemaInitializer.apply(dataSource, profile.getProperty("schema"));
+            AccountRepositoryImpl repository = new AccountRepositoryImpl(dataSource);
+
+            ExecutorService workers = Executors.newFixedThreadPool(THREADS);
+            List<Future<List<Long>>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                results.add(workers.submit(() -> insertAccounts(repository, thread)));
+            }
+            workers.shutdown();
+
+            Set<Long> ids = new HashSet<>();
+            for (Future<List<Long>> result : results) {
+                ids.addAll(result.get());
+            }
+            assertEquals(THREADS * INSERTS_PER_THREAD, ids.size());
+        }
+    }
+
+    private static List<Long> insertAccounts(AccountRepositoryImpl repository, int thread) {
+        List<Long> ids = new ArrayList<>(INSERTS_PER_THREAD);
+        for (int i = 0; i < INSERTS_PER_THREAD; i++) {
+            Account account = new Account(null, "EMB-" + thread + "-" + i);
+            account.setCurrency("USD");
+            account.setBalance(Money.of("100.00", "USD"));
+            ids.add(repository.create(account).getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,24 @@
+package com.solvd.bankatmsimulator.validator;
+
+import org.junit.jupiter.api.Test;
+
+import static com.solvd.bankatmsimulator.domain.PaymentCard.CardIssuer.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PaymentCardValidatorTest {
+
+    @Test
+    void binMatchNeedsACardLengthNumber() {
+        assertEquals(UNKNOWN, PaymentCardValidator.getCardType("4111"));
+        assertEquals(UNKNOWN, PaymentCardValidator.validIssuer("42"));
+        assertEquals(UNKNOWN, PaymentCardValidator.getCardType("4111 1111 1111 1111 1111"));
+    }
+
+    @Test
+    void binMatchOnCardLengthNumbers() {
+        assertEquals(VISA, PaymentCardValidator.validIssuer("4111 1111 1111 1111"));
+        assertEquals(AMERICAN_EXPRESS, PaymentCardValidator.validIssuer("378282246310005"));
+        // Covered by a BIN range but not by the built-in prefix rules.
+        assertEquals(JCB, PaymentCardValidator.validIssuer("3530111333300000"));
+    }
+}